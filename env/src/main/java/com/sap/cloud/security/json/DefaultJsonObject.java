@@ -13,13 +13,18 @@ import org.slf4j.LoggerFactory;
 
 import jakarta.annotation.Nullable;
 import java.io.Serial;
+import java.math.BigDecimal;
 import java.time.DateTimeException;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Use this class to parse a Json String. This might be relevant in case the
  * {@link com.sap.cloud.security.config.OAuth2ServiceConfiguration} does not provide all required properties.
+ * <p>
+ * The Json String is scanned once on creation, but property values are only parsed when they are accessed for the
+ * first time. Non-strict Json is parsed eagerly.
  */
 public class DefaultJsonObject implements JsonObject {
 
@@ -28,7 +33,9 @@ public class DefaultJsonObject implements JsonObject {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(DefaultJsonObject.class);
 
-	private final transient JSONObject jsonObject;
+	private final transient JsonObjectIndex index;
+	private final transient Map<String, Object> parsedValues = new ConcurrentHashMap<>();
+	private transient volatile JSONObject jsonObject;
 
 	/**
 	 * Create an instance
@@ -37,17 +44,29 @@ public class DefaultJsonObject implements JsonObject {
 	 * 		the content in json format that should be parsed.
 	 */
 	public DefaultJsonObject(String jsonString) {
-		this.jsonObject = createJsonObject(jsonString);
+		this.index = JsonObjectIndex.of(jsonString);
+		this.jsonObject = index == null ? createJsonObject(jsonString) : null;
+	}
+
+	/**
+	 * Creates a view on an already parsed json object, e.g. a nested object of another {@link DefaultJsonObject}.
+	 *
+	 * @param jsonObject
+	 * 		the parsed json object, must not be modified afterwards.
+	 */
+	DefaultJsonObject(JSONObject jsonObject) {
+		this.index = null;
+		this.jsonObject = jsonObject;
 	}
 
 	@Override
 	public boolean contains(String key) {
-		return getJsonObject().has(key);
+		return index != null ? index.contains(key) : jsonObject.has(key);
 	}
 
 	@Override
 	public boolean isEmpty() {
-		return getJsonObject().isEmpty();
+		return index != null ? index.isEmpty() : jsonObject.isEmpty();
 	}
 
 	@Override
@@ -59,7 +78,7 @@ public class DefaultJsonObject implements JsonObject {
 	public List<String> getAsStringList(String name) {
 		List<String> list = new ArrayList<>();
 		if (contains(name)) {
-			if (getJsonObject().get(name) instanceof String) {
+			if (opt(name) instanceof String) {
 				list.add(getAsString(name));
 			} else {
 				list = getAsList(name, String.class);
@@ -72,22 +91,18 @@ public class DefaultJsonObject implements JsonObject {
 	@Nullable
 	public String getAsString(String name) {
 		if (contains(name)) {
-			try {
-				return getJsonObject().getString(name);
-			} catch (JSONException e) {
-				throw new JsonParsingException(e.getMessage());
+			Object value = opt(name);
+			if (value instanceof String string) {
+				return string;
 			}
+			throw wrongValueFormat(name, "string", value);
 		}
 		return null;
 	}
 
 	@Nullable
 	public String getAsOptString(String name) {
-		try {
-			return Optional.ofNullable(getJsonObject().opt(name)).map(Object::toString).orElse(null);
-		} catch (JSONException e) {
-			throw new JsonParsingException(e.getMessage());
-		}
+		return Optional.ofNullable(opt(name)).map(Object::toString).orElse(null);
 	}
 
 	@Override
@@ -114,16 +129,11 @@ public class DefaultJsonObject implements JsonObject {
 	@Nullable
 	public JsonObject getJsonObject(String name) {
 		if (contains(name)) {
-			JSONObject newJsonObject;
-			try {
-				newJsonObject = getJsonObject().getJSONObject(name);
-			} catch (JSONException e) {
-				throw new JsonParsingException(e.getMessage());
+			Object value = opt(name);
+			if (!(value instanceof JSONObject nestedJsonObject)) {
+				throw wrongValueFormat(name, "JSONObject", value);
 			}
-			return Optional.ofNullable(newJsonObject)
-					.map(Object::toString)
-					.map(DefaultJsonObject::new)
-					.orElse(null);
+			return new DefaultJsonObject(nestedJsonObject);
 		}
 		return null;
 	}
@@ -138,10 +148,8 @@ public class DefaultJsonObject implements JsonObject {
 	@Override
 	public Map<String, String> getKeyValueMap() {
 		Map<String, String> map = new HashMap<>();
-		Iterator<String> keysItr = getJsonObject().keys();
-		while (keysItr.hasNext()) {
-			String key = keysItr.next();
-			Object value = jsonObject.get(key);
+		for (String key : keySet()) {
+			Object value = opt(key);
 			if (value instanceof String) {
 				map.put(key, String.valueOf(value));
 			}
@@ -151,14 +159,25 @@ public class DefaultJsonObject implements JsonObject {
 
 	@Override
 	public String asJsonString() {
-		return jsonObject.toString();
+		return getJsonObject().toString();
+	}
+
+	/**
+	 * Returns a read-only {@link Map} view of the properties. Values are converted like {@link JSONObject#toMap()}
+	 * does, i.e. nested objects and arrays are returned as {@link Map} and {@link List} and json {@code null} as
+	 * {@code null}. The Json String is not parsed again, values are parsed on first access.
+	 *
+	 * @return the properties as unmodifiable map
+	 */
+	public Map<String, Object> asMap() {
+		return new MapView();
 	}
 
 	private List<JsonObject> convertToJsonObjects(JSONArray jsonArray) {
 		List<JsonObject> jsonObjects = new ArrayList<>();
 		jsonArray.forEach(jsonArrayObject -> {
-			if (jsonArrayObject instanceof JSONObject) {
-				jsonObjects.add(new DefaultJsonObject(jsonArrayObject.toString()));
+			if (jsonArrayObject instanceof JSONObject nestedJsonObject) {
+				jsonObjects.add(new DefaultJsonObject(nestedJsonObject));
 			} else {
 				throw new JsonParsingException("Array does not only contain json objects!");
 			}
@@ -167,10 +186,14 @@ public class DefaultJsonObject implements JsonObject {
 	}
 
 	private Optional<Long> getLong(String name) {
+		Object value = opt(name);
+		if (value instanceof Number number) {
+			return Optional.of(number.longValue());
+		}
 		try {
-			return Optional.ofNullable(getJsonObject().getLong(name));
-		} catch (JSONException e) {
-			throw new JsonParsingException(e.getMessage());
+			return Optional.of(new BigDecimal(String.valueOf(value)).longValue());
+		} catch (NumberFormatException e) {
+			throw wrongValueFormat(name, "long", value);
 		}
 	}
 
@@ -197,19 +220,63 @@ public class DefaultJsonObject implements JsonObject {
 
 	private Optional<JSONArray> getJSONArray(String name) {
 		if (contains(name)) {
-			try {
-				return Optional.ofNullable(getJsonObject().getJSONArray(name));
-			} catch (JSONException e) {
-				throw new JsonParsingException(e.getMessage());
+			Object value = opt(name);
+			if (value instanceof JSONArray jsonArray) {
+				return Optional.of(jsonArray);
 			}
+			throw wrongValueFormat(name, "JSONArray", value);
 		}
 		return Optional.empty();
 	}
 
+	/**
+	 * Returns the value of the given property, parses it on first access.
+	 */
+	@Nullable
+	private Object opt(String name) {
+		if (index == null) {
+			return jsonObject.opt(name);
+		}
+		if (!index.contains(name)) {
+			return null;
+		}
+		return parsedValues.computeIfAbsent(name, index::parseValue);
+	}
+
+	private Set<String> keySet() {
+		return index != null ? index.keySet() : jsonObject.keySet();
+	}
+
+	/**
+	 * Returns the complete json object, all properties are parsed on first access.
+	 */
 	private JSONObject getJsonObject() {
+		if (jsonObject == null) {
+			JSONObject parsedJsonObject = new JSONObject();
+			for (String key : index.keySet()) {
+				parsedJsonObject.put(key, opt(key));
+			}
+			jsonObject = parsedJsonObject;
+		}
 		return jsonObject;
 	}
 
+	@Nullable
+	private static Object toJavaValue(@Nullable Object value) {
+		if (value instanceof JSONObject nestedJsonObject) {
+			return nestedJsonObject.toMap();
+		}
+		if (value instanceof JSONArray jsonArray) {
+			return jsonArray.toList();
+		}
+		return JSONObject.NULL.equals(value) ? null : value;
+	}
+
+	private static JsonParsingException wrongValueFormat(String name, String type, @Nullable Object value) {
+		String valueType = value == null ? "null" : value.getClass().getName();
+		return new JsonParsingException("JSONObject[\"%s\"] is not a %s (%s).".formatted(name, type, valueType));
+	}
+
 	@SuppressWarnings("squid:S2139")
 	private JSONObject createJsonObject(String jsonString) {
 		try {
@@ -222,6 +289,56 @@ public class DefaultJsonObject implements JsonObject {
 
 	@Override
 	public String toString() {
-		return jsonObject.toString(2);
+		return getJsonObject().toString(2);
+	}
+
+	private final class MapView extends AbstractMap<String, Object> {
+
+		@Override
+		public boolean containsKey(Object key) {
+			return key instanceof String name && contains(name);
+		}
+
+		@Override
+		public Object get(Object key) {
+			return containsKey(key) ? toJavaValue(opt((String) key)) : null;
+		}
+
+		@Override
+		public int size() {
+			return keySet().size();
+		}
+
+		@Override
+		public Set<String> keySet() {
+			return Collections.unmodifiableSet(DefaultJsonObject.this.keySet());
+		}
+
+		@Override
+		public Set<Entry<String, Object>> entrySet() {
+			return new AbstractSet<>() {
+				@Override
+				public Iterator<Entry<String, Object>> iterator() {
+					Iterator<String> keys = DefaultJsonObject.this.keySet().iterator();
+					return new Iterator<>() {
+						@Override
+						public boolean hasNext() {
+							return keys.hasNext();
+						}
+
+						@Override
+						public Entry<String, Object> next() {
+							String key = keys.next();
+							return new SimpleImmutableEntry<>(key, toJavaValue(opt(key)));
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return MapView.this.size();
+				}
+			};
+		}
 	}
 }
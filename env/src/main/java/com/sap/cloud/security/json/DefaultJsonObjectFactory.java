@@ -0,0 +1,23 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.json;
+
+/**
+ * Factory for creating org.json based {@link DefaultJsonObject} instances. This is the default implementation with
+ * priority 0.
+ */
+public class DefaultJsonObjectFactory implements JsonObjectFactory {
+
+	@Override
+	public JsonObject createJsonObject(String json) {
+		return new DefaultJsonObject(json);
+	}
+
+	@Override
+	public int getPriority() {
+		return 0; // Default implementation
+	}
+}
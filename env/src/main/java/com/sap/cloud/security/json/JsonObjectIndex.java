@@ -0,0 +1,263 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.json;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import jakarta.annotation.Nullable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single-pass index over the top-level members of a JSON object string. The scan only records where each member value
+ * starts and ends; values are parsed on demand via {@link #parseValue(String)}.
+ * <p>
+ * The scanner only understands strict JSON. For everything else (unquoted or single-quoted keys, duplicate keys,
+ * malformed input, ...) {@link #of(String)} returns {@code null} and callers must fall back to the lenient
+ * {@link JSONObject} parser, so that the behavior for such input does not change.
+ */
+final class JsonObjectIndex {
+
+	private static final String SIMPLE_VALUE_TERMINATORS = ",:]}/\\\"[{;=#";
+
+	private final String json;
+	private final Map<String, Range> members;
+
+	private JsonObjectIndex(String json, Map<String, Range> members) {
+		this.json = json;
+		this.members = members;
+	}
+
+	/**
+	 * Scans the given json string.
+	 *
+	 * @param json
+	 * 		the json object string
+	 * @return the index or {@code null} in case the string is no strict JSON object.
+	 */
+	@Nullable
+	static JsonObjectIndex of(@Nullable String json) {
+		if (json == null) {
+			return null;
+		}
+		Map<String, Range> members = new Scanner(json).scanObject();
+		return members == null ? null : new JsonObjectIndex(json, members);
+	}
+
+	boolean contains(String name) {
+		return members.containsKey(name);
+	}
+
+	boolean isEmpty() {
+		return members.isEmpty();
+	}
+
+	Set<String> keySet() {
+		return Collections.unmodifiableSet(members.keySet());
+	}
+
+	/**
+	 * Parses the value of the given member. Returns the same types as {@link JSONObject#opt(String)}.
+	 *
+	 * @param name
+	 * 		the member name
+	 * @return the parsed value or {@code null} if there is no such member.
+	 * @throws JsonParsingException
+	 * 		in case the value is not valid JSON.
+	 */
+	@Nullable
+	Object parseValue(String name) {
+		Range range = members.get(name);
+		if (range == null) {
+			return null;
+		}
+		if (json.charAt(range.start()) == '"' && !containsEscape(range)) {
+			return json.substring(range.start() + 1, range.end() - 1);
+		}
+		try {
+			JSONTokener tokener = new JSONTokener(json.substring(range.start(), range.end()));
+			Object value = tokener.nextValue();
+			if (tokener.nextClean() != 0) {
+				throw new JsonParsingException("Unexpected trailing content in value of '" + name + "'");
+			}
+			return value;
+		} catch (JSONException e) {
+			throw new JsonParsingException(e.getMessage());
+		}
+	}
+
+	private boolean containsEscape(Range range) {
+		for (int i = range.start(); i < range.end(); i++) {
+			if (json.charAt(i) == '\\') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private record Range(int start, int end) {
+	}
+
+	private static final class Scanner {
+		private final String json;
+		private final int length;
+		private int pos;
+
+		Scanner(String json) {
+			this.json = json;
+			this.length = json.length();
+		}
+
+		@Nullable
+		Map<String, Range> scanObject() {
+			if (nextClean() != '{') {
+				return null;
+			}
+			Map<String, Range> members = new LinkedHashMap<>();
+			char c = nextClean();
+			if (c == '}') {
+				return trailingWhitespaceOnly() ? members : null;
+			}
+			while (true) {
+				if (c != '"') {
+					return null;
+				}
+				String key = scanKey();
+				if (key == null || members.containsKey(key) || nextClean() != ':') {
+					return null;
+				}
+				Range range = scanValue();
+				if (range == null) {
+					return null;
+				}
+				members.put(key, range);
+				c = nextClean();
+				if (c == '}') {
+					return trailingWhitespaceOnly() ? members : null;
+				}
+				if (c != ',') {
+					return null;
+				}
+				c = nextClean();
+			}
+		}
+
+		@Nullable
+		private String scanKey() {
+			int start = pos - 1;
+			if (!skipString()) {
+				return null;
+			}
+			String quoted = json.substring(start, pos);
+			if (quoted.indexOf('\\') < 0) {
+				return quoted.substring(1, quoted.length() - 1);
+			}
+			try {
+				return new JSONTokener(quoted).nextValue().toString();
+			} catch (JSONException e) {
+				return null;
+			}
+		}
+
+		@Nullable
+		private Range scanValue() {
+			char c = nextClean();
+			int start = pos - 1;
+			switch (c) {
+			case '"':
+				return skipString() ? new Range(start, pos) : null;
+			case '{', '[':
+				return skipStructure() ? new Range(start, pos) : null;
+			case 0, '}', ']', ',', ':', '\'':
+				return null;
+			default:
+				return skipSimpleValue(start);
+			}
+		}
+
+		/**
+		 * Skips a double-quoted string. The opening quote has already been consumed.
+		 */
+		private boolean skipString() {
+			while (pos < length) {
+				char c = json.charAt(pos++);
+				if (c == '"') {
+					return true;
+				}
+				if (c == '\\') {
+					pos++;
+				} else if (c == '\n' || c == '\r') {
+					return false;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Skips a nested object or array without recursion. The opening bracket has already been consumed.
+		 */
+		private boolean skipStructure() {
+			int depth = 1;
+			while (pos < length) {
+				char c = json.charAt(pos++);
+				switch (c) {
+				case '"':
+					if (!skipString()) {
+						return false;
+					}
+					break;
+				case '\'':
+					return false;
+				case '{', '[':
+					depth++;
+					break;
+				case '}', ']':
+					if (--depth == 0) {
+						return true;
+					}
+					break;
+				default:
+					break;
+				}
+			}
+			return false;
+		}
+
+		@Nullable
+		private Range skipSimpleValue(int start) {
+			while (pos < length) {
+				char c = json.charAt(pos);
+				if (c < ' ' || SIMPLE_VALUE_TERMINATORS.indexOf(c) >= 0) {
+					break;
+				}
+				pos++;
+			}
+			int end = pos;
+			while (end > start && Character.isWhitespace(json.charAt(end - 1))) {
+				end--;
+			}
+			return end > start ? new Range(start, end) : null;
+		}
+
+		private boolean trailingWhitespaceOnly() {
+			return nextClean() == 0;
+		}
+
+		private char nextClean() {
+			while (pos < length) {
+				char c = json.charAt(pos++);
+				if (c > ' ') {
+					return c;
+				}
+			}
+			return 0;
+		}
+	}
+}
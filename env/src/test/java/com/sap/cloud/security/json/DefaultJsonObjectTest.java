@@ -13,6 +13,8 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Map;
+import org.json.JSONObject;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -180,6 +182,35 @@ public class DefaultJsonObjectTest {
 		assertThat(jsonObject.getAsString(KEY_1)).isNotNull();
 	}
 
+	@Test
+	public void getJsonObject_nestedObjects_areAccessible() {
+		cut = new DefaultJsonObject(
+				"{\"cnf\": {\"x5t#S256\": \"thumbprint\", \"exp\": 1, \"aud\": [\"a\", \"b\"], \"nested\": {\"key\": \"value\"}}}");
+
+		JsonObject jsonObject = cut.getJsonObject("cnf");
+
+		assertThat(jsonObject.getAsString("x5t#S256")).isEqualTo("thumbprint");
+		assertThat(jsonObject.getAsInstant("exp")).isEqualTo(Instant.ofEpochSecond(1));
+		assertThat(jsonObject.getAsStringList("aud")).containsExactly("a", "b");
+		assertThat(jsonObject.getJsonObject("nested").getAsString("key")).isEqualTo("value");
+		assertThat(jsonObject.getKeyValueMap()).containsOnlyKeys("x5t#S256");
+		assertThat(new DefaultJsonObject(jsonObject.asJsonString()).getAsString("x5t#S256")).isEqualTo("thumbprint");
+	}
+
+	@Test
+	public void asMap_equalsJSONObjectToMap() {
+		String json = "{\"str\": \"text\", \"num\": 1, \"null\": null, \"list\": [\"a\", {\"b\": 2}], \"obj\": {\"key\": \"value\"}}";
+
+		Map<String, Object> map = new DefaultJsonObject(json).asMap();
+
+		assertThat(map).isEqualTo(new JSONObject(json).toMap());
+		assertThat(map.get("obj")).isEqualTo(Map.of("key", "value"));
+		assertThat(map.containsKey("null")).isTrue();
+		assertThat(map.get("doesNotExist")).isNull();
+		assertThatThrownBy(() -> map.put("key", "value")).isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> map.keySet().remove("str")).isInstanceOf(UnsupportedOperationException.class);
+	}
+
 	@Test
 	public void getJsonObjects_propertyExists_returnsJsonObjects() {
 		cut = createJsonParser(KEY_1, "[" + createJsonObjectString(KEY_1, STRING_VALUE) + "]");
@@ -231,6 +262,51 @@ public class DefaultJsonObjectTest {
 		assertThat(json.getAsString("key")).isEqualTo("value");
 	}
 
+	@Test
+	public void strictJson_propertiesAreParsedOnAccess() {
+		DefaultJsonObject json = new DefaultJsonObject(
+				"{\"str\":\"v\", \"num\": 42 ,\"nil\":null,\"obj\":{\"k\":\"}\"},\"arr\":[\"a\",\"]\"],\"bool\":true}");
+
+		assertThat(json.isEmpty()).isFalse();
+		assertThat(json.contains("nil")).isTrue();
+		assertThat(json.getAsString("str")).isEqualTo("v");
+		assertThat(json.getAsLong("num")).isEqualTo(42L);
+		assertThat(json.getAsOptString("num")).isEqualTo("42");
+		assertThat(json.getAsOptString("bool")).isEqualTo("true");
+		assertThat(json.getJsonObject("obj").getAsString("k")).isEqualTo("}");
+		assertThat(json.getAsStringList("arr")).containsExactly("a", "]");
+		assertThat(json.getKeyValueMap()).containsOnlyKeys("str");
+		assertThatThrownBy(() -> json.getAsString("nil")).isInstanceOf(JsonParsingException.class);
+	}
+
+	@Test
+	public void strictJson_asJsonStringIsSameAsForLenientParsing() {
+		String jsonString = "{\"a\":\"b\",\"c\":[1,2],\"d\":{\"e\":null}}";
+
+		assertThat(new DefaultJsonObject(jsonString).asJsonString())
+				.isEqualTo(new org.json.JSONObject(jsonString).toString());
+	}
+
+	@Test
+	public void strictJson_escapedKeysAndValues() {
+		DefaultJsonObject json = new DefaultJsonObject("{\"a\\\"b\":\"c\\u0041\"}");
+
+		assertThat(json.getAsString("a\"b")).isEqualTo("cA");
+	}
+
+	@Test
+	public void duplicateKeys_throwsException() {
+		assertThatThrownBy(() -> new DefaultJsonObject("{\"a\":1,\"a\":2}")).isInstanceOf(JsonParsingException.class);
+	}
+
+	@Test
+	public void malformedNestedValue_throwsExceptionOnAccess() {
+		DefaultJsonObject json = new DefaultJsonObject("{\"a\":\"b\",\"c\":{\"d\":}}");
+
+		assertThat(json.getAsString("a")).isEqualTo("b");
+		assertThatThrownBy(() -> json.getJsonObject("c")).isInstanceOf(JsonParsingException.class);
+	}
+
 	// Test if affected by CVE https://nvd.nist.gov/vuln/detail/CVE-2022-45688
 	// TODO: remove once org.json has released an updated version that fixes CVE
 	@Test
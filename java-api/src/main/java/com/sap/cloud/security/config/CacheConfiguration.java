@@ -45,4 +45,15 @@ public interface CacheConfiguration {
 	default boolean isCacheStatisticsEnabled() {
 		return false;
 	}
+
+	/**
+	 * Returns the maximum number of requests per second a cache sends to an endpoint to load elements that are not
+	 * cached yet, e.g. token keys of new tenants or for unknown key ids. Requests beyond the limit fail. It is only
+	 * considered by caches that load their elements from a remote endpoint.
+	 *
+	 * @return the maximum number of requests per second, {@code 0} or less to not limit the requests
+	 */
+	default int getMaxRequestsPerSecond() {
+		return 20;
+	}
 }
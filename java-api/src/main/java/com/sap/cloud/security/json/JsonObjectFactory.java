@@ -0,0 +1,34 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.json;
+
+/**
+ * Factory interface for parsing json strings into {@link JsonObject} instances. Implementations of this interface are
+ * discovered using the ServiceLoader mechanism, see {@link JsonObjectProvider}.
+ */
+public interface JsonObjectFactory {
+
+	/**
+	 * Parses the given json string.
+	 *
+	 * @param json
+	 * 		the json object string
+	 * @return the parsed json object
+	 * @throws JsonParsingException
+	 * 		in case the string is not a valid json object
+	 */
+	JsonObject createJsonObject(String json);
+
+	/**
+	 * Returns the priority of this factory. Higher values indicate higher priority. The default org.json based
+	 * implementation returns 0.
+	 *
+	 * @return the priority
+	 */
+	default int getPriority() {
+		return 0;
+	}
+}
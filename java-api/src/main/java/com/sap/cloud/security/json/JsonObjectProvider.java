@@ -0,0 +1,88 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.json;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.stream.StreamSupport;
+
+/**
+ * Parses json strings with the {@link JsonObjectFactory} discovered using the ServiceLoader mechanism. By default, the
+ * factory with the highest priority is used. A specific factory can be selected by setting the system property
+ * {@value #FACTORY_PROPERTY_NAME} to its fully qualified class name, e.g.
+ * {@code com.sap.cloud.security.json.JacksonJsonObjectFactory}.
+ */
+public class JsonObjectProvider {
+
+	public static final String FACTORY_PROPERTY_NAME = "com.sap.cloud.security.json.JsonObjectFactory";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(JsonObjectProvider.class);
+	private static volatile JsonObjectFactory factory;
+
+	private JsonObjectProvider() {
+		// utility class
+	}
+
+	/**
+	 * Parses the given json string using the discovered factory.
+	 *
+	 * @param json
+	 * 		the json object string
+	 * @return the parsed json object
+	 * @throws JsonParsingException
+	 * 		in case the string is not a valid json object or no factory is available
+	 */
+	public static JsonObject createJsonObject(String json) {
+		return getFactory().createJsonObject(json);
+	}
+
+	private static JsonObjectFactory getFactory() {
+		if (factory == null) {
+			synchronized (JsonObjectProvider.class) {
+				if (factory == null) {
+					factory = loadFactory();
+				}
+			}
+		}
+		return factory;
+	}
+
+	private static JsonObjectFactory loadFactory() {
+		List<JsonObjectFactory> factories = StreamSupport
+				.stream(ServiceLoader.load(JsonObjectFactory.class).spliterator(), false)
+				.peek(f -> LOGGER.debug("Found JsonObjectFactory: {} with priority {}",
+						f.getClass().getName(), f.getPriority()))
+				.toList();
+
+		String configuredFactory = System.getProperty(FACTORY_PROPERTY_NAME);
+		if (configuredFactory != null) {
+			for (JsonObjectFactory f : factories) {
+				if (f.getClass().getName().equals(configuredFactory)) {
+					return f;
+				}
+			}
+			LOGGER.warn("Configured JsonObjectFactory {} not found, using the one with highest priority.",
+					configuredFactory);
+		}
+		JsonObjectFactory selected = factories.stream()
+				.max(Comparator.comparingInt(JsonObjectFactory::getPriority))
+				.orElseThrow(() -> new JsonParsingException("No JsonObjectFactory implementation found. " +
+						"Ensure the env or token-client library is on the classpath."));
+		LOGGER.debug("Using JsonObjectFactory: {}", selected.getClass().getName());
+		return selected;
+	}
+
+	/**
+	 * Resets the cached factory (mainly for testing purposes).
+	 */
+	static void reset() {
+		factory = null;
+	}
+}
@@ -43,6 +43,16 @@ public interface Token extends Serializable {
 	 * @return token instance
 	 */
 	static Token create(String jwt) {
+		return getTokenFactory().create(jwt);
+	}
+
+	/**
+	 * Returns the TokenFactory implementation that is used by {@link #create(String)}. A custom TokenFactory service
+	 * provider takes precedence over the default one.
+	 *
+	 * @return the token factory
+	 */
+	static TokenFactory getTokenFactory() {
 		if (services.isEmpty()) {
 			throw new ProviderNotFoundException("No TokenFactory implementation found in the classpath");
 		}
@@ -54,9 +64,9 @@ public interface Token extends Serializable {
 			return services.stream()
 					.filter(tokenFactory -> !tokenFactory.getClass().getName()
 							.equals(DEFAULT_TOKEN_FACTORY))
-					.findFirst().get().create(jwt);
+					.findFirst().get();
 		}
-		return services.get(0).create(jwt);
+		return services.get(0);
 	}
 
 	/**
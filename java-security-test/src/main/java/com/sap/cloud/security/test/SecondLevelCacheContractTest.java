@@ -0,0 +1,133 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.test;
+
+import com.sap.cloud.security.token.validation.validators.SecondLevelCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Contract tests for implementations of {@link SecondLevelCache}, e.g. backed by Redis. Extend this class and create
+ * the cache under test in {@link #createCache()}:
+ *
+ * <pre>{@code
+ * public class RedisSecondLevelCacheTest extends SecondLevelCacheContractTest {
+ * 	@Override
+ * 	protected SecondLevelCache createCache() {
+ * 		return new RedisSecondLevelCache(redisClient);
+ * 	}
+ * }
+ * }</pre>
+ *
+ * The keys used by the tests are unique per test, so that the tests can be run against a shared cache.
+ */
+public abstract class SecondLevelCacheContractTest {
+	private static final Duration TIME_TO_LIVE = Duration.ofMinutes(10);
+
+	private SecondLevelCache cut;
+	private String keyPrefix;
+
+	/**
+	 * Creates the cache under test.
+	 *
+	 * @return the cache
+	 */
+	protected abstract SecondLevelCache createCache();
+
+	/**
+	 * Returns the shortest time to live the cache supports, used to test the expiry of values.
+	 *
+	 * @return the time to live
+	 */
+	protected Duration getShortTimeToLive() {
+		return Duration.ofSeconds(1);
+	}
+
+	/**
+	 * Waits until the given time has elapsed for the cache. Overwrite it in case the cache uses a fake clock.
+	 *
+	 * @param duration
+	 * 		the time to wait
+	 * @throws InterruptedException
+	 * 		in case the waiting thread is interrupted
+	 */
+	protected void awaitExpiry(Duration duration) throws InterruptedException {
+		Thread.sleep(duration.toMillis());
+	}
+
+	@BeforeEach
+	public void setupSecondLevelCache() {
+		cut = createCache();
+		keyPrefix = "contract-test " + UUID.randomUUID() + " ";
+	}
+
+	@Test
+	public void get_unknownKey_returnsNull() {
+		assertNull(cut.get(key("unknown")));
+	}
+
+	@Test
+	public void get_returnsPutValue() {
+		cut.put(key("token_keys"), "{\"keys\":[]}", TIME_TO_LIVE);
+
+		assertEquals("{\"keys\":[]}", cut.get(key("token_keys")));
+	}
+
+	@Test
+	public void put_replacesExistingValue() {
+		cut.put(key("token_keys"), "old", TIME_TO_LIVE);
+		cut.put(key("token_keys"), "new", TIME_TO_LIVE);
+
+		assertEquals("new", cut.get(key("token_keys")));
+	}
+
+	@Test
+	public void put_doesNotAffectOtherKeys() {
+		cut.put(key("tenant-1"), "value-1", TIME_TO_LIVE);
+		cut.put(key("tenant-2"), "value-2", TIME_TO_LIVE);
+
+		assertEquals("value-1", cut.get(key("tenant-1")));
+		assertEquals("value-2", cut.get(key("tenant-2")));
+	}
+
+	@Test
+	public void get_afterTimeToLive_returnsNull() throws InterruptedException {
+		cut.put(key("token_keys"), "value", getShortTimeToLive());
+
+		awaitExpiry(getShortTimeToLive().plusMillis(500));
+
+		assertNull(cut.get(key("token_keys")));
+	}
+
+	@Test
+	public void put_withoutTimeToLive_isNotCached() {
+		cut.put(key("zero"), "value", Duration.ZERO);
+		cut.put(key("negative"), "value", Duration.ofSeconds(-1));
+
+		assertNull(cut.get(key("zero")));
+		assertNull(cut.get(key("negative")));
+	}
+
+	@Test
+	public void get_returnsLargeAndNonAsciiValuesUnchanged() {
+		String value = "{\"keys\":[{\"kid\":\"kéy-中\",\"n\":\"" + "x".repeat(64 * 1024) + "\"}]}";
+		String key = key("https://tenant.accounts.ondemand.com/oauth2/certs {x-app_tid=ä}");
+
+		cut.put(key, value, TIME_TO_LIVE);
+
+		assertEquals(value, cut.get(key));
+	}
+
+	private String key(String name) {
+		return keyPrefix + name;
+	}
+}
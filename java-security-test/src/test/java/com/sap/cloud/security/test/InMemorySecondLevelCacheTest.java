@@ -0,0 +1,17 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.test;
+
+import com.sap.cloud.security.token.validation.validators.InMemorySecondLevelCache;
+import com.sap.cloud.security.token.validation.validators.SecondLevelCache;
+
+public class InMemorySecondLevelCacheTest extends SecondLevelCacheContractTest {
+
+	@Override
+	protected SecondLevelCache createCache() {
+		return new InMemorySecondLevelCache();
+	}
+}
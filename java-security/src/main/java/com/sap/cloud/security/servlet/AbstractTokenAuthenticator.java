@@ -18,6 +18,7 @@ import com.sap.cloud.security.token.validation.ValidationListener;
 import com.sap.cloud.security.token.validation.ValidationResult;
 import com.sap.cloud.security.token.validation.Validator;
 import com.sap.cloud.security.token.validation.validators.JwtValidatorBuilder;
+import com.sap.cloud.security.token.validation.validators.TokenKeyPrefetcher;
 import com.sap.cloud.security.util.LogSanitizer;
 import com.sap.cloud.security.xsuaa.http.HttpHeaders;
 import jakarta.annotation.Nullable;
@@ -26,10 +27,12 @@ import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +44,7 @@ public abstract class AbstractTokenAuthenticator implements TokenAuthenticator {
 	protected SecurityHttpClient httpClient;
 	protected OAuth2ServiceConfiguration serviceConfiguration;
 	private CacheConfiguration tokenKeyCacheConfiguration;
+	private CacheConfiguration validatedTokenCacheConfiguration;
 
 	@Override
 	public TokenAuthenticationResult validateRequest(ServletRequest request, ServletResponse response) {
@@ -72,6 +76,34 @@ public abstract class AbstractTokenAuthenticator implements TokenAuthenticator {
 		return this;
 	}
 
+	/**
+	 * Use to enable the cache of successfully validated tokens. See
+	 * {@link JwtValidatorBuilder#withValidatedTokenCache(CacheConfiguration)}.
+	 *
+	 * @param cacheConfiguration
+	 * 		the cache configuration
+	 * @return this authenticator
+	 */
+	public AbstractTokenAuthenticator withValidatedTokenCache(CacheConfiguration cacheConfiguration) {
+		this.validatedTokenCacheConfiguration = cacheConfiguration;
+		return this;
+	}
+
+	/**
+	 * Loads the token keys and OIDC endpoints that are required to validate tokens of the given tenants and issuers,
+	 * e.g. at startup before the application reports readiness. See {@link TokenKeyPrefetcher}.
+	 *
+	 * @param appTids
+	 * 		tenant ids of expected tokens, if empty the tenant of the service configuration is used
+	 * @param issuers
+	 * 		additional issuers of expected Identity service tokens
+	 * @return a future that completes with the number of loaded and failed token keys once all token keys are loaded
+	 * 		or failed to load
+	 */
+	public CompletableFuture<TokenKeyPrefetcher.Result> prefetchTokenKeys(Collection<String> appTids, Collection<String> issuers) {
+		return TokenKeyPrefetcher.prefetch(getOrCreateTokenValidator(), appTids, issuers);
+	}
+
 	/**
 	 * Use to configure the HttpClient that is used to retrieve token keys or to perform a token-exchange.
 	 *
@@ -148,6 +180,8 @@ public abstract class AbstractTokenAuthenticator implements TokenAuthenticator {
 					.withHttpClient(httpClient);
 			jwtValidatorBuilder.configureAnotherServiceInstance(getOtherServiceConfiguration());
 			Optional.ofNullable(tokenKeyCacheConfiguration).ifPresent(jwtValidatorBuilder::withCacheConfiguration);
+			Optional.ofNullable(validatedTokenCacheConfiguration)
+					.ifPresent(jwtValidatorBuilder::withValidatedTokenCache);
 			validationListeners.forEach(jwtValidatorBuilder::withValidatorListener);
 			tokenValidator = jwtValidatorBuilder.build();
 		}
@@ -167,6 +201,24 @@ public abstract class AbstractTokenAuthenticator implements TokenAuthenticator {
 		return authorizationHeader != null && !authorizationHeader.isEmpty();
 	}
 
+	/**
+	 * Validates a token that has already been created from the Authorization header of the given request, e.g. by
+	 * {@link HybridTokenAuthenticator} which needs to decode the token to select the authenticator.
+	 *
+	 * @param httpRequest
+	 * 		the request the token was extracted from
+	 * @param token
+	 * 		the token to be validated
+	 * @return the authentication result
+	 */
+	TokenAuthenticationResult validateToken(HttpServletRequest httpRequest, Token token) {
+		try {
+			return tokenValidationResult(token);
+		} catch (Exception e) {
+			return unauthenticated("Unexpected error occurred: " + e.getMessage());
+		}
+	}
+
 	TokenAuthenticationResult tokenValidationResult(Token token) {
 		Validator<Token> validator = getOrCreateTokenValidator();
 		ValidationResult result = validator.validate(token);
@@ -1,26 +1,29 @@
 package com.sap.cloud.security.servlet;
 
-import static com.sap.cloud.security.servlet.HybridTokenFactory.isXsuaaToken;
 import static com.sap.cloud.security.servlet.HybridTokenFactory.removeBearer;
 
 import com.sap.cloud.security.client.SecurityHttpClient;
 import com.sap.cloud.security.config.OAuth2ServiceConfiguration;
+import com.sap.cloud.security.config.Service;
 import com.sap.cloud.security.token.DefaultIdTokenExtension;
 import com.sap.cloud.security.token.SecurityContext;
 import com.sap.cloud.security.token.Token;
 import com.sap.cloud.security.token.TokenExchangeMode;
+import com.sap.cloud.security.token.TokenFactory;
+import com.sap.cloud.security.token.validation.validators.TokenKeyPrefetcher;
 import com.sap.cloud.security.xsuaa.client.DefaultOAuth2TokenService;
 import com.sap.cloud.security.xsuaa.client.DefaultXsuaaTokenExtension;
 import com.sap.cloud.security.xsuaa.client.OAuth2TokenService;
 import com.sap.cloud.security.xsuaa.http.HttpHeaders;
 import com.sap.cloud.security.xsuaa.jwt.Base64JwtDecoder;
-import com.sap.cloud.security.xsuaa.jwt.DecodedJwt;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -109,23 +112,28 @@ public class HybridTokenAuthenticator extends AbstractTokenAuthenticator {
     if (!headerIsAvailable(authz)) {
       return unauthenticated("Authorization header is missing.");
     }
-    DecodedJwt decodedJwt;
+    // Decode the token only once and hand it over to the authenticator of the issuing service
+    final Token token;
     try {
-      decodedJwt = Base64JwtDecoder.getInstance().decode(removeBearer(authz));
-    } catch (IllegalArgumentException e) {
+      final TokenFactory tokenFactory = Token.getTokenFactory();
+      token = tokenFactory instanceof HybridTokenFactory hybridTokenFactory
+          ? hybridTokenFactory.create(Base64JwtDecoder.getInstance().decode(removeBearer(authz)))
+          : tokenFactory.create(authz);
+    } catch (RuntimeException e) {
       return unauthenticated("Unexpected error occurred: " + e.getMessage());
     }
 
     // If token is already an XSUAA token, delegate to XSUAA authenticator and save XSUAA token in context
-    if (isXsuaaToken(decodedJwt)) {
-      TokenAuthenticationResult authenticationResult = xsuaaTokenAuthenticator.validateRequest(httpRequest, response);
+    if (token.getService() == Service.XSUAA) {
+      TokenAuthenticationResult authenticationResult =
+          xsuaaTokenAuthenticator.validateToken(httpRequest, token);
       SecurityContext.setXsuaaToken(authenticationResult.getToken());
       return authenticationResult;
     }
 
     // Otherwise, treat it as an IAS token
     final TokenAuthenticationResult iasResult =
-        iasTokenAuthenticator.validateRequest(httpRequest, response);
+        iasTokenAuthenticator.validateToken(httpRequest, token);
     if (!iasResult.isAuthenticated()) {
       return iasResult;
     }
@@ -153,6 +161,16 @@ public class HybridTokenAuthenticator extends AbstractTokenAuthenticator {
     return iasResult;
   }
 
+  @Override
+  public CompletableFuture<TokenKeyPrefetcher.Result> prefetchTokenKeys(
+      final Collection<String> appTids, final Collection<String> issuers) {
+    return iasTokenAuthenticator
+        .prefetchTokenKeys(appTids, issuers)
+        .thenCombine(
+            xsuaaTokenAuthenticator.prefetchTokenKeys(appTids, issuers),
+            TokenKeyPrefetcher.Result::plus);
+  }
+
   @Override
   protected OAuth2ServiceConfiguration getServiceConfiguration() {
     return xsuaaTokenAuthenticator.getServiceConfiguration();
@@ -7,16 +7,19 @@ package com.sap.cloud.security.servlet;
 
 import static com.sap.cloud.security.token.TokenClaims.XSUAA.EXTERNAL_ATTRIBUTE;
 import static com.sap.cloud.security.token.TokenClaims.XSUAA.EXTERNAL_ATTRIBUTE_ENHANCER;
+import static com.sap.cloud.security.token.TokenClaims.XSUAA.ZONE_ID;
 
 import com.sap.cloud.security.config.Environments;
 import com.sap.cloud.security.config.OAuth2ServiceConfiguration;
 import com.sap.cloud.security.config.ServiceConstants;
+import com.sap.cloud.security.json.JsonObject;
 import com.sap.cloud.security.json.JsonParsingException;
 import com.sap.cloud.security.token.*;
 import com.sap.cloud.security.xsuaa.Assertions;
 import com.sap.cloud.security.xsuaa.jwt.Base64JwtDecoder;
 import com.sap.cloud.security.xsuaa.jwt.DecodedJwt;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.regex.Pattern;
@@ -45,18 +48,29 @@ public class HybridTokenFactory implements TokenFactory {
   public Token create(String jwtToken) {
 		try {
 			Objects.requireNonNull(jwtToken, "Requires encoded jwtToken to create a Token instance.");
-			DecodedJwt decodedJwt = Base64JwtDecoder.getInstance().decode(removeBearer(jwtToken));
-
-			if (isXsuaaToken(decodedJwt)) {
-				return new XsuaaToken(decodedJwt).withScopeConverter(getOrCreateScopeConverter());
-			}
-			return new SapIdToken(decodedJwt);
+			return create(Base64JwtDecoder.getInstance().decode(removeBearer(jwtToken)));
 		} catch (JsonParsingException e) {
 			throw new JsonParsingException("Issue with Jwt parsing. Authorization header: %s - %s".formatted(
 					jwtToken.substring(0, 20), e.getMessage()), e);
 		}
 	}
 
+  /**
+   * Creates a Token for an already decoded JWT token, so that callers which need to inspect the
+   * token before, e.g. {@link HybridTokenAuthenticator}, don't decode it twice.
+   *
+   * @param decodedJwt the decoded JWT token (access_token or id_token)
+   * @return the new token instance
+   */
+  Token create(DecodedJwt decodedJwt) {
+		SapIdToken token = new SapIdToken(decodedJwt);
+		if (isXsuaaToken(token)) {
+			// the XSUAA token reuses the claims parsed by the IAS token
+			return new XsuaaToken(token).withScopeConverter(getOrCreateScopeConverter());
+		}
+		return token;
+	}
+
 	/**
 	 * For testing purposes, in case CF Environment is not set.
 	 *
@@ -98,11 +112,45 @@ public class HybridTokenFactory implements TokenFactory {
    * @return true if provided token is a XSUAA token
    */
   protected static boolean isXsuaaToken(DecodedJwt decodedJwt) {
-		String jwtPayload = decodedJwt.getPayload().toLowerCase();
-		return (jwtPayload.contains(EXTERNAL_ATTRIBUTE)
-				&& jwtPayload.contains(EXTERNAL_ATTRIBUTE_ENHANCER)
-				&& jwtPayload.contains("xsuaa"))
-				|| jwtPayload.contains("\"zid\":\"uaa\",");
+		return isXsuaaToken(new SapIdToken(decodedJwt));
+	}
+
+	private static boolean isXsuaaToken(Token token) {
+		if (token.hasClaim(EXTERNAL_ATTRIBUTE)) {
+			JsonObject externalAttributes = getAsJsonObject(token, EXTERNAL_ATTRIBUTE);
+			if (externalAttributes != null
+					&& "xsuaa".equalsIgnoreCase(getAsString(externalAttributes, EXTERNAL_ATTRIBUTE_ENHANCER))) {
+				return true;
+			}
+		}
+		return "uaa".equalsIgnoreCase(getAsString(token, ZONE_ID));
+	}
+
+	@Nullable
+	private static JsonObject getAsJsonObject(Token token, String name) {
+		try {
+			return token.getClaimAsJsonObject(name);
+		} catch (JsonParsingException e) {
+			return null;
+		}
+	}
+
+	@Nullable
+	private static String getAsString(Token token, String name) {
+		try {
+			return token.getClaimAsString(name);
+		} catch (JsonParsingException e) {
+			return null;
+		}
+	}
+
+	@Nullable
+	private static String getAsString(JsonObject jsonObject, String name) {
+		try {
+			return jsonObject.getAsString(name);
+		} catch (JsonParsingException e) {
+			return null;
+		}
 	}
 
   protected static String removeBearer(@Nonnull String jwtToken) {
@@ -32,6 +32,13 @@ public class IasTokenAuthenticator extends AbstractTokenAuthenticator {
     return super.validateRequest(request, response);
   }
 
+  @Override
+  TokenAuthenticationResult validateToken(final HttpServletRequest httpRequest, final Token token) {
+    SecurityContext.setClientCertificate(
+        X509Certificate.newCertificate(getClientCertificate(httpRequest)));
+    return super.validateToken(httpRequest, token);
+  }
+
   @Override
   protected OAuth2ServiceConfiguration getServiceConfiguration() {
     final OAuth2ServiceConfiguration config =
@@ -97,6 +97,13 @@ public class XsuaaTokenAuthenticator extends AbstractTokenAuthenticator {
 		return createUnauthenticated("Could not process request " + request);
 	}
 
+	@Override
+	TokenAuthenticationResult validateToken(HttpServletRequest httpRequest, Token token) {
+		SecurityContext.setClientCertificate(X509Certificate
+				.newCertificate(getClientCertificate(httpRequest)));
+		return super.validateToken(httpRequest, token);
+	}
+
 	private ScopeConverter getScopeConverter() {
 		return new XsuaaScopeConverter(
 				getServiceConfiguration().getProperty(ServiceConstants.XSUAA.APP_ID));
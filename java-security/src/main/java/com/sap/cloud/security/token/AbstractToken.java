@@ -10,7 +10,6 @@ import com.sap.cloud.security.json.JsonObject;
 import com.sap.cloud.security.xsuaa.Assertions;
 import com.sap.cloud.security.xsuaa.jwt.Base64JwtDecoder;
 import com.sap.cloud.security.xsuaa.jwt.DecodedJwt;
-import org.json.JSONObject;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
@@ -19,11 +18,15 @@ import java.security.Principal;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.regex.Pattern;
 
+import static com.sap.cloud.security.token.TokenClaims.AUDIENCE;
 import static com.sap.cloud.security.token.TokenClaims.EXPIRATION;
 import static com.sap.cloud.security.token.TokenClaims.NOT_BEFORE;
 import static com.sap.cloud.security.token.TokenClaims.XSUAA.*;
@@ -38,6 +41,9 @@ public abstract class AbstractToken implements Token {
 	private final DecodedJwt decodedJwt;
 	protected final DefaultJsonObject tokenHeader;
 	protected final DefaultJsonObject tokenBody;
+	private transient volatile Instant expiration;
+	private transient volatile Set<String> audiences;
+	private transient volatile String clientId;
 
 	public AbstractToken(@Nonnull DecodedJwt decodedJwt) {
 		this.tokenHeader = new DefaultJsonObject(decodedJwt.getHeader());
@@ -45,6 +51,18 @@ public abstract class AbstractToken implements Token {
 		this.decodedJwt = decodedJwt;
 	}
 
+	/**
+	 * Creates a Token object that shares the already parsed header parameters and claims of the given token.
+	 *
+	 * @param token
+	 * 		the token, e.g. created to determine the issuing identity service.
+	 */
+	protected AbstractToken(@Nonnull AbstractToken token) {
+		this.tokenHeader = token.tokenHeader;
+		this.tokenBody = token.tokenBody;
+		this.decodedJwt = token.decodedJwt;
+	}
+
 	/**
 	 * Creates a Token object for simple access to the header parameters and its claims.
 	 *
@@ -92,12 +110,18 @@ public abstract class AbstractToken implements Token {
 	@Nullable
 	@Override
 	public Instant getExpiration() {
-		return tokenBody.getAsInstant(EXPIRATION);
+		Instant result = expiration;
+		if (result == null) {
+			result = tokenBody.getAsInstant(EXPIRATION);
+			expiration = result;
+		}
+		return result;
 	}
 
 	@Override
 	public boolean isExpired() {
-		return getExpiration() == null || getExpiration().isBefore(LocalDateTime.now().toInstant(ZoneOffset.UTC));
+		Instant result = getExpiration();
+		return result == null || result.isBefore(LocalDateTime.now().toInstant(ZoneOffset.UTC));
 	}
 
 	@Nullable
@@ -108,6 +132,55 @@ public abstract class AbstractToken implements Token {
 				: tokenBody.getAsInstant(ISSUED_AT);
 	}
 
+	/**
+	 * Returns the audiences of the token. The audiences are extracted only once per token instance, each call returns
+	 * a copy of them.
+	 *
+	 * @return the set of audiences
+	 */
+	@Override
+	public Set<String> getAudiences() {
+		return new LinkedHashSet<>(getAudienceSet());
+	}
+
+	private Set<String> getAudienceSet() {
+		Set<String> result = audiences;
+		if (result == null) {
+			result = Collections.unmodifiableSet(new LinkedHashSet<>(getClaimAsStringList(AUDIENCE)));
+			audiences = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the client id of the token as described in {@link Token#getClientId()}. The result is computed only once
+	 * per token instance.
+	 *
+	 * @return the client id
+	 * @throws InvalidTokenException
+	 * 		in case the client id can not be determined
+	 */
+	@Override
+	public String getClientId() {
+		String result = clientId;
+		if (result == null) {
+			result = resolveClientId();
+			clientId = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Determines the client id of the token, called by {@link #getClientId()} once per token instance.
+	 *
+	 * @return the client id
+	 * @throws InvalidTokenException
+	 * 		in case the client id can not be determined
+	 */
+	protected String resolveClientId() {
+		return Token.super.getClientId();
+	}
+
 	@Override
 	public String getTokenValue() {
 		return decodedJwt.getEncodedToken();
@@ -171,13 +244,23 @@ public abstract class AbstractToken implements Token {
 		return decodedJwt.toString();
 	}
 
+	/**
+	 * Returns the header(s) as read-only view on the already parsed token header.
+	 *
+	 * @return an unmodifiable {@code Map} of the header(s)
+	 */
 	@Override
 	public Map<String, Object> getHeaders() {
-		return new JSONObject(decodedJwt.getHeader()).toMap();
+		return tokenHeader.asMap();
 	}
 
+	/**
+	 * Returns the jwt claim set as read-only view on the already parsed token payload.
+	 *
+	 * @return an unmodifiable {@code Map} of the jwt claim set
+	 */
 	@Override
 	public Map<String, Object> getClaims() {
-		return new JSONObject(decodedJwt.getPayload()).toMap();
+		return tokenBody.asMap();
 	}
 }
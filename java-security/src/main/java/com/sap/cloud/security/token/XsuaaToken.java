@@ -15,6 +15,7 @@ import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.io.Serial;
 import java.security.Principal;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -34,6 +35,8 @@ public class XsuaaToken extends AbstractToken implements AccessToken {
 	static final String UNIQUE_CLIENT_NAME_FORMAT = "client/%s"; // client/<clientid>
 	private static final Logger LOGGER = LoggerFactory.getLogger(XsuaaToken.class);
 	private ScopeConverter scopeConverter;
+	private transient volatile Set<String> scopes;
+	private transient volatile LocalScopes localScopes;
 
 	/**
 	 * Creates an instance.
@@ -45,6 +48,16 @@ public class XsuaaToken extends AbstractToken implements AccessToken {
 		super(decodedJwt);
 	}
 
+	/**
+	 * Creates an instance without parsing the header and claims of the given token again.
+	 *
+	 * @param token
+	 * 		the token issued by the XSUAA identity service
+	 */
+	public XsuaaToken(@Nonnull AbstractToken token) {
+		super(token);
+	}
+
 	/**
 	 * Creates an instance.
 	 *
@@ -99,9 +112,24 @@ public class XsuaaToken extends AbstractToken implements AccessToken {
 		return this;
 	}
 
+	/**
+	 * Returns the scopes of the token. The scopes are extracted only once per token instance, each call returns a copy
+	 * of them.
+	 *
+	 * @return the set of scopes
+	 */
 	@Override
 	public Set<String> getScopes() {
-		return new LinkedHashSet<>(getClaimAsStringList(TokenClaims.XSUAA.SCOPES));
+		return new LinkedHashSet<>(getScopeSet());
+	}
+
+	private Set<String> getScopeSet() {
+		Set<String> result = scopes;
+		if (result == null) {
+			result = Collections.unmodifiableSet(new LinkedHashSet<>(getClaimAsStringList(TokenClaims.XSUAA.SCOPES)));
+			scopes = result;
+		}
+		return result;
 	}
 
 	@Override
@@ -125,7 +153,7 @@ public class XsuaaToken extends AbstractToken implements AccessToken {
 
 	@Override
 	public boolean hasScope(String scope) {
-		return getScopes().contains(scope);
+		return getScopeSet().contains(scope);
 	}
 
 	/**
@@ -140,7 +168,20 @@ public class XsuaaToken extends AbstractToken implements AccessToken {
 	public boolean hasLocalScope(@Nonnull String scope) {
 		Assertions.assertNotNull(scopeConverter,
 				"hasLocalScope() method requires a scopeConverter, which must not be null");
-		return scopeConverter.convert(getScopes()).contains(scope);
+		return getLocalScopes().contains(scope);
+	}
+
+	private Set<String> getLocalScopes() {
+		ScopeConverter converter = scopeConverter;
+		LocalScopes result = localScopes;
+		if (result == null || result.converter() != converter) {
+			result = new LocalScopes(converter, converter.convert(getScopes()));
+			localScopes = result;
+		}
+		return result.scopes();
+	}
+
+	private record LocalScopes(ScopeConverter converter, Set<String> scopes) {
 	}
 
 	@Override
@@ -176,9 +217,9 @@ public class XsuaaToken extends AbstractToken implements AccessToken {
 	}
 
 	@Override
-	public String getClientId() {
+	protected String resolveClientId() {
 		try {
-			return super.getClientId();
+			return super.resolveClientId();
 		} catch (InvalidTokenException ex) {
 			if (hasClaim(CLIENT_ID) && !getClaimAsString(CLIENT_ID).trim()
 					.isEmpty()) { // required for backward compatibility for generated tokens in JUnit tests
@@ -0,0 +1,416 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.token.validation.validators;
+
+import com.sap.cloud.security.json.JsonObject;
+import com.sap.cloud.security.json.JsonObjectProvider;
+import com.sap.cloud.security.json.JsonParsingException;
+import com.sap.cloud.security.xsuaa.Assertions;
+import com.sap.cloud.security.xsuaa.client.OAuth2ServiceEndpointsProvider;
+import com.sap.cloud.security.xsuaa.client.OAuth2ServiceException;
+import com.sap.cloud.security.xsuaa.client.OAuth2TokenKeyService;
+import com.sap.cloud.security.xsuaa.client.OidcConfigurationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a snapshot of the last successfully retrieved token keys (JWKS) and OIDC discovery endpoints in a local file,
+ * so that a newly started instance doesn't need to request them from the identity service for its first requests.
+ * Only public data is stored: the token keys, the endpoint URIs and the request parameters (tenant and client ids).
+ * <p>
+ * On startup the snapshot is read from the file. Each restored entry is served at most once, on the first request
+ * after startup, and only if it is not older than the configured maximum age. The caches then apply their usual
+ * expiration and refresh rules relative to the time the entry was retrieved from the identity service, i.e. a restored
+ * entry is not trusted longer than a retrieved one. All later requests are sent to the identity service.
+ * <p>
+ * Retrieved token keys or endpoints that differ from the stored ones or whose stored ones reached half of the maximum
+ * age mark the snapshot as changed. Changes are written to the file every {@link #FLUSH_INTERVAL} by a background
+ * thread and when the JVM shuts down or the store is {@link #close() closed}, so that requests don't wait for the
+ * file. Errors when reading or writing the file are logged and don't affect token validation.
+ * <p>
+ * As restored token keys are used to verify token signatures, the file must be stored in a directory that only the
+ * application can write to.
+ *
+ * @see JwtValidatorBuilder#withCacheSnapshotStore(CacheSnapshotStore)
+ */
+public class CacheSnapshotStore implements Closeable {
+	private static final Logger LOGGER = LoggerFactory.getLogger(CacheSnapshotStore.class);
+	static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(15);
+	static final Duration MAX_AGE = OAuth2TokenKeyServiceWithCache.MAX_CACHE_DURATION;
+	static final Duration FLUSH_INTERVAL = Duration.ofSeconds(30);
+	static final int MAX_ENTRIES = 1000;
+
+	private static final String TOKEN_KEYS = "token_keys";
+	private static final String ENDPOINTS = "endpoints";
+	private static final String URI_PARAMETER = "uri";
+	private static final String PARAMETERS = "parameters";
+	private static final String KEYS = "keys";
+	private static final String RETRIEVED_AT = "retrieved_at";
+
+	private final Path file;
+	private final Duration maxAge;
+	private final Supplier<Instant> timeProvider;
+	private final Map<String, TokenKeysEntry> tokenKeys = new ConcurrentHashMap<>();
+	private final Map<String, EndpointsEntry> endpoints = new ConcurrentHashMap<>();
+	private final Map<String, TokenKeysEntry> restoredTokenKeys = new ConcurrentHashMap<>();
+	private final Map<String, EndpointsEntry> restoredEndpoints = new ConcurrentHashMap<>();
+	// retrieval time of the entries that were served from the snapshot
+	private final Map<String, Long> servedRetrievalTimes = new ConcurrentHashMap<>();
+	private final AtomicBoolean changed = new AtomicBoolean();
+	private ScheduledExecutorService flushExecutor;
+	private Thread shutdownHook;
+
+	/**
+	 * Creates a snapshot store that restores entries of up to 15 minutes age.
+	 *
+	 * @param file
+	 * 		the snapshot file, which is created if it does not exist
+	 */
+	public CacheSnapshotStore(@Nonnull Path file) {
+		this(file, DEFAULT_MAX_AGE);
+	}
+
+	/**
+	 * Creates a snapshot store.
+	 *
+	 * @param file
+	 * 		the snapshot file, which is created if it does not exist
+	 * @param maxAge
+	 * 		the maximum age of restored entries, limited to 900 seconds
+	 */
+	public CacheSnapshotStore(@Nonnull Path file, @Nonnull Duration maxAge) {
+		this(file, maxAge, Instant::now);
+		flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "cache-snapshot-flush");
+			thread.setDaemon(true);
+			return thread;
+		});
+		flushExecutor.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL.toMillis(), FLUSH_INTERVAL.toMillis(),
+				TimeUnit.MILLISECONDS);
+		shutdownHook = new Thread(this::flush, "cache-snapshot-shutdown");
+		Runtime.getRuntime().addShutdownHook(shutdownHook);
+	}
+
+	/**
+	 * For testing only! Changes are only written by {@link #flush()}.
+	 */
+	CacheSnapshotStore(Path file, Duration maxAge, Supplier<Instant> timeProvider) {
+		Assertions.assertNotNull(file, "file must not be null.");
+		Assertions.assertNotNull(maxAge, "maxAge must not be null.");
+		if (maxAge.compareTo(MAX_AGE) > 0) {
+			LOGGER.warn("Tried to set maximum snapshot age to {} seconds but it must be maximum {} seconds."
+					+ " Maximum snapshot age will be {} seconds", maxAge.getSeconds(), MAX_AGE.getSeconds(),
+					MAX_AGE.getSeconds());
+		}
+		this.file = file;
+		this.maxAge = maxAge.compareTo(MAX_AGE) > 0 ? MAX_AGE : maxAge;
+		this.timeProvider = timeProvider;
+		read();
+	}
+
+	/**
+	 * Returns the maximum age of restored entries.
+	 *
+	 * @return the maximum age
+	 */
+	Duration getMaxAge() {
+		return maxAge;
+	}
+
+	/**
+	 * Decorates the given token key service, so that it serves restored token keys and stores retrieved ones.
+	 */
+	OAuth2TokenKeyService decorate(OAuth2TokenKeyService tokenKeyService) {
+		return new OAuth2TokenKeyService() {
+			@Override
+			public String retrieveTokenKeys(@Nonnull URI tokenKeysEndpointUri, Map<String, String> params)
+					throws OAuth2ServiceException {
+				String key = tokenKeysKey(tokenKeysEndpointUri, params);
+				TokenKeysEntry restored = restoredTokenKeys.remove(key);
+				if (restored != null) {
+					LOGGER.debug("Serving token keys of {} from snapshot.", tokenKeysEndpointUri);
+					servedRetrievalTimes.put(key, restored.retrievedAt());
+					return restored.keys();
+				}
+				servedRetrievalTimes.remove(key);
+				String jwks = tokenKeyService.retrieveTokenKeys(tokenKeysEndpointUri, params);
+				if (jwks != null) {
+					storeTokenKeys(key, tokenKeysEndpointUri, params, jwks);
+				}
+				return jwks;
+			}
+
+			@Nullable
+			@Override
+			public Duration getMaxAge(@Nonnull URI tokenKeysEndpointUri, Map<String, String> params) {
+				if (servedRetrievalTimes.containsKey(tokenKeysKey(tokenKeysEndpointUri, params))) {
+					return null;
+				}
+				return tokenKeyService.getMaxAge(tokenKeysEndpointUri, params);
+			}
+
+			@Nullable
+			@Override
+			public Duration getAge(@Nonnull URI tokenKeysEndpointUri, Map<String, String> params) {
+				return getServedAge(tokenKeysKey(tokenKeysEndpointUri, params));
+			}
+		};
+	}
+
+	/**
+	 * Decorates the given oidc configuration service, so that it serves restored endpoints and stores retrieved
+	 * ones.
+	 */
+	OidcConfigurationService decorate(OidcConfigurationService oidcConfigurationService) {
+		return new OidcConfigurationService() {
+			@Override
+			public OAuth2ServiceEndpointsProvider retrieveEndpoints(@Nonnull URI discoveryEndpointUri)
+					throws OAuth2ServiceException {
+				String key = ENDPOINTS + " " + discoveryEndpointUri;
+				EndpointsEntry restored = restoredEndpoints.remove(discoveryEndpointUri.toString());
+				if (restored != null) {
+					LOGGER.debug("Serving endpoints of {} from snapshot.", discoveryEndpointUri);
+					servedRetrievalTimes.put(key, restored.retrievedAt());
+					return restored.endpoints();
+				}
+				servedRetrievalTimes.remove(key);
+				OAuth2ServiceEndpointsProvider endpointsProvider = oidcConfigurationService
+						.retrieveEndpoints(discoveryEndpointUri);
+				if (endpointsProvider != null) {
+					storeEndpoints(discoveryEndpointUri.toString(), endpointsProvider);
+				}
+				return endpointsProvider;
+			}
+
+			@Nullable
+			@Override
+			public Duration getAge(@Nonnull URI discoveryEndpointUri) {
+				return getServedAge(ENDPOINTS + " " + discoveryEndpointUri);
+			}
+		};
+	}
+
+	@Nullable
+	private Duration getServedAge(String key) {
+		Long retrievedAt = servedRetrievalTimes.get(key);
+		return retrievedAt != null ? Duration.between(Instant.ofEpochMilli(retrievedAt), now()) : null;
+	}
+
+	private void storeTokenKeys(String key, URI tokenKeysEndpointUri, @Nullable Map<String, String> params,
+			String jwks) {
+		TokenKeysEntry stored = tokenKeys.get(key);
+		if (stored != null && isRecent(stored.retrievedAt()) && jwks.equals(stored.keys())) {
+			return;
+		}
+		Map<String, String> parameters = new TreeMap<>();
+		if (params != null) {
+			params.forEach((name, value) -> {
+				if (value != null) {
+					parameters.put(name, value);
+				}
+			});
+		}
+		TokenKeysEntry entry = new TokenKeysEntry(tokenKeysEndpointUri.toString(), parameters, jwks,
+				now().toEpochMilli());
+		if (put(tokenKeys, key, entry)) {
+			changed.set(true);
+		}
+	}
+
+	private void storeEndpoints(String key, OAuth2ServiceEndpointsProvider endpointsProvider) {
+		SerializedEndpoints serializedEndpoints = SerializedEndpoints.of(endpointsProvider);
+		EndpointsEntry stored = endpoints.get(key);
+		if (stored != null && isRecent(stored.retrievedAt()) && serializedEndpoints.equals(stored.endpoints())) {
+			return;
+		}
+		if (put(endpoints, key, new EndpointsEntry(key, serializedEndpoints, now().toEpochMilli()))) {
+			changed.set(true);
+		}
+	}
+
+	/**
+	 * Unchanged entries are rewritten once they reached half of the maximum age, so that they can still be restored.
+	 */
+	private boolean isRecent(long retrievedAt) {
+		return Instant.ofEpochMilli(retrievedAt).isAfter(now().minus(maxAge.dividedBy(2)));
+	}
+
+	private static <T> boolean put(Map<String, T> entries, String key, T entry) {
+		if (!entries.containsKey(key) && entries.size() >= MAX_ENTRIES) {
+			return false;
+		}
+		entries.put(key, entry);
+		return true;
+	}
+
+	private void read() {
+		if (!Files.exists(file)) {
+			return;
+		}
+		try {
+			JsonObject snapshot = JsonObjectProvider.createJsonObject(Files.readString(file, StandardCharsets.UTF_8));
+			Instant oldest = now().minus(maxAge);
+			for (JsonObject tokenKeysEntry : snapshot.getJsonObjects(TOKEN_KEYS)) {
+				TokenKeysEntry entry = new TokenKeysEntry(getRequired(tokenKeysEntry, URI_PARAMETER),
+						new TreeMap<>(tokenKeysEntry.getJsonObject(PARAMETERS).getKeyValueMap()),
+						getRequired(tokenKeysEntry, KEYS), getRetrievedAt(tokenKeysEntry));
+				String key = tokenKeysKey(URI.create(entry.uri()), entry.parameters());
+				restore(tokenKeys, restoredTokenKeys, key, entry, entry.retrievedAt(), oldest);
+			}
+			for (JsonObject endpointsEntry : snapshot.getJsonObjects(ENDPOINTS)) {
+				EndpointsEntry entry = new EndpointsEntry(getRequired(endpointsEntry, URI_PARAMETER),
+						SerializedEndpoints.of(endpointsEntry), getRetrievedAt(endpointsEntry));
+				restore(endpoints, restoredEndpoints, entry.uri(), entry, entry.retrievedAt(), oldest);
+			}
+			LOGGER.info("Restored {} token key sets and {} oidc configurations from snapshot {}.",
+					restoredTokenKeys.size(), restoredEndpoints.size(), file);
+		} catch (IOException | RuntimeException e) {
+			LOGGER.warn("Could not read snapshot {}, starting with empty caches: {}", file, e.getMessage());
+			tokenKeys.clear();
+			endpoints.clear();
+			restoredTokenKeys.clear();
+			restoredEndpoints.clear();
+		}
+	}
+
+	private static String getRequired(JsonObject entry, String name) {
+		String value = entry.getAsString(name);
+		if (value == null) {
+			throw new JsonParsingException("JSONObject[\"%s\"] not found.".formatted(name));
+		}
+		return value;
+	}
+
+	private static long getRetrievedAt(JsonObject entry) {
+		Long retrievedAt = entry.getAsLong(RETRIEVED_AT);
+		if (retrievedAt == null) {
+			throw new JsonParsingException("JSONObject[\"%s\"] not found.".formatted(RETRIEVED_AT));
+		}
+		return retrievedAt;
+	}
+
+	private static <T> void restore(Map<String, T> entries, Map<String, T> restoredEntries, String key, T entry,
+			long retrievedAt, Instant oldest) {
+		entries.put(key, entry);
+		if (Instant.ofEpochMilli(retrievedAt).isAfter(oldest)) {
+			restoredEntries.put(key, entry);
+		}
+	}
+
+	/**
+	 * Writes the snapshot to the file, if it changed since it was written last.
+	 */
+	public void flush() {
+		if (changed.getAndSet(false) && !write()) {
+			// retry with the next flush
+			changed.set(true);
+		}
+	}
+
+	/**
+	 * Stops writing changes periodically and writes the pending changes.
+	 */
+	@Override
+	public void close() {
+		if (flushExecutor != null) {
+			flushExecutor.shutdown();
+		}
+		if (shutdownHook != null) {
+			try {
+				Runtime.getRuntime().removeShutdownHook(shutdownHook);
+			} catch (IllegalStateException e) {
+				// the JVM is already shutting down and runs the hook
+			}
+		}
+		flush();
+	}
+
+	private synchronized boolean write() {
+		Map<String, Object> snapshot = new LinkedHashMap<>();
+		snapshot.put(TOKEN_KEYS, tokenKeys.values().stream().map(TokenKeysEntry::toJson).toList());
+		snapshot.put(ENDPOINTS, endpoints.values().stream().map(EndpointsEntry::toJson).toList());
+		try {
+			Path parent = file.toAbsolutePath().getParent();
+			if (parent != null) {
+				Files.createDirectories(parent);
+			}
+			Path tempFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+			try {
+				Files.writeString(tempFile, JsonWriter.toJson(snapshot), StandardCharsets.UTF_8);
+				Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(tempFile);
+			}
+			return true;
+		} catch (IOException | RuntimeException e) {
+			LOGGER.warn("Could not write snapshot {}: {}", file, e.getMessage());
+			return false;
+		}
+	}
+
+	private static String tokenKeysKey(URI tokenKeysEndpointUri, @Nullable Map<String, String> params) {
+		Map<String, String> sortedParams = new TreeMap<>();
+		if (params != null) {
+			params.forEach((name, value) -> {
+				if (value != null) {
+					sortedParams.put(name, value);
+				}
+			});
+		}
+		return tokenKeysEndpointUri + " " + sortedParams;
+	}
+
+	private Instant now() {
+		return timeProvider.get();
+	}
+
+	/**
+	 * Token keys retrieved from a JWKS URI with the given request parameters.
+	 */
+	private record TokenKeysEntry(String uri, Map<String, String> parameters, String keys, long retrievedAt) {
+		Map<String, Object> toJson() {
+			Map<String, Object> json = new LinkedHashMap<>();
+			json.put(URI_PARAMETER, uri);
+			json.put(PARAMETERS, parameters);
+			json.put(KEYS, keys);
+			json.put(RETRIEVED_AT, retrievedAt);
+			return json;
+		}
+	}
+
+	/**
+	 * Endpoints retrieved from an OIDC discovery URI.
+	 */
+	private record EndpointsEntry(String uri, SerializedEndpoints endpoints, long retrievedAt) {
+		Map<String, Object> toJson() {
+			Map<String, Object> json = new LinkedHashMap<>(endpoints.endpoints());
+			json.put(URI_PARAMETER, uri);
+			json.put(RETRIEVED_AT, retrievedAt);
+			return json;
+		}
+	}
+}
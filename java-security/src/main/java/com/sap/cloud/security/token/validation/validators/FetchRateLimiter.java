@@ -0,0 +1,71 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.token.validation.validators;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Limits the number of requests per endpoint within a fixed time window. The endpoint is identified by scheme,
+ * authority and path of the URI; query parameters are ignored, so that e.g. requests for arbitrary {@code zid} values
+ * count against the same limit.
+ */
+class FetchRateLimiter {
+	private static final int MAX_ENDPOINTS = 10_000;
+
+	private final int maxRequests;
+	private final long windowNanos;
+	private final Ticker ticker;
+	private final Cache<String, Window> windows;
+
+	FetchRateLimiter(int maxRequests, Duration window, Ticker ticker) {
+		this.maxRequests = maxRequests;
+		this.windowNanos = window.toNanos();
+		this.ticker = ticker;
+		this.windows = Caffeine.newBuilder()
+				.ticker(ticker)
+				.expireAfterAccess(window.multipliedBy(2))
+				.maximumSize(MAX_ENDPOINTS)
+				.build();
+	}
+
+	/**
+	 * Acquires a permit for a request to the given URI.
+	 *
+	 * @param uri
+	 * 		the request URI
+	 * @return {@code true} if the request is allowed, {@code false} if the limit of the current window is exceeded
+	 */
+	boolean tryAcquire(URI uri) {
+		String endpoint = uri.getScheme() + "://" + uri.getRawAuthority() + uri.getRawPath();
+		return windows.get(endpoint, k -> new Window(ticker.read())).tryAcquire(ticker.read());
+	}
+
+	private final class Window {
+		private long start;
+		private int requests;
+
+		Window(long start) {
+			this.start = start;
+		}
+
+		synchronized boolean tryAcquire(long now) {
+			if (now - start >= windowNanos) {
+				start = now;
+				requests = 0;
+			}
+			if (requests >= maxRequests) {
+				return false;
+			}
+			requests++;
+			return true;
+		}
+	}
+}
@@ -0,0 +1,77 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.token.validation.validators;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.sap.cloud.security.xsuaa.Assertions;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.time.Duration;
+
+/**
+ * In-process reference implementation of {@link SecondLevelCache}. It is shared by all validators of the JVM that are
+ * configured with the same instance, e.g. in tests or in case validators are built with custom services.
+ */
+public class InMemorySecondLevelCache implements SecondLevelCache {
+	static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+	private final Cache<String, Entry> entries;
+
+	/**
+	 * Creates a cache for up to {@value #DEFAULT_MAXIMUM_SIZE} entries.
+	 */
+	public InMemorySecondLevelCache() {
+		this(DEFAULT_MAXIMUM_SIZE);
+	}
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param maximumSize
+	 * 		the maximum number of entries
+	 */
+	public InMemorySecondLevelCache(int maximumSize) {
+		this(maximumSize, Ticker.systemTicker());
+	}
+
+	/**
+	 * For testing only!
+	 */
+	InMemorySecondLevelCache(int maximumSize, Ticker ticker) {
+		this.entries = Caffeine.newBuilder()
+				.ticker(ticker)
+				.maximumSize(maximumSize)
+				.expireAfter(Expiry.writing((String key, Entry entry) -> entry.timeToLive()))
+				.build();
+	}
+
+	@Nullable
+	@Override
+	public String get(@Nonnull String key) {
+		Assertions.assertNotNull(key, "key must not be null.");
+		Entry entry = entries.getIfPresent(key);
+		return entry != null ? entry.value() : null;
+	}
+
+	@Override
+	public void put(@Nonnull String key, @Nonnull String value, @Nonnull Duration timeToLive) {
+		Assertions.assertNotNull(key, "key must not be null.");
+		Assertions.assertNotNull(value, "value must not be null.");
+		Assertions.assertNotNull(timeToLive, "timeToLive must not be null.");
+		if (timeToLive.isNegative() || timeToLive.isZero()) {
+			entries.invalidate(key);
+		} else {
+			entries.put(key, new Entry(value, timeToLive));
+		}
+	}
+
+	private record Entry(String value, Duration timeToLive) {
+	}
+}
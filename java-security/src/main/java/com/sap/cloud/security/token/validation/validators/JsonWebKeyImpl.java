@@ -22,23 +22,32 @@ import java.util.Objects;
 import static com.sap.cloud.security.token.validation.validators.JsonWebKeyConstants.BEGIN_PUBLIC_KEY;
 import static com.sap.cloud.security.token.validation.validators.JsonWebKeyConstants.END_PUBLIC_KEY;
 
+/**
+ * Immutable JSON web key. The public key is created once when the key is constructed, i.e. when the JWKS is parsed,
+ * so that requests only read it. In case the public key can not be created, the failure is reported by
+ * {@link #getPublicKey()}.
+ */
 class JsonWebKeyImpl implements JsonWebKey {
 	private final JwtSignatureAlgorithm keyAlgorithm;
 	private final String keyId;
-	private final String pemEncodedPublicKey;
-	private final String modulus;
-	private final String publicExponent;
-	private PublicKey publicKey;
+	private final PublicKey publicKey;
+	private final Exception publicKeyFailure;
 
 	JsonWebKeyImpl(JwtSignatureAlgorithm keyAlgorithm, @Nullable String keyId, String modulus,
 			String publicExponent, @Nullable String pemEncodedPublicKey) {
 		Assertions.assertNotNull(keyAlgorithm, "keyAlgorithm must be not null");
 		this.keyId = keyId != null ? keyId : DEFAULT_KEY_ID;
-
-		this.pemEncodedPublicKey = pemEncodedPublicKey;
-		this.publicExponent = publicExponent;
-		this.modulus = modulus;
 		this.keyAlgorithm = keyAlgorithm;
+
+		PublicKey key = null;
+		Exception failure = null;
+		try {
+			key = createPublicKey(keyAlgorithm, modulus, publicExponent, pemEncodedPublicKey);
+		} catch (NoSuchAlgorithmException | InvalidKeySpecException | RuntimeException e) {
+			failure = e;
+		}
+		this.publicKey = key;
+		this.publicKeyFailure = failure;
 	}
 
 	@Override
@@ -54,17 +63,27 @@ class JsonWebKeyImpl implements JsonWebKey {
 
 	@Override
 	public PublicKey getPublicKey() throws NoSuchAlgorithmException, InvalidKeySpecException {
-		if (publicKey != null) {
-			return publicKey;
+		if (publicKeyFailure instanceof NoSuchAlgorithmException e) {
+			throw e;
+		}
+		if (publicKeyFailure instanceof InvalidKeySpecException e) {
+			throw e;
 		}
+		if (publicKeyFailure instanceof RuntimeException e) {
+			throw e;
+		}
+		return publicKey;
+	}
+
+	private static PublicKey createPublicKey(JwtSignatureAlgorithm keyAlgorithm, String modulus,
+			String publicExponent, @Nullable String pemEncodedPublicKey)
+			throws NoSuchAlgorithmException, InvalidKeySpecException {
 		if (pemEncodedPublicKey != null) {
-			publicKey = createPublicKeyFromPemEncodedPublicKey(keyAlgorithm, pemEncodedPublicKey);
+			return createPublicKeyFromPemEncodedPublicKey(keyAlgorithm, pemEncodedPublicKey);
 		} else if (keyAlgorithm.type().equalsIgnoreCase("RSA")) {
-			publicKey = createRSAPublicKey(publicExponent, modulus);
-		} else {
-			throw new IllegalStateException("JWT token with web key type " + keyAlgorithm + " can not be verified.");
+			return createRSAPublicKey(publicExponent, modulus);
 		}
-		return publicKey;
+		throw new IllegalStateException("JWT token with web key type " + keyAlgorithm + " can not be verified.");
 	}
 
 	static PublicKey createRSAPublicKey(String publicExponent, String modulus)
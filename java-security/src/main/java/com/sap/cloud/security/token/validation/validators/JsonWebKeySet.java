@@ -7,42 +7,47 @@ package com.sap.cloud.security.token.validation.validators;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+/**
+ * Set of JSON web keys, indexed by key algorithm and key id, so that the key of a token is found with a single lookup.
+ */
 class JsonWebKeySet {
 
 	private final Set<JsonWebKey> jsonWebKeys = new HashSet<>();
+	private final Map<KeyIndex, JsonWebKey> jsonWebKeyIndex = new HashMap<>();
 
 	@Nullable
 	public JsonWebKey getKeyByAlgorithmAndId(JwtSignatureAlgorithm keyAlgorithm, String keyId) {
-		return getTokenStreamWithTypeAndKeyId(keyAlgorithm, keyId)
-				.findFirst()
-				.orElse(null);
+		return jsonWebKeyIndex.get(new KeyIndex(keyAlgorithm, keyId != null ? keyId : JsonWebKey.DEFAULT_KEY_ID));
 	}
 
 	public Set<JsonWebKey> getAll() {
-		return jsonWebKeys;
+		return Collections.unmodifiableSet(jsonWebKeys);
 	}
 
 	public boolean put(@Nonnull JsonWebKey jsonWebKey) {
-		return jsonWebKeys.add(jsonWebKey);
+		if (!jsonWebKeys.add(jsonWebKey)) {
+			return false;
+		}
+		String kid = jsonWebKey.getId() != null ? jsonWebKey.getId() : JsonWebKey.DEFAULT_KEY_ID;
+		jsonWebKeyIndex.putIfAbsent(new KeyIndex(jsonWebKey.getKeyAlgorithm(), kid), jsonWebKey);
+		return true;
 	}
 
 	public void putAll(JsonWebKeySet jsonWebKeySet) {
-		jsonWebKeys.addAll(jsonWebKeySet.getAll());
-	}
-
-	private Stream<JsonWebKey> getTokenStreamWithTypeAndKeyId(JwtSignatureAlgorithm algorithm, String keyId) {
-		String kid = keyId != null ? keyId : JsonWebKey.DEFAULT_KEY_ID;
-		return jsonWebKeys.stream()
-				.filter(jwk -> algorithm.equals(jwk.getKeyAlgorithm()))
-				.filter(jwk -> kid.equals(jwk.getId()));
+		jsonWebKeySet.getAll().forEach(this::put);
 	}
 
 	public String toString() {
 		return jsonWebKeys.stream().map(String::valueOf).collect(Collectors.joining("|"));
 	}
+
+	private record KeyIndex(JwtSignatureAlgorithm keyAlgorithm, String keyId) {
+	}
 }
@@ -5,8 +5,18 @@
  */
 package com.sap.cloud.security.token.validation.validators;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.sap.cloud.security.json.JsonObject;
+import com.sap.cloud.security.json.JsonObjectProvider;
+import com.sap.cloud.security.json.JsonParsingException;
+
+import jakarta.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 
 class JsonWebKeySetFactory {
 
@@ -14,47 +24,110 @@ class JsonWebKeySetFactory {
 	}
 
 	static JsonWebKeySet createFromJson(String json) {
-		JsonWebKeySet keySet = new JsonWebKeySet();
-		if (json != null) {
-			JSONArray keys = new JSONObject(json).getJSONArray(JsonWebKeyConstants.KEYS_PARAMETER_NAME);
+		return createKeySet(parseKeys(json));
+	}
+
+	/**
+	 * Creates the key set for the given JWKS or, in case a key set with the same key material has been created before,
+	 * returns that instance. This way identical JWKS, e.g. fetched for different tenants, share the parsed keys.
+	 *
+	 * @param json
+	 * 		the JWKS json
+	 * @param keySetsByFingerprint
+	 * 		the key sets created so far by the fingerprint of their key material
+	 * @return the key set
+	 */
+	static JsonWebKeySet createFromJson(String json, Cache<String, JsonWebKeySet> keySetsByFingerprint) {
+		List<KeyMaterial> keys = parseKeys(json);
+		return keySetsByFingerprint.get(fingerprint(keys), fingerprint -> createKeySet(keys));
+	}
 
-			for (Object key : keys) {
-				if (key instanceof JSONObject) {
-					keySet.put(createJsonWebKey((JSONObject) key));
-				}
+	private static List<KeyMaterial> parseKeys(@Nullable String json) {
+		List<KeyMaterial> keys = new ArrayList<>();
+		if (json != null) {
+			JsonObject jsonWebKeySet = JsonObjectProvider.createJsonObject(json);
+			if (!jsonWebKeySet.contains(JsonWebKeyConstants.KEYS_PARAMETER_NAME)) {
+				throw new JsonParsingException(
+						"JSONObject[\"%s\"] not found.".formatted(JsonWebKeyConstants.KEYS_PARAMETER_NAME));
+			}
+			for (JsonObject key : jsonWebKeySet.getJsonObjects(JsonWebKeyConstants.KEYS_PARAMETER_NAME)) {
+				keys.add(parseKey(key));
 			}
 		}
+		return keys;
+	}
+
+	private static JsonWebKeySet createKeySet(List<KeyMaterial> keys) {
+		JsonWebKeySet keySet = new JsonWebKeySet();
+		for (KeyMaterial key : keys) {
+			keySet.put(new JsonWebKeyImpl(key.algorithm(), key.keyId(), key.modulus(), key.publicExponent(),
+					key.pemEncodedPublicKey()));
+		}
 		return keySet;
 	}
 
-	private static JsonWebKey createJsonWebKey(JSONObject key) {
+	private static KeyMaterial parseKey(JsonObject key) {
 		String keyAlgorithm = null;
 		String pemEncodedPublicKey = null;
 		String keyId = null;
 		String modulus = null;
 		String publicExponent = null;
 
-		String keyType = key.getString(JsonWebKeyConstants.KEY_TYPE_PARAMETER_NAME);
-		if (key.has(JsonWebKeyConstants.ALG_PARAMETER_NAME)) {
-			keyAlgorithm = key.getString(JsonWebKeyConstants.ALG_PARAMETER_NAME);
+		String keyType = key.getAsString(JsonWebKeyConstants.KEY_TYPE_PARAMETER_NAME);
+		if (keyType == null) {
+			throw new JsonParsingException(
+					"JSONObject[\"%s\"] not found.".formatted(JsonWebKeyConstants.KEY_TYPE_PARAMETER_NAME));
+		}
+		if (key.contains(JsonWebKeyConstants.ALG_PARAMETER_NAME)) {
+			keyAlgorithm = key.getAsString(JsonWebKeyConstants.ALG_PARAMETER_NAME);
 		}
-		if (key.has(JsonWebKeyConstants.VALUE_PARAMETER_NAME)) {
-			pemEncodedPublicKey = key.getString(JsonWebKeyConstants.VALUE_PARAMETER_NAME);
+		if (key.contains(JsonWebKeyConstants.VALUE_PARAMETER_NAME)) {
+			pemEncodedPublicKey = key.getAsString(JsonWebKeyConstants.VALUE_PARAMETER_NAME);
 		}
-		if (key.has(JsonWebKeyConstants.KID_PARAMETER_NAME)) {
-			keyId = key.getString(JsonWebKeyConstants.KID_PARAMETER_NAME);
+		if (key.contains(JsonWebKeyConstants.KID_PARAMETER_NAME)) {
+			keyId = key.getAsString(JsonWebKeyConstants.KID_PARAMETER_NAME);
 		}
-		if (key.has(JsonWebKeyConstants.RSA_KEY_MODULUS_PARAMETER_NAME)) {
-			modulus = key.getString(JsonWebKeyConstants.RSA_KEY_MODULUS_PARAMETER_NAME);
+		if (key.contains(JsonWebKeyConstants.RSA_KEY_MODULUS_PARAMETER_NAME)) {
+			modulus = key.getAsString(JsonWebKeyConstants.RSA_KEY_MODULUS_PARAMETER_NAME);
 		}
-		if (key.has(JsonWebKeyConstants.RSA_KEY_PUBLIC_EXPONENT_PARAMETER_NAME)) {
-			publicExponent = key.getString(JsonWebKeyConstants.RSA_KEY_PUBLIC_EXPONENT_PARAMETER_NAME);
+		if (key.contains(JsonWebKeyConstants.RSA_KEY_PUBLIC_EXPONENT_PARAMETER_NAME)) {
+			publicExponent = key.getAsString(JsonWebKeyConstants.RSA_KEY_PUBLIC_EXPONENT_PARAMETER_NAME);
 		}
 		JwtSignatureAlgorithm algorithm = keyAlgorithm != null ? JwtSignatureAlgorithm.fromValue(keyAlgorithm)
 				: JwtSignatureAlgorithm.fromType(keyType);
 
-		return new JsonWebKeyImpl(algorithm, keyId, modulus, publicExponent,
-				pemEncodedPublicKey);
+		return new KeyMaterial(algorithm, keyId, modulus, publicExponent, pemEncodedPublicKey);
+	}
+
+	/**
+	 * SHA-256 over the key material in JWKS order, so that formatting or additional members of the JWKS don't matter.
+	 */
+	private static String fingerprint(List<KeyMaterial> keys) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			for (KeyMaterial key : keys) {
+				update(digest, key.algorithm() != null ? key.algorithm().value() : null);
+				update(digest, key.keyId());
+				update(digest, key.modulus());
+				update(digest, key.publicExponent());
+				update(digest, key.pemEncodedPublicKey());
+			}
+			return Base64.getEncoder().encodeToString(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+		}
+	}
+
+	private static void update(MessageDigest digest, @Nullable String value) {
+		if (value == null) {
+			digest.update((byte) 1);
+		} else {
+			digest.update(value.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+		}
 	}
 
+	private record KeyMaterial(JwtSignatureAlgorithm algorithm, String keyId, String modulus, String publicExponent,
+			String pemEncodedPublicKey) {
+	}
 }
@@ -0,0 +1,89 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.token.validation.validators;
+
+import jakarta.annotation.Nullable;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Writes maps, collections, strings, numbers and booleans as json. Parsing is done with
+ * {@link com.sap.cloud.security.json.JsonObjectProvider}, which doesn't support writing json.
+ */
+final class JsonWriter {
+
+	private JsonWriter() {
+		// use static methods
+	}
+
+	/**
+	 * Writes the given value as json.
+	 *
+	 * @param value
+	 * 		a {@link Map} with string keys, a {@link Collection}, a {@link CharSequence}, {@link Number} or
+	 * 		{@link Boolean}, or {@code null}
+	 * @return the json string
+	 */
+	static String toJson(@Nullable Object value) {
+		StringBuilder json = new StringBuilder();
+		write(json, value);
+		return json.toString();
+	}
+
+	private static void write(StringBuilder json, @Nullable Object value) {
+		if (value == null) {
+			json.append("null");
+		} else if (value instanceof Map<?, ?> map) {
+			json.append('{');
+			String separator = "";
+			for (Map.Entry<?, ?> member : map.entrySet()) {
+				json.append(separator);
+				writeString(json, String.valueOf(member.getKey()));
+				json.append(':');
+				write(json, member.getValue());
+				separator = ",";
+			}
+			json.append('}');
+		} else if (value instanceof Collection<?> collection) {
+			json.append('[');
+			String separator = "";
+			for (Object element : collection) {
+				json.append(separator);
+				write(json, element);
+				separator = ",";
+			}
+			json.append(']');
+		} else if (value instanceof Number || value instanceof Boolean) {
+			json.append(value);
+		} else if (value instanceof CharSequence string) {
+			writeString(json, string);
+		} else {
+			throw new IllegalArgumentException("Can not write " + value.getClass().getName() + " as json.");
+		}
+	}
+
+	private static void writeString(StringBuilder json, CharSequence string) {
+		json.append('"');
+		for (int i = 0; i < string.length(); i++) {
+			char c = string.charAt(i);
+			switch (c) {
+			case '"' -> json.append("\\\"");
+			case '\\' -> json.append("\\\\");
+			case '\n' -> json.append("\\n");
+			case '\r' -> json.append("\\r");
+			case '\t' -> json.append("\\t");
+			default -> {
+				if (c < 0x20) {
+					json.append("\\u%04x".formatted((int) c));
+				} else {
+					json.append(c);
+				}
+			}
+			}
+		}
+		json.append('"');
+	}
+}
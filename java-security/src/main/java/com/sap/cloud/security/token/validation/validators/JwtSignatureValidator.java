@@ -11,9 +11,12 @@ import com.sap.cloud.security.token.validation.ValidationResult;
 import com.sap.cloud.security.token.validation.Validator;
 import com.sap.cloud.security.xsuaa.client.OAuth2ServiceException;
 
+import jakarta.annotation.Nullable;
+import java.nio.ByteBuffer;
 import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
 import java.security.Signature;
+import java.security.SignatureException;
 import java.security.spec.InvalidKeySpecException;
 import java.util.Base64;
 
@@ -44,6 +47,18 @@ abstract class JwtSignatureValidator implements Validator<Token> {
 		this.oidcConfigurationService = oidcConfigurationService;
 	}
 
+	/**
+	 * Loads the token keys that are required to validate tokens of the given issuer and tenant into the cache.
+	 *
+	 * @param issuer
+	 * 		the issuer of the tokens, {@code null} for the issuer of the service configuration
+	 * @param appTid
+	 * 		the tenant id of the tokens, can be {@code null}
+	 * @throws OAuth2ServiceException
+	 * 		in case the token keys could not be retrieved
+	 */
+	abstract void prefetch(@Nullable String issuer, @Nullable String appTid) throws OAuth2ServiceException;
+
 	@Override
 	public ValidationResult validate(Token token) {
 		if (token.getTokenValue() == null) {
@@ -85,36 +100,92 @@ abstract class JwtSignatureValidator implements Validator<Token> {
 			throws OAuth2ServiceException, InvalidKeySpecException, NoSuchAlgorithmException;
 
 	protected ValidationResult validateSignature(Token token, PublicKey publicKey, JwtSignatureAlgorithm algorithm) {
+		// the signing input 'header.payload' and the signature are taken from the token bytes by offset
+		byte[] tokenBytes = token.getTokenValue().getBytes(UTF_8);
+		int payloadEnd = indexOfSignatureSeparator(tokenBytes);
+		int signatureEnd = payloadEnd < 0 ? -1 : indexOf(tokenBytes, payloadEnd + 1);
+		if (payloadEnd < 0 || signatureEnd == payloadEnd + 1 || !onlyDotsFrom(tokenBytes, signatureEnd)) {
+			return createInvalid("Jwt token does not consist of three sections: 'header'.'payload'.'signature'.");
+		}
+
+		// verifiers are reused across tokens, as provider lookup and key initialization are expensive
+		SignatureVerifierPool verifierPool = tokenKeyService.getSignatureVerifierPool();
 		Signature publicSignature;
 		try {
-			publicSignature = Signature.getInstance(algorithm.javaSignature());
+			publicSignature = verifierPool.borrow(publicKey, algorithm);
 		} catch (NoSuchAlgorithmException e) {
 			return createInvalid(
 					"Token signature can not be validated because implementation of algorithm could not be found: {}",
 					e.getMessage());
+		} catch (Exception e) {
+			return createInvalid("Unexpected Error occurred during Json Web Signature Validation: {}.", e.getMessage());
 		}
 
-		String[] tokenSections = token.getTokenValue().split("\\.");
-		if (tokenSections.length != 3) {
-			return createInvalid("Jwt token does not consist of three sections: 'header'.'payload'.'signature'.");
-		}
-
-		String headerAndPayload = tokenSections[0] + "." + tokenSections[1];
-		String signature = tokenSections[2];
 		try {
-			publicSignature.initVerify(publicKey);
-			publicSignature.update(headerAndPayload.getBytes(UTF_8));
-
-			byte[] decodedSignatureBytes = Base64.getUrlDecoder().decode(signature);
-			if (publicSignature.verify(decodedSignatureBytes)) {
+			ByteBuffer decodedSignature = Base64.getUrlDecoder()
+					.decode(ByteBuffer.wrap(tokenBytes, payloadEnd + 1, signatureEnd - payloadEnd - 1));
+			publicSignature.update(tokenBytes, 0, payloadEnd);
+			boolean isValid = verify(publicSignature, decodedSignature);
+			// a completed verify resets the verifier, so that it can be handed back to the pool
+			verifierPool.release(publicKey, algorithm, publicSignature);
+			if (isValid) {
 				return createValid();
 			}
 
 			return createInvalid(
 					"Signature of Jwt Token is not valid: the identity provided by the JSON Web Token Key can not be trusted (Signature: {}).",
-					signature);
+					new String(tokenBytes, payloadEnd + 1, signatureEnd - payloadEnd - 1, UTF_8));
 		} catch (Exception e) {
 			return createInvalid("Unexpected Error occurred during Json Web Signature Validation: {}.", e.getMessage());
 		}
 	}
+
+	/**
+	 * Verifies the remaining bytes of the given signature buffer without copying them.
+	 */
+	static boolean verify(Signature publicSignature, ByteBuffer signature) throws SignatureException {
+		if (!signature.hasArray()) {
+			byte[] signatureBytes = new byte[signature.remaining()];
+			signature.duplicate().get(signatureBytes);
+			return publicSignature.verify(signatureBytes);
+		}
+		return publicSignature.verify(signature.array(), signature.arrayOffset() + signature.position(),
+				signature.remaining());
+	}
+
+	/**
+	 * Returns the index of the dot that separates the payload from the signature section, or -1 if there is none.
+	 */
+	private static int indexOfSignatureSeparator(byte[] tokenBytes) {
+		int headerEnd = indexOf(tokenBytes, 0);
+		if (headerEnd == tokenBytes.length) {
+			return -1;
+		}
+		int payloadEnd = indexOf(tokenBytes, headerEnd + 1);
+		return payloadEnd == tokenBytes.length ? -1 : payloadEnd;
+	}
+
+	/**
+	 * Returns the index of the next dot starting from the given index, or the length of the token if there is none.
+	 */
+	private static int indexOf(byte[] tokenBytes, int fromIndex) {
+		for (int i = fromIndex; i < tokenBytes.length; i++) {
+			if (tokenBytes[i] == '.') {
+				return i;
+			}
+		}
+		return tokenBytes.length;
+	}
+
+	/**
+	 * Trailing dots are tolerated as it was the case with {@code String.split("\\.")}.
+	 */
+	private static boolean onlyDotsFrom(byte[] tokenBytes, int fromIndex) {
+		for (int i = fromIndex; i < tokenBytes.length; i++) {
+			if (tokenBytes[i] != '.') {
+				return false;
+			}
+		}
+		return true;
+	}
 }
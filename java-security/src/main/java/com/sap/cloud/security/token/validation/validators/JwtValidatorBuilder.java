@@ -42,6 +42,10 @@ public class JwtValidatorBuilder {
 	private OAuth2TokenKeyService tokenKeyService = null;
 	private Validator<Token> customAudienceValidator;
 	private CacheConfiguration tokenKeyCacheConfiguration;
+	private long tokenKeyCacheMaximumWeight;
+	private CacheConfiguration validatedTokenCacheConfiguration;
+	private CacheSnapshotStore cacheSnapshotStore;
+	private SecondLevelCache secondLevelCache;
 	private boolean isTenantIdCheckDisabled;
 	private boolean isProofTokenCheckEnabled;
 
@@ -82,7 +86,8 @@ public class JwtValidatorBuilder {
 	}
 
 	/**
-	 * Use to configure the token key cache.
+	 * Use to configure the token key cache. Without a configuration, the validators share the token key cache of
+	 * their identity provider with all other validators of this JVM, see {@link TokenKeyCacheRegistry}.
 	 *
 	 * @param tokenKeyCacheConfiguration
 	 * 		the cache configuration
@@ -93,6 +98,62 @@ public class JwtValidatorBuilder {
 		return this;
 	}
 
+	/**
+	 * Bounds the token key cache by the estimated heap size of the cached token keys instead of their number, see
+	 * {@link OAuth2TokenKeyServiceWithCache#withMaximumWeight(long)}. Like a custom cache configuration, this gives the
+	 * validators a token key cache of their own.
+	 *
+	 * @param maximumWeight
+	 * 		the maximum estimated size of the cached token keys in bytes, at least 1 MiB
+	 * @return this builder
+	 */
+	public JwtValidatorBuilder withCacheMaximumWeight(long maximumWeight) {
+		this.tokenKeyCacheMaximumWeight = maximumWeight;
+		return this;
+	}
+
+	/**
+	 * Enables the cache of successfully validated tokens. Repeated validations of a cached token skip the default
+	 * validators, i.e. the timestamp, issuer, signature and audience checks, whereas custom validators added with
+	 * {@link #with(Validator)} are still applied. Entries are kept until the token expires, but not longer than the
+	 * configured cache duration. The cache is not applied when the proof token check is enabled, as its result depends
+	 * on the client certificate of the request.
+	 *
+	 * @param validatedTokenCacheConfiguration
+	 * 		the cache configuration, {@code null} disables the cache
+	 * @return this builder
+	 */
+	public JwtValidatorBuilder withValidatedTokenCache(@Nullable CacheConfiguration validatedTokenCacheConfiguration) {
+		this.validatedTokenCacheConfiguration = validatedTokenCacheConfiguration;
+		return this;
+	}
+
+	/**
+	 * Enables a snapshot of the retrieved token keys and oidc configurations, which is restored on startup. This way
+	 * the first requests after a (re-)start don't need to request them from the identity service.
+	 *
+	 * @param cacheSnapshotStore
+	 * 		the snapshot store, {@code null} disables the snapshot
+	 * @return this builder
+	 */
+	public JwtValidatorBuilder withCacheSnapshotStore(@Nullable CacheSnapshotStore cacheSnapshotStore) {
+		this.cacheSnapshotStore = cacheSnapshotStore;
+		return this;
+	}
+
+	/**
+	 * Sets a second-level cache, e.g. a distributed cache shared by the instances of an application, that is looked
+	 * up for token keys and oidc configurations before the identity service is requested.
+	 *
+	 * @param secondLevelCache
+	 * 		the second-level cache, {@code null} disables the second-level cache
+	 * @return this builder
+	 */
+	public JwtValidatorBuilder withSecondLevelCache(@Nullable SecondLevelCache secondLevelCache) {
+		this.secondLevelCache = secondLevelCache;
+		return this;
+	}
+
 	/**
 	 * Sets / overwrites the default audience validator.
 	 *
@@ -207,7 +268,13 @@ public class JwtValidatorBuilder {
 	 * @return the combined validators.
 	 */
 	public CombiningValidator<Token> build() {
-		List<Validator<Token>> allValidators = createDefaultValidators();
+		List<Validator<Token>> allValidators = new ArrayList<>();
+		if (isValidatedTokenCacheEnabled()) {
+			allValidators.add(new ValidatedTokenCache(new CombiningValidator<>(createDefaultValidators()),
+					validatedTokenCacheConfiguration));
+		} else {
+			allValidators.addAll(createDefaultValidators());
+		}
 		allValidators.addAll(validators);
 
 		CombiningValidator<Token> combiningValidator = new CombiningValidator<>(allValidators);
@@ -215,21 +282,45 @@ public class JwtValidatorBuilder {
 		return combiningValidator;
 	}
 
+	private boolean isValidatedTokenCacheEnabled() {
+		if (validatedTokenCacheConfiguration == null || validatedTokenCacheConfiguration.isCacheDisabled()) {
+			return false;
+		}
+		if (isProofTokenCheckEnabled) {
+			LOGGER.warn("Validated token cache is not applied as proof token check is enabled.");
+			return false;
+		}
+		return true;
+	}
+
 	private List<Validator<Token>> createDefaultValidators() {
 		List<Validator<Token>> defaultValidators = new ArrayList<>();
 		defaultValidators.add(new JwtTimestampValidator());
 
 		JwtSignatureValidator signatureValidator = null;
-		OAuth2TokenKeyServiceWithCache tokenKeyServiceWithCache = getTokenKeyServiceWithCache();
-		Optional.ofNullable(tokenKeyCacheConfiguration).ifPresent(tokenKeyServiceWithCache::withCacheConfiguration);
+		TokenKeyCacheRegistry.SharedCaches sharedCaches = acquireSharedCaches();
+		OAuth2TokenKeyServiceWithCache tokenKeyServiceWithCache;
+		OidcConfigurationServiceWithCache oidcConfigurationServiceWithCache;
+		if (sharedCaches != null) {
+			tokenKeyServiceWithCache = sharedCaches.getTokenKeyServiceWithCache();
+			oidcConfigurationServiceWithCache = sharedCaches.getOidcConfigurationServiceWithCache();
+		} else {
+			tokenKeyServiceWithCache = getTokenKeyServiceWithCache();
+			Optional.ofNullable(tokenKeyCacheConfiguration)
+					.ifPresent(tokenKeyServiceWithCache::withCacheConfiguration);
+			tokenKeyServiceWithCache.withMaximumWeight(tokenKeyCacheMaximumWeight)
+					.withSecondLevelCache(secondLevelCache);
+			oidcConfigurationServiceWithCache = getOidcConfigurationServiceWithCache()
+					.withSecondLevelCache(secondLevelCache);
+		}
 		if (configuration.getService() == XSUAA) {
 			signatureValidator = new XsuaaJwtSignatureValidator(configuration, tokenKeyServiceWithCache,
-					getOidcConfigurationServiceWithCache());
+					oidcConfigurationServiceWithCache);
 		} else if (configuration.getService() == IAS) {
 			defaultValidators.add(new JwtIssuerValidator(configuration.getDomains()));
 
 			signatureValidator = new SapIdJwtSignatureValidator(configuration, tokenKeyServiceWithCache,
-					getOidcConfigurationServiceWithCache());
+					oidcConfigurationServiceWithCache);
 			if (isTenantIdCheckDisabled) {
 				((SapIdJwtSignatureValidator) signatureValidator).disableTenantIdCheck();
 			}
@@ -238,6 +329,14 @@ public class JwtValidatorBuilder {
 			}
 		}
 
+		if (sharedCaches != null) {
+			if (signatureValidator != null) {
+				sharedCaches.releaseWhenUnreachable(signatureValidator);
+			} else {
+				sharedCaches.release();
+			}
+		}
+
 		defaultValidators.add(signatureValidator);
 		defaultValidators.add(Objects.requireNonNullElseGet(customAudienceValidator, this::createAudienceValidator));
 
@@ -259,7 +358,38 @@ public class JwtValidatorBuilder {
 		return jwtAudienceValidator;
 	}
 
+	/**
+	 * Returns the caches shared with all validators of the identity provider, unless this builder is configured with
+	 * custom services or a custom token key cache configuration or maximum weight.
+	 */
+	@Nullable
+	private TokenKeyCacheRegistry.SharedCaches acquireSharedCaches() {
+		if (tokenKeyService != null || oidcConfigurationService != null || tokenKeyCacheConfiguration != null
+				|| tokenKeyCacheMaximumWeight != 0) {
+			return null;
+		}
+		String identityProvider = getIdentityProvider();
+		return identityProvider != null
+				? TokenKeyCacheRegistry.getInstance().acquire(identityProvider, cacheSnapshotStore, secondLevelCache)
+				: null;
+	}
+
+	@Nullable
+	private String getIdentityProvider() {
+		if (configuration.getService() == XSUAA && configuration.hasProperty(ServiceConstants.XSUAA.UAA_DOMAIN)) {
+			return XSUAA + ":" + configuration.getProperty(ServiceConstants.XSUAA.UAA_DOMAIN);
+		}
+		if (configuration.getService() == IAS && configuration.getUrl() != null) {
+			return IAS + ":" + configuration.getUrl().getHost();
+		}
+		return null;
+	}
+
 	private OAuth2TokenKeyServiceWithCache getTokenKeyServiceWithCache() {
+		if (cacheSnapshotStore != null) {
+			return OAuth2TokenKeyServiceWithCache.getInstance().withTokenKeyService(cacheSnapshotStore
+					.decorate(Objects.requireNonNullElseGet(tokenKeyService, DefaultOAuth2TokenKeyService::new)));
+		}
 		if (tokenKeyService != null) {
 			return OAuth2TokenKeyServiceWithCache.getInstance()
 					.withTokenKeyService(tokenKeyService);
@@ -268,6 +398,11 @@ public class JwtValidatorBuilder {
 	}
 
 	private OidcConfigurationServiceWithCache getOidcConfigurationServiceWithCache() {
+		if (cacheSnapshotStore != null) {
+			return OidcConfigurationServiceWithCache.getInstance().withOidcConfigurationService(cacheSnapshotStore
+					.decorate(Objects.requireNonNullElseGet(oidcConfigurationService,
+							DefaultOidcConfigurationService::new)));
+		}
 		if (oidcConfigurationService != null) {
 			return OidcConfigurationServiceWithCache.getInstance()
 					.withOidcConfigurationService(oidcConfigurationService);
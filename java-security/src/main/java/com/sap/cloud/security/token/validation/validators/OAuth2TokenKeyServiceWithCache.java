@@ -6,7 +6,11 @@
 package com.sap.cloud.security.token.validation.validators;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.github.benmanes.caffeine.cache.Ticker;
 import com.sap.cloud.security.config.CacheConfiguration;
 import com.sap.cloud.security.util.LogSanitizer;
@@ -20,13 +24,23 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.net.URI;
 import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
 import java.security.spec.InvalidKeySpecException;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.sap.cloud.security.xsuaa.Assertions.assertHasText;
 import static com.sap.cloud.security.xsuaa.Assertions.assertNotNull;
@@ -34,14 +48,73 @@ import static com.sap.cloud.security.xsuaa.Assertions.assertNotNull;
 /**
  * Decorates {@link OAuth2TokenKeyService} with a cache, which gets looked up before the identity service is requested
  * via http.
+ * <p>
+ * Cached token keys are refreshed in the background once they are older than {@value #REFRESH_AHEAD_PERCENTAGE}% of
+ * the cache duration, so that requests don't wait for the identity service. In case the refresh fails, the last
+ * retrieved token keys are served for at most {@link #STALE_GRACE_PERIOD} beyond the cache duration while the refresh
+ * is retried with subsequent requests.
+ * <p>
+ * Token keys are cached per JWKS URI and request parameters, e.g. per tenant, but identical key sets are stored only
+ * once: all cache entries with the same key material share one {@link JsonWebKeySet} and its public keys.
+ * <p>
+ * Failed requests and key ids that are not contained in the token keys are remembered for
+ * {@link #NEGATIVE_CACHE_DURATION}. Requests to the identity service for token keys that are not cached yet, e.g. of a
+ * new tenant, and refreshes for unknown key ids are limited per JWKS endpoint to
+ * {@link CacheConfiguration#getMaxRequestsPerSecond()}. This way tokens with arbitrary tenants or key ids can not cause
+ * a flood of requests to the identity service. Requests beyond the limit fail without being remembered, so that they
+ * can be repeated within the next second. Background refreshes of cached token keys and
+ * {@link #prefetchTokenKeys(URI, Map) prefetches} are not limited.
+ * <p>
+ * In case a token refers to a key id that is not contained in the cached token keys, e.g. because the identity service
+ * has rotated its keys, the token keys are requested once more. Concurrent requests wait for this single refresh,
+ * which is done at most once per {@link #MIN_FORCED_REFRESH_INTERVAL} per cache entry.
+ * <p>
+ * In case the identity service allows to cache the token keys longer than the configured cache duration via
+ * {@code Cache-Control: max-age}, background refreshes are skipped until that max-age, limited to
+ * {@link #MAX_CACHE_DURATION}, is reached. Refreshed token keys that equal the cached ones, e.g. because the identity
+ * service answered with {@code 304 Not Modified}, are not parsed again.
+ * <p>
+ * The cache is bounded by its number of entries or, if configured with {@link #withMaximumWeight(long)}, by the
+ * estimated heap size of the cached token keys in bytes.
+ * <p>
+ * Optionally, a {@link SecondLevelCache} is looked up on cache misses and refreshes before the identity service is
+ * requested. Failures of the second-level cache are logged and treated as cache misses.
+ * <p>
+ * Token keys that are already aged when they are cached, e.g. because they were restored from a
+ * {@link CacheSnapshotStore snapshot}, expire and are refreshed relative to the time they were retrieved from the
+ * identity service, as reported by {@link OAuth2TokenKeyService#getAge(URI, Map)}.
  */
 class OAuth2TokenKeyServiceWithCache implements Cacheable {
 	private static final Logger LOGGER = LoggerFactory.getLogger(OAuth2TokenKeyServiceWithCache.class);
+	static final int REFRESH_AHEAD_PERCENTAGE = 75;
+	static final Duration STALE_GRACE_PERIOD = Duration.ofMinutes(5);
+	static final Duration NEGATIVE_CACHE_DURATION = Duration.ofSeconds(10);
+	static final Duration REQUEST_RATE_WINDOW = Duration.ofSeconds(1);
+	static final Duration MIN_FORCED_REFRESH_INTERVAL = Duration.ofSeconds(30);
+	static final Duration MAX_CACHE_DURATION = Duration.ofSeconds(900);
+	static final long MIN_MAXIMUM_WEIGHT = 1024 * 1024;
+	private static final int ENTRY_OVERHEAD = 256;
+	private static final int KEY_OVERHEAD = 512;
+	private static final String SECOND_LEVEL_CACHE_PREFIX = "token_keys ";
 
 	private OAuth2TokenKeyService tokenKeyService;
-	private Cache<String, JsonWebKeySet> cache;
+	private volatile LoadingCache<JwksRequest, JsonWebKeySet> cache;
+	private Cache<JwksRequest, Failure> failedRequests;
+	private Cache<String, Boolean> unknownKeyIds;
+	private Cache<JwksRequest, CompletableFuture<JsonWebKeySet>> forcedRefreshes;
+	private Cache<JwksRequest, Retrieval> retrievals;
+	private FetchRateLimiter requestRateLimiter;
 	private CacheConfiguration cacheConfiguration = TokenKeyCacheConfiguration.defaultConfiguration();
+	private long maximumWeight;
+	private SecondLevelCache secondLevelCache;
 	private Ticker cacheTicker;
+	private Executor refreshExecutor = ForkJoinPool.commonPool();
+	private final SignatureVerifierPool signatureVerifierPool = new SignatureVerifierPool();
+	private final Cache<String, JsonWebKeySet> keySetsByFingerprint = Caffeine.newBuilder().weakValues().build();
+	// number of cache entries that refer to a shared key set
+	private final Map<JsonWebKeySet, Integer> keySetReferences = new ConcurrentHashMap<>();
+	// requests whose cached token keys were already aged when they were cached
+	private final Set<JwksRequest> agedRequests = ConcurrentHashMap.newKeySet();
 
 	private OAuth2TokenKeyServiceWithCache() {
 		// use getInstance factory method
@@ -71,6 +144,22 @@ class OAuth2TokenKeyServiceWithCache implements Cacheable {
 		return instance;
 	}
 
+	/**
+	 * Creates a new instance and sets the cache ticker and the executor that refreshes the cached token keys. This is
+	 * used for testing.
+	 *
+	 * @param cacheTicker
+	 * 		ticker the cache uses to determine time
+	 * @param refreshExecutor
+	 * 		executor that runs the background refresh
+	 * @return the new instance.
+	 */
+	static OAuth2TokenKeyServiceWithCache getInstance(Ticker cacheTicker, Executor refreshExecutor) {
+		OAuth2TokenKeyServiceWithCache instance = getInstance(cacheTicker);
+		instance.refreshExecutor = refreshExecutor;
+		return instance;
+	}
+
 	/**
 	 * Configures the token key cache. Use {@link TokenKeyCacheConfiguration#getInstance(Duration, int, boolean)} to
 	 * pass a custom configuration.
@@ -90,6 +179,53 @@ class OAuth2TokenKeyServiceWithCache implements Cacheable {
 		return this;
 	}
 
+	/**
+	 * Bounds the token key cache by the estimated heap size of its entries instead of their number. The size of an
+	 * entry is estimated from its cache key, the retrieved JWKS and the public keys. As identical key sets are shared
+	 * between entries, the actual heap usage is usually lower than the estimate.
+	 * <p>
+	 * Note that the maximum weight must be at least {@value #MIN_MAXIMUM_WEIGHT} bytes!
+	 *
+	 * @param maximumWeight
+	 * 		the maximum estimated size of all cache entries in bytes, {@code 0} bounds the cache by the cache size of the
+	 * 		cache configuration
+	 * @return this tokenKeyServiceWithCache
+	 */
+	public OAuth2TokenKeyServiceWithCache withMaximumWeight(long maximumWeight) {
+		if (maximumWeight != 0 && maximumWeight < MIN_MAXIMUM_WEIGHT) {
+			LOGGER.error("Tried to set maximum cache weight to {} bytes but it must be {} bytes or more."
+					+ " Maximum cache weight will remain at: {} bytes", maximumWeight, MIN_MAXIMUM_WEIGHT,
+					this.maximumWeight);
+		} else {
+			this.maximumWeight = maximumWeight;
+			LOGGER.debug("Configured token key cache with maximumWeight={} bytes", maximumWeight);
+		}
+		return this;
+	}
+
+	/**
+	 * Returns the maximum estimated size of the cached token keys in bytes.
+	 *
+	 * @return the maximum weight or {@code 0} in case the cache is bounded by the number of entries
+	 */
+	long getMaximumWeight() {
+		return maximumWeight;
+	}
+
+	/**
+	 * Sets a second-level cache, e.g. a distributed cache shared by the instances of an application, that is looked
+	 * up before the identity service is requested. Retrieved token keys are written to the second-level cache with
+	 * the time to live of their refresh. Refreshes that are forced by an unknown key id bypass the second-level cache.
+	 *
+	 * @param secondLevelCache
+	 * 		the second-level cache, {@code null} to request the identity service directly
+	 * @return this tokenKeyServiceWithCache
+	 */
+	public OAuth2TokenKeyServiceWithCache withSecondLevelCache(@Nullable SecondLevelCache secondLevelCache) {
+		this.secondLevelCache = secondLevelCache;
+		return this;
+	}
+
 	/**
 	 * Overwrites the service to be used to request the Json web keys.
 	 *
@@ -152,41 +288,198 @@ class OAuth2TokenKeyServiceWithCache implements Cacheable {
 		assertHasText(keyParameters.keyId(), "keyId must not be null.");
 		assertNotNull(keyParameters.keyUri(), "keyUrl must not be null.");
 
-		// using an array to remember OAuth exceptions in lambda because variable needs to be effectively final
-		OAuth2ServiceException[] oAuthException = new OAuth2ServiceException[1];
-		JsonWebKeySet jwks = getCache().get(cacheKey.toString(), k -> {
-			try {
-				return retrieveTokenKeys(cacheKey, requestParameters);
-			} catch (OAuth2ServiceException e) {
-				oAuthException[0] = e;
-				return null;
-			}
-		});
-
-		if(oAuthException[0] != null) {
-			throw oAuthException[0];
-		}
+		JwksRequest request = new JwksRequest(cacheKey, cacheKey.keyUri(), requestParameters);
+		JsonWebKeySet jwks = getTokenKeys(request);
 
 		if (jwks.getAll().isEmpty()) {
 			LOGGER.error("Retrieved no token keys from {} for the given header parameters.", LogSanitizer.sanitize(keyParameters.keyUri));
 			return null;
 		}
 
-		for (JsonWebKey jwk : jwks.getAll()) {
-			if (keyParameters.keyId.equals(jwk.getId()) && jwk.getKeyAlgorithm().equals(keyParameters.keyAlgorithm)) {
+		JsonWebKey jwk = jwks.getKeyByAlgorithmAndId(keyParameters.keyAlgorithm, keyParameters.keyId);
+		if (jwk != null) {
+			return jwk.getPublicKey();
+		}
+
+		String unknownKeyId = request.cacheKey() + "|kid:" + keyParameters.keyId + "|alg:" + keyParameters.keyAlgorithm;
+		if (unknownKeyIds.getIfPresent(unknownKeyId) == null) {
+			// the identity service might have rotated its keys
+			jwks = refreshTokenKeys(request, jwks);
+			jwk = jwks.getKeyByAlgorithmAndId(keyParameters.keyAlgorithm, keyParameters.keyId);
+			if (jwk != null) {
 				return jwk.getPublicKey();
 			}
 		}
 
-		LOGGER.warn("No matching key found. Cached keys: {}", jwks);
+		if (unknownKeyIds.asMap().putIfAbsent(unknownKeyId, Boolean.TRUE) == null) {
+			LOGGER.warn("No matching key found for kid {}. Cached keys: {}", LogSanitizer.sanitize(keyParameters.keyId),
+					jwks);
+		}
 		throw new IllegalArgumentException("Key with kid " + keyParameters.keyId + " not found in JWKS.");
 	}
 
-	private JsonWebKeySet retrieveTokenKeys(CacheKey cacheKey, Map<String, String> params)
+	/**
+	 * Returns the pool of signature verifiers for the public keys provided by this service. Pooled verifiers of a key
+	 * are dropped as soon as the key gets evicted from the cache or replaced by a refresh.
+	 *
+	 * @return the signature verifier pool
+	 */
+	SignatureVerifierPool getSignatureVerifierPool() {
+		return signatureVerifierPool;
+	}
+
+	/**
+	 * Requests the token keys from the jwks URI of the identity service, unless they are already cached, so that
+	 * subsequent calls of {@link #getPublicKey(KeyParameters, Map)} with the same URI and request parameters are
+	 * served from the cache. The request is not limited by {@link CacheConfiguration#getMaxRequestsPerSecond()}, as
+	 * the prefetched tenants are configured by the application.
+	 *
+	 * @param keyUri
+	 * 		the jwks URI
+	 * @param requestParameters
+	 * 		additional parameters that are sent along with the request
+	 * @throws OAuth2ServiceException
+	 * 		in case the call to the jwks endpoint of the identity service failed.
+	 */
+	void prefetchTokenKeys(URI keyUri, Map<String, String> requestParameters) throws OAuth2ServiceException {
+		assertNotNull(keyUri, "keyUri must not be null.");
+		JwksRequest request = new JwksRequest(new CacheKey(keyUri, requestParameters), keyUri, requestParameters);
+		try {
+			getCache().get(request, r -> {
+				try {
+					return retain(loadTokenKeys(r, false));
+				} catch (OAuth2ServiceException e) {
+					throw new CompletionException(e);
+				}
+			});
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof OAuth2ServiceException oAuth2ServiceException) {
+				throw oAuth2ServiceException;
+			}
+			throw e;
+		}
+	}
+
+	private JsonWebKeySet getTokenKeys(JwksRequest request) throws OAuth2ServiceException {
+		JsonWebKeySet jwks;
+		try {
+			jwks = getCache().get(request);
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof OAuth2ServiceException oAuth2ServiceException) {
+				throw oAuth2ServiceException;
+			}
+			throw e;
+		}
+		if (!agedRequests.isEmpty() && agedRequests.contains(request)) {
+			refreshAgedTokenKeys(request);
+		}
+		return jwks;
+	}
+
+	/**
+	 * Refreshes token keys that were already aged when they were cached in the background once their refresh is due,
+	 * as the cache schedules its refreshes relative to the time the entry was written.
+	 */
+	private void refreshAgedTokenKeys(JwksRequest request) {
+		Retrieval retrieval = retrievals.getIfPresent(request);
+		if ((retrieval == null || cacheTicker.read() - retrieval.refreshAt() >= 0) && agedRequests.remove(request)) {
+			getCache().refresh(request);
+		}
+	}
+
+	/**
+	 * Refreshes the cached token keys unless this was done within the last {@link #MIN_FORCED_REFRESH_INTERVAL}, and
+	 * waits for the refreshed token keys. Concurrent callers share the same refresh.
+	 */
+	private JsonWebKeySet refreshTokenKeys(JwksRequest request, JsonWebKeySet cachedKeys) {
+		CompletableFuture<JsonWebKeySet> refresh = forcedRefreshes.get(request, r -> {
+			// refresh even if the identity service allows to cache the token keys longer
+			// and bypass the second-level cache, which might hold the same token keys
+			retrievals.asMap().compute(r, (k, retrieval) -> new Retrieval(retrieval != null ? retrieval.json() : null,
+					cacheTicker.read(), 0, true));
+			return getCache().refresh(r);
+		});
+		try {
+			return refresh.join();
+		} catch (CompletionException | CancellationException e) {
+			LOGGER.debug("Refreshing the token keys from {} failed: {}", LogSanitizer.sanitize(request.keyUri()),
+					e.getMessage());
+			return cachedKeys;
+		}
+	}
+
+	private JsonWebKeySet loadTokenKeys(JwksRequest request, boolean limited) throws OAuth2ServiceException {
+		Failure failure = failedRequests.getIfPresent(request);
+		if (failure != null && cacheTicker.read() - failure.failedAt() < NEGATIVE_CACHE_DURATION.toNanos()) {
+			throw failure.exception();
+		}
+		String jwksJson = getFromSecondLevelCache(request);
+		if (jwksJson != null) {
+			return toTokenKeys(request, jwksJson, null, null);
+		}
+		if (limited) {
+			// the token might refer to an arbitrary tenant
+			assertRequestRateNotExceeded(request);
+		}
+		try {
+			JsonWebKeySet tokenKeys = retrieveTokenKeys(request, null);
+			failedRequests.invalidate(request);
+			return tokenKeys;
+		} catch (OAuth2ServiceException e) {
+			failedRequests.put(request, new Failure(e, cacheTicker.read()));
+			throw e;
+		}
+	}
+
+	private void assertRequestRateNotExceeded(JwksRequest request) throws OAuth2ServiceException {
+		if (requestRateLimiter != null && !requestRateLimiter.tryAcquire(request.keyUri())) {
+			throw new OAuth2ServiceException("Token keys are not requested from %s: more than %d requests within %d ms."
+					.formatted(LogSanitizer.sanitize(request.keyUri()), getCacheConfiguration().getMaxRequestsPerSecond(),
+							REQUEST_RATE_WINDOW.toMillis()));
+		}
+	}
+
+	private JsonWebKeySet retrieveTokenKeys(JwksRequest request, @Nullable JsonWebKeySet cachedKeys)
 			throws OAuth2ServiceException {
-		String jwksJson = getTokenKeyService().retrieveTokenKeys(cacheKey.keyUri(), params);
+		String jwksJson = getTokenKeyService().retrieveTokenKeys(request.keyUri(), request.requestParameters());
+		Duration age = getTokenKeyService().getAge(request.keyUri(), request.requestParameters());
+		putIntoSecondLevelCache(request, jwksJson, age);
+		return toTokenKeys(request, jwksJson, cachedKeys, age);
+	}
 
-		return JsonWebKeySetFactory.createFromJson(jwksJson);
+	/**
+	 * Parses the given JWKS unless it equals the JWKS of the cached token keys.
+	 */
+	private JsonWebKeySet toTokenKeys(JwksRequest request, String jwksJson, @Nullable JsonWebKeySet cachedKeys,
+			@Nullable Duration age) {
+		long ageInNanos = age != null && age.compareTo(Duration.ZERO) > 0 ? age.toNanos() : 0;
+		Retrieval previous = retrievals.getIfPresent(request);
+		retrievals.put(request, new Retrieval(jwksJson,
+				cacheTicker.read() + getRefreshAheadTime(request).toNanos() - ageInNanos, ageInNanos, false));
+		if (ageInNanos > 0) {
+			agedRequests.add(request);
+		} else {
+			agedRequests.remove(request);
+		}
+
+		if (cachedKeys != null && previous != null && Objects.equals(jwksJson, previous.json())) {
+			return cachedKeys;
+		}
+		return JsonWebKeySetFactory.createFromJson(jwksJson, keySetsByFingerprint);
+	}
+
+	/**
+	 * Returns the time after which the retrieved token keys are refreshed: the configured cache duration or, in case
+	 * the identity service allows to cache them longer, the max-age of the response limited to
+	 * {@link #MAX_CACHE_DURATION}.
+	 */
+	private Duration getRefreshAheadTime(JwksRequest request) {
+		Duration cacheDuration = getCacheConfiguration().getCacheDuration();
+		Duration maxAge = getTokenKeyService().getMaxAge(request.keyUri(), request.requestParameters());
+		if (maxAge != null && maxAge.compareTo(cacheDuration) > 0) {
+			cacheDuration = maxAge.compareTo(MAX_CACHE_DURATION) < 0 ? maxAge : MAX_CACHE_DURATION;
+		}
+		return cacheDuration.multipliedBy(REFRESH_AHEAD_PERCENTAGE).dividedBy(100);
 	}
 
 	private TokenKeyCacheConfiguration getCheckedConfiguration(CacheConfiguration cacheConfiguration) {
@@ -215,21 +508,201 @@ class OAuth2TokenKeyServiceWithCache implements Cacheable {
 					duration.getSeconds(), currentDuration.getSeconds());
 			duration = currentDuration;
 		}
-		return TokenKeyCacheConfiguration.getInstance(duration, size, cacheConfiguration.isCacheStatisticsEnabled());
+		return TokenKeyCacheConfiguration.getInstance(duration, size, cacheConfiguration.isCacheStatisticsEnabled(),
+				cacheConfiguration.getMaxRequestsPerSecond());
+	}
+
+	private LoadingCache<JwksRequest, JsonWebKeySet> getCache() {
+		LoadingCache<JwksRequest, JsonWebKeySet> loadingCache = cache;
+		if (loadingCache == null) {
+			synchronized (this) {
+				loadingCache = cache;
+				if (loadingCache == null) {
+					// the other caches are published along with the volatile token key cache
+					loadingCache = createCache();
+					cache = loadingCache;
+				}
+			}
+		}
+		return loadingCache;
+	}
+
+	private LoadingCache<JwksRequest, JsonWebKeySet> createCache() {
+		Duration cacheDuration = getCacheConfiguration().getCacheDuration();
+		Caffeine<JwksRequest, JsonWebKeySet> cacheBuilder = Caffeine.newBuilder()
+				.ticker(cacheTicker)
+				.executor(refreshExecutor)
+				.refreshAfterWrite(cacheDuration.multipliedBy(REFRESH_AHEAD_PERCENTAGE).dividedBy(100))
+				.expireAfter(Expiry.writing((JwksRequest request, JsonWebKeySet jwks) -> getTimeToLive(request)))
+				.removalListener((JwksRequest key, JsonWebKeySet jwks, RemovalCause cause) -> {
+					if (cause != RemovalCause.REPLACED) {
+						agedRequests.remove(key);
+					}
+					release(jwks);
+				});
+		if (maximumWeight > 0) {
+			cacheBuilder.maximumWeight(maximumWeight).weigher(this::estimateSize);
+		} else {
+			cacheBuilder.maximumSize(getCacheConfiguration().getCacheSize());
+		}
+		if (getCacheConfiguration().isCacheStatisticsEnabled()) {
+			cacheBuilder.recordStats();
+		}
+		failedRequests = Caffeine.newBuilder()
+				.ticker(cacheTicker)
+				.expireAfterWrite(cacheDuration)
+				.maximumSize(getCacheConfiguration().getCacheSize())
+				.build();
+		unknownKeyIds = Caffeine.newBuilder()
+				.ticker(cacheTicker)
+				.expireAfterWrite(NEGATIVE_CACHE_DURATION)
+				.maximumSize(getCacheConfiguration().getCacheSize())
+				.build();
+		forcedRefreshes = Caffeine.newBuilder()
+				.ticker(cacheTicker)
+				.expireAfterWrite(MIN_FORCED_REFRESH_INTERVAL)
+				.maximumSize(getCacheConfiguration().getCacheSize())
+				.build();
+		retrievals = Caffeine.newBuilder()
+				.ticker(cacheTicker)
+				.expireAfterWrite(MAX_CACHE_DURATION.plus(STALE_GRACE_PERIOD))
+				.maximumSize(getCacheConfiguration().getCacheSize())
+				.build();
+		int maxRequestsPerSecond = getCacheConfiguration().getMaxRequestsPerSecond();
+		requestRateLimiter = maxRequestsPerSecond > 0
+				? new FetchRateLimiter(maxRequestsPerSecond, REQUEST_RATE_WINDOW, cacheTicker)
+				: null;
+		return cacheBuilder.build(new CacheLoader<>() {
+			@Override
+			public JsonWebKeySet load(JwksRequest request) throws OAuth2ServiceException {
+				return retain(loadTokenKeys(request, true));
+			}
+
+			@Override
+			public JsonWebKeySet reload(JwksRequest request, JsonWebKeySet oldValue)
+					throws OAuth2ServiceException {
+				JsonWebKeySet jwks = reloadTokenKeys(request, oldValue);
+				// the cache doesn't notify the removal of a value that is replaced by itself
+				return jwks != oldValue ? retain(jwks) : jwks;
+			}
+		});
+	}
+
+	/**
+	 * Returns the time to live of the cached token keys: the cache duration plus {@link #STALE_GRACE_PERIOD}, reduced
+	 * by the age the token keys already had when they were cached.
+	 */
+	private Duration getTimeToLive(JwksRequest request) {
+		Duration timeToLive = getCacheConfiguration().getCacheDuration().plus(STALE_GRACE_PERIOD);
+		Retrieval retrieval = retrievals.getIfPresent(request);
+		if (retrieval != null && retrieval.age() > 0) {
+			timeToLive = timeToLive.minusNanos(retrieval.age());
+		}
+		return timeToLive.isNegative() ? Duration.ZERO : timeToLive;
 	}
 
-	private Cache<String, JsonWebKeySet> getCache() {
-		if (cache == null) {
-			Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder()
-					.ticker(cacheTicker)
-					.expireAfterWrite(getCacheConfiguration().getCacheDuration())
-					.maximumSize(getCacheConfiguration().getCacheSize());
-			if (getCacheConfiguration().isCacheStatisticsEnabled()) {
-				cacheBuilder.recordStats();
+	private JsonWebKeySet reloadTokenKeys(JwksRequest request, JsonWebKeySet oldValue) throws OAuth2ServiceException {
+		Retrieval retrieval = retrievals.getIfPresent(request);
+		if (retrieval != null && cacheTicker.read() - retrieval.refreshAt() < 0) {
+			// the identity service allows to cache the token keys longer
+			return oldValue;
+		}
+		if (retrieval == null || !retrieval.forced()) {
+			String jwksJson = getFromSecondLevelCache(request);
+			if (jwksJson != null) {
+				return toTokenKeys(request, jwksJson, oldValue, null);
+			}
+		}
+		// a failed refresh is not remembered, as the cached token keys are served meanwhile
+		if (retrieval != null && retrieval.forced()) {
+			// the token refers to a key id that is not contained in the cached token keys
+			assertRequestRateNotExceeded(request);
+		}
+		return retrieveTokenKeys(request, oldValue);
+	}
+
+	/**
+	 * Estimates the heap size of a cache entry in bytes: the strings of the cache key and request parameters, the JWKS
+	 * retrieved for the entry and the parsed public keys.
+	 */
+	private int estimateSize(JwksRequest request, JsonWebKeySet jwks) {
+		long size = ENTRY_OVERHEAD + 2L * request.cacheKey().toString().length();
+		for (Map.Entry<String, String> parameter : request.requestParameters().entrySet()) {
+			String value = parameter.getValue();
+			size += 2L * (parameter.getKey().length() + (value != null ? value.length() : 0));
+		}
+		Retrieval retrieval = retrievals.getIfPresent(request);
+		if (retrieval != null && retrieval.json() != null) {
+			size += 2L * retrieval.json().length();
+		}
+		for (JsonWebKey jwk : jwks.getAll()) {
+			size += KEY_OVERHEAD + (jwk.getId() != null ? 2L * jwk.getId().length() : 0);
+			try {
+				size += jwk.getPublicKey().getEncoded().length;
+			} catch (NoSuchAlgorithmException | InvalidKeySpecException | RuntimeException e) {
+				// the key can't be used, so there is no public key to account for
+			}
+		}
+		return (int) Math.min(size, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Counts a cache entry that refers to the given key set.
+	 */
+	private JsonWebKeySet retain(JsonWebKeySet jwks) {
+		keySetReferences.merge(jwks, 1, Integer::sum);
+		return jwks;
+	}
+
+	/**
+	 * Releases a cache entry that referred to the given key set and drops the signature verifiers of its keys, unless
+	 * the key set is still shared with the entries of other tenants.
+	 */
+	private void release(@Nullable JsonWebKeySet jwks) {
+		if (jwks != null && keySetReferences.computeIfPresent(jwks,
+				(k, references) -> references > 1 ? references - 1 : null) == null) {
+			invalidateSignatureVerifiers(jwks);
+		}
+	}
+
+	private void invalidateSignatureVerifiers(JsonWebKeySet jwks) {
+		for (JsonWebKey jwk : jwks.getAll()) {
+			try {
+				signatureVerifierPool.invalidate(jwk.getPublicKey());
+			} catch (NoSuchAlgorithmException | InvalidKeySpecException | RuntimeException e) {
+				LOGGER.debug("No signature verifiers to drop for key {}: {}", jwk, e.getMessage());
 			}
-			cache = cacheBuilder.build();
 		}
-		return cache;
+	}
+
+	@Nullable
+	private String getFromSecondLevelCache(JwksRequest request) {
+		if (secondLevelCache == null) {
+			return null;
+		}
+		try {
+			return secondLevelCache.get(SECOND_LEVEL_CACHE_PREFIX + request.cacheKey().toString());
+		} catch (RuntimeException e) {
+			LOGGER.warn("Could not read token keys of {} from second-level cache: {}",
+					LogSanitizer.sanitize(request.keyUri()), e.getMessage());
+			return null;
+		}
+	}
+
+	private void putIntoSecondLevelCache(JwksRequest request, String jwksJson, @Nullable Duration age) {
+		if (secondLevelCache == null) {
+			return;
+		}
+		Duration timeToLive = age != null ? getRefreshAheadTime(request).minus(age) : getRefreshAheadTime(request);
+		if (timeToLive.compareTo(Duration.ZERO) <= 0) {
+			return;
+		}
+		try {
+			secondLevelCache.put(SECOND_LEVEL_CACHE_PREFIX + request.cacheKey().toString(), jwksJson, timeToLive);
+		} catch (RuntimeException e) {
+			LOGGER.warn("Could not write token keys of {} to second-level cache: {}",
+					LogSanitizer.sanitize(request.keyUri()), e.getMessage());
+		}
 	}
 
 	private OAuth2TokenKeyService getTokenKeyService() {
@@ -249,7 +722,14 @@ class OAuth2TokenKeyServiceWithCache implements Cacheable {
 	public void clearCache() {
 		if (cache != null) {
 			cache.invalidateAll();
+			failedRequests.invalidateAll();
+			unknownKeyIds.invalidateAll();
+			forcedRefreshes.invalidateAll();
+			retrievals.invalidateAll();
 		}
+		agedRequests.clear();
+		keySetsByFingerprint.invalidateAll();
+		signatureVerifierPool.invalidateAll();
 	}
 
 	@Override
@@ -257,18 +737,97 @@ class OAuth2TokenKeyServiceWithCache implements Cacheable {
 		return getCacheConfiguration().isCacheStatisticsEnabled() ? getCache().stats() : null;
 	}
 
-	record CacheKey(URI keyUri, Map<String, String> params) {
+	/**
+	 * Identifies the token keys of a JWKS URI and the parameters that select them, e.g. the tenant. Parameters with
+	 * {@code null} values are ignored. The key is immutable and computes its hash code once, so that validators can
+	 * keep it for subsequent tokens and the cache lookup doesn't need to build a string.
+	 */
+	static final class CacheKey {
+		private final URI keyUri;
+		private final Map<String, String> params;
+		private final int hashCode;
+		private String string;
+
+		CacheKey(URI keyUri, Map<String, String> params) {
+			assertNotNull(keyUri, "keyUri must not be null.");
+			Map<String, String> nonNullParams = new LinkedHashMap<>(params.size(), 1);
+			params.forEach((name, value) -> {
+				if (value != null) {
+					nonNullParams.put(name, value);
+				}
+			});
+			this.keyUri = keyUri;
+			this.params = Collections.unmodifiableMap(nonNullParams);
+			this.hashCode = 31 * keyUri.hashCode() + this.params.hashCode();
+		}
+
+		URI keyUri() {
+			return keyUri;
+		}
+
+		Map<String, String> params() {
+			return params;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o == this || o instanceof CacheKey that && hashCode == that.hashCode && keyUri.equals(that.keyUri)
+					&& params.equals(that.params);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
 		@Override
 		public String toString() {
-			// e.g. app_tid:<app_tid>|client_id:<client_id>|azp:<azp>
-			String paramString = params.entrySet().stream()
-					.filter(e -> e.getValue() != null)
-					.map(e -> e.getKey() + ":" + e.getValue())
-					.collect(Collectors.joining("|"));
+			if (string == null) {
+				// e.g. url:<url>|app_tid:<app_tid>|client_id:<client_id>|azp:<azp>
+				StringBuilder builder = new StringBuilder("url:").append(keyUri).append('|');
+				String separator = "";
+				for (Map.Entry<String, String> param : params.entrySet()) {
+					builder.append(separator).append(param.getKey()).append(':').append(param.getValue());
+					separator = "|";
+				}
+				string = builder.toString();
+			}
+			return string;
+		}
+	}
+
+	/**
+	 * Key of the token key cache. Only the cache key identifies an entry, the request parameters are kept to refresh
+	 * the entry in the background.
+	 */
+	private record JwksRequest(CacheKey cacheKey, URI keyUri, Map<String, String> requestParameters) {
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof JwksRequest that && cacheKey.equals(that.cacheKey);
+		}
 
-			// e.g. url:<url>|app_tid:<app_tid>|client_id:<client_id>|azp:<azp>
-			return "url:%s|%s".formatted(keyUri, paramString);
+		@Override
+		public int hashCode() {
+			return cacheKey.hashCode();
 		}
+
+		@Override
+		public String toString() {
+			return cacheKey.toString();
+		}
+	}
+
+	/**
+	 * The JWKS retrieved last for a request, the ticker time at which it is to be refreshed and the age in nanoseconds
+	 * it already had when it was retrieved. {@code forced} marks a refresh that must request the identity service.
+	 */
+	private record Retrieval(@Nullable String json, long refreshAt, long age, boolean forced) {
+	}
+
+	/**
+	 * A failed request and the ticker time at which it failed.
+	 */
+	private record Failure(OAuth2ServiceException exception, long failedAt) {
 	}
 
 	record KeyParameters(JwtSignatureAlgorithm keyAlgorithm, String keyId, URI keyUri) {
@@ -5,15 +5,25 @@
  */
 package com.sap.cloud.security.token.validation.validators;
 
-import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
 import com.sap.cloud.security.xsuaa.client.DefaultOidcConfigurationService;
 import com.sap.cloud.security.xsuaa.client.OAuth2ServiceEndpointsProvider;
 import com.sap.cloud.security.xsuaa.client.OAuth2ServiceException;
 import com.sap.cloud.security.xsuaa.client.OidcConfigurationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import jakarta.annotation.Nullable;
 import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 
 import static com.sap.cloud.security.xsuaa.Assertions.assertNotNull;
@@ -21,13 +31,32 @@ import static com.sap.cloud.security.xsuaa.Assertions.assertNotNull;
 /**
  * Decorates {@link OidcConfigurationService} with a cache, which gets looked up before the identity service is
  * requested via http.
+ * <p>
+ * Concurrent requests for the same discovery endpoint wait for a single request to the identity service. Cached
+ * endpoints are refreshed in the background once {@value #REFRESH_AHEAD_PERCENTAGE}% of the cache time has elapsed,
+ * while the previous endpoints are still served.
+ * <p>
+ * Optionally, a {@link SecondLevelCache} is looked up before the identity service is requested. Failures of the
+ * second-level cache are logged and treated as cache misses.
+ * <p>
+ * Endpoints that are already aged when they are cached, e.g. because they were restored from a
+ * {@link CacheSnapshotStore snapshot}, expire relative to the time they were retrieved from the identity service, as
+ * reported by {@link OidcConfigurationService#getAge(URI)}.
  */
 public class OidcConfigurationServiceWithCache {
+	private static final Logger LOGGER = LoggerFactory.getLogger(OidcConfigurationServiceWithCache.class);
+	private static final String SECOND_LEVEL_CACHE_PREFIX = "endpoints ";
 	private OidcConfigurationService oidcConfigurationService; // access via getter
-	private Cache<String, OAuth2ServiceEndpointsProvider> cache;
+	private volatile LoadingCache<URI, OAuth2ServiceEndpointsProvider> cache;
 	private long cacheValidityInSeconds = 600; // old keys should expire after 10 minutes
 	private static final long MAX_CACHE_VALIDITY_IN_SECONDS = 900; // time-to-live shouldn't exceed 15 minutes
 	private long cacheSize = 1000;
+	static final int REFRESH_AHEAD_PERCENTAGE = 75;
+	private Ticker cacheTicker = Ticker.systemTicker();
+	private Executor refreshExecutor = ForkJoinPool.commonPool();
+	private SecondLevelCache secondLevelCache;
+	// age of loaded endpoints that were already aged, until they are written to the cache
+	private final Map<URI, Duration> endpointAges = new ConcurrentHashMap<>();
 
 	private OidcConfigurationServiceWithCache() {
 		// use getInstance factory method
@@ -42,6 +71,23 @@ public class OidcConfigurationServiceWithCache {
 		return new OidcConfigurationServiceWithCache();
 	}
 
+	/**
+	 * Creates a new instance and sets the cache ticker and the executor that refreshes the cached endpoints. This is
+	 * used for testing.
+	 *
+	 * @param cacheTicker
+	 * 		ticker the cache uses to determine time
+	 * @param refreshExecutor
+	 * 		executor that runs the background refresh
+	 * @return the new instance.
+	 */
+	static OidcConfigurationServiceWithCache getInstance(Ticker cacheTicker, Executor refreshExecutor) {
+		OidcConfigurationServiceWithCache instance = new OidcConfigurationServiceWithCache();
+		instance.cacheTicker = cacheTicker;
+		instance.refreshExecutor = refreshExecutor;
+		return instance;
+	}
+
 	/**
 	 * Overwrites the service to be used to request the oidc configuration.
 	 *
@@ -55,6 +101,20 @@ public class OidcConfigurationServiceWithCache {
 		return this;
 	}
 
+	/**
+	 * Sets a second-level cache, e.g. a distributed cache shared by the instances of an application, that is looked
+	 * up before the identity service is requested. Retrieved endpoints are written to the second-level cache until
+	 * their refresh is due.
+	 *
+	 * @param secondLevelCache
+	 * 		the second-level cache, {@code null} to request the identity service directly
+	 * @return this
+	 */
+	public OidcConfigurationServiceWithCache withSecondLevelCache(@Nullable SecondLevelCache secondLevelCache) {
+		this.secondLevelCache = secondLevelCache;
+		return this;
+	}
+
 	/**
 	 * Caches the Json web keys. Overwrite the cache time (default: 900 seconds).
 	 *
@@ -98,26 +158,88 @@ public class OidcConfigurationServiceWithCache {
 	public OAuth2ServiceEndpointsProvider getOrRetrieveEndpoints(URI discoveryEndpointUri)
 			throws OAuth2ServiceException {
 		assertNotNull(discoveryEndpointUri, "discoveryEndpointUri must not be null.");
-		String cacheKey = discoveryEndpointUri.toString();
-		OAuth2ServiceEndpointsProvider endpointsProvider = getCache().getIfPresent(cacheKey);
-		if (endpointsProvider == null) {
-			endpointsProvider = getOidcConfigurationService().retrieveEndpoints(discoveryEndpointUri);
-			if (endpointsProvider == null) {
-				return null;
+		try {
+			return getCache().get(discoveryEndpointUri);
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof OAuth2ServiceException oAuth2ServiceException) {
+				throw oAuth2ServiceException;
+			}
+			throw e;
+		}
+	}
+
+	private LoadingCache<URI, OAuth2ServiceEndpointsProvider> getCache() {
+		LoadingCache<URI, OAuth2ServiceEndpointsProvider> loadingCache = cache;
+		if (loadingCache == null) {
+			synchronized (this) {
+				loadingCache = cache;
+				if (loadingCache == null) {
+					loadingCache = Caffeine.newBuilder()
+							.ticker(cacheTicker)
+							.executor(refreshExecutor)
+							.refreshAfterWrite(cacheValidityInSeconds * REFRESH_AHEAD_PERCENTAGE / 100, TimeUnit.SECONDS)
+							.expireAfter(Expiry.writing((URI discoveryEndpointUri,
+									OAuth2ServiceEndpointsProvider endpoints) -> getTimeToLive(discoveryEndpointUri)))
+							.maximumSize(cacheSize)
+							.build(this::loadEndpoints);
+					cache = loadingCache;
+				}
 			}
-			getCache().put(cacheKey, endpointsProvider);
 		}
-		return getCache().getIfPresent(cacheKey);
+		return loadingCache;
 	}
 
-	private Cache<String, OAuth2ServiceEndpointsProvider> getCache() {
-		if (cache == null) {
-			cache = Caffeine.newBuilder()
-					.expireAfterWrite(cacheValidityInSeconds, TimeUnit.SECONDS)
-					.maximumSize(cacheSize)
-					.build();
+	/**
+	 * Returns the cache validity, reduced by the age the endpoints already had when they were loaded.
+	 */
+	private Duration getTimeToLive(URI discoveryEndpointUri) {
+		Duration timeToLive = Duration.ofSeconds(cacheValidityInSeconds);
+		Duration age = endpointAges.remove(discoveryEndpointUri);
+		if (age != null) {
+			timeToLive = timeToLive.minus(age);
+		}
+		return timeToLive.isNegative() ? Duration.ZERO : timeToLive;
+	}
+
+	@Nullable
+	private OAuth2ServiceEndpointsProvider loadEndpoints(URI discoveryEndpointUri) throws OAuth2ServiceException {
+		if (secondLevelCache == null) {
+			return retrieveEndpoints(discoveryEndpointUri);
+		}
+		String key = SECOND_LEVEL_CACHE_PREFIX + discoveryEndpointUri;
+		try {
+			String serializedEndpoints = secondLevelCache.get(key);
+			if (serializedEndpoints != null) {
+				return SerializedEndpoints.parse(serializedEndpoints);
+			}
+		} catch (RuntimeException e) {
+			LOGGER.warn("Could not read endpoints of {} from second-level cache: {}", discoveryEndpointUri,
+					e.getMessage());
+		}
+		OAuth2ServiceEndpointsProvider endpoints = retrieveEndpoints(discoveryEndpointUri);
+		Duration timeToLive = Duration.ofSeconds(cacheValidityInSeconds * REFRESH_AHEAD_PERCENTAGE / 100)
+				.minus(endpointAges.getOrDefault(discoveryEndpointUri, Duration.ZERO));
+		if (endpoints != null && timeToLive.compareTo(Duration.ZERO) > 0) {
+			try {
+				secondLevelCache.put(key, SerializedEndpoints.of(endpoints).toJson(), timeToLive);
+			} catch (RuntimeException e) {
+				LOGGER.warn("Could not write endpoints of {} to second-level cache: {}", discoveryEndpointUri,
+						e.getMessage());
+			}
+		}
+		return endpoints;
+	}
+
+	@Nullable
+	private OAuth2ServiceEndpointsProvider retrieveEndpoints(URI discoveryEndpointUri) throws OAuth2ServiceException {
+		OAuth2ServiceEndpointsProvider endpoints = getOidcConfigurationService().retrieveEndpoints(discoveryEndpointUri);
+		Duration age = getOidcConfigurationService().getAge(discoveryEndpointUri);
+		if (endpoints != null && age != null && age.compareTo(Duration.ZERO) > 0) {
+			endpointAges.put(discoveryEndpointUri, age);
+		} else {
+			endpointAges.remove(discoveryEndpointUri);
 		}
-		return cache;
+		return endpoints;
 	}
 
 	private OidcConfigurationService getOidcConfigurationService() {
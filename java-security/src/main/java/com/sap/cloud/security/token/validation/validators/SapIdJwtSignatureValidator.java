@@ -1,5 +1,7 @@
 package com.sap.cloud.security.token.validation.validators;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.sap.cloud.security.config.OAuth2ServiceConfiguration;
 import com.sap.cloud.security.token.SecurityContext;
 import com.sap.cloud.security.token.Token;
@@ -12,10 +14,12 @@ import com.sap.cloud.security.xsuaa.client.OAuth2ServiceException;
 import com.sap.cloud.security.xsuaa.http.HttpHeaders;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.net.URI;
 import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
 import java.security.spec.InvalidKeySpecException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -27,9 +31,22 @@ import static com.sap.cloud.security.token.validation.validators.JsonWebKeyConst
  * called after validating the token's issuer claim via {@link JwtIssuerValidator} first.
  */
 class SapIdJwtSignatureValidator extends JwtSignatureValidator {
+	static final int MAX_CACHED_REQUESTS = 1000;
+
 	private boolean isTenantIdCheckEnabled = true;
 	private boolean isProofTokenValidationEnabled = false;
 
+	/*
+	 * The discovery endpoint per issuer and the request parameters per JWKS URI, tenant and azp, so that they aren't
+	 * composed again for each token. The JWKS URI itself is looked up in the oidc configuration cache, which refreshes it.
+	 */
+	private final Cache<String, URI> discoveryUrisByIssuer = Caffeine.newBuilder()
+			.maximumSize(MAX_CACHED_REQUESTS)
+			.build();
+	private final Cache<TokenKeysRequestKey, TokenKeysRequest> tokenKeysRequests = Caffeine.newBuilder()
+			.maximumSize(MAX_CACHED_REQUESTS)
+			.build();
+
 	SapIdJwtSignatureValidator(OAuth2ServiceConfiguration configuration, OAuth2TokenKeyServiceWithCache tokenKeyService,
 			OidcConfigurationServiceWithCache oidcConfigurationService) {
 		super(configuration, tokenKeyService, oidcConfigurationService);
@@ -65,12 +82,11 @@ class SapIdJwtSignatureValidator extends JwtSignatureValidator {
 		OAuth2TokenKeyServiceWithCache.KeyParameters keyParams = new OAuth2TokenKeyServiceWithCache.KeyParameters(
 				algorithm, keyId, getJwksUri(token));
 
-		Map<String, String> requestParams = new HashMap<>(3, 1);
-		OAuth2TokenKeyServiceWithCache.CacheKey cacheKey;
+		TokenKeysRequest tokenKeysRequest = getTokenKeysRequest(keyParams.keyUri(), token.getAppTid(),
+				token.getClaimAsString(TokenClaims.AUTHORIZATION_PARTY));
+		Map<String, String> requestParams = tokenKeysRequest.requestParameters();
+		OAuth2TokenKeyServiceWithCache.CacheKey cacheKey = tokenKeysRequest.cacheKey();
 
-		requestParams.put(HttpHeaders.X_APP_TID, token.getAppTid());
-		requestParams.put(HttpHeaders.X_CLIENT_ID, configuration.getClientId());
-		requestParams.put(HttpHeaders.X_AZP, token.getClaimAsString(TokenClaims.AUTHORIZATION_PARTY));
 		if (isProofTokenValidationEnabled && !token.hasClaim(TokenClaims.IAS_APIS)) {
 			X509Certificate cert = (X509Certificate) SecurityContext.getClientCertificate();
 
@@ -78,14 +94,13 @@ class SapIdJwtSignatureValidator extends JwtSignatureValidator {
 				throw new OAuth2ServiceException("Client certificate for proof token validation could not be read from 'x-forwarded-client-cert' header.");
 			} else {
 				Map<String, String> cacheKeyParams = new HashMap<>(requestParams);
+				requestParams = new HashMap<>(requestParams);
 
 				requestParams.put(HttpHeaders.X_CLIENT_CERT, cert.getPEM());
 				cacheKeyParams.put(X509Constants.FWD_CLIENT_CERT_SUB, cert.getSubjectDN());
 
 				cacheKey = new OAuth2TokenKeyServiceWithCache.CacheKey(keyParams.keyUri(), cacheKeyParams);
 			}
-		} else {
-			cacheKey = new OAuth2TokenKeyServiceWithCache.CacheKey(keyParams.keyUri(), requestParams);
 		}
 
 		try {
@@ -95,6 +110,40 @@ class SapIdJwtSignatureValidator extends JwtSignatureValidator {
 		}
 	}
 
+	/**
+	 * Prefetches the token keys for tokens of the given issuer and tenant that were issued to this application, i.e.
+	 * whose {@code azp} claim is the client id of the service configuration.
+	 */
+	@Override
+	void prefetch(@Nullable String issuer, @Nullable String appTid) throws OAuth2ServiceException {
+		String domain = issuer != null ? issuer : String.valueOf(configuration.getUrl());
+		tokenKeyService.prefetchTokenKeys(getOidcJwksUri(domain),
+				getRequestParameters(appTid, configuration.getClientId()));
+	}
+
+	/**
+	 * Returns the request parameters and cache key for the token keys of the given JWKS URI, tenant and azp.
+	 */
+	private TokenKeysRequest getTokenKeysRequest(URI jwksUri, @Nullable String appTid, @Nullable String azp) {
+		TokenKeysRequestKey key = new TokenKeysRequestKey(jwksUri, appTid, azp);
+		TokenKeysRequest tokenKeysRequest = tokenKeysRequests.getIfPresent(key);
+		if (tokenKeysRequest == null) {
+			Map<String, String> requestParams = Collections.unmodifiableMap(getRequestParameters(appTid, azp));
+			tokenKeysRequest = new TokenKeysRequest(requestParams,
+					new OAuth2TokenKeyServiceWithCache.CacheKey(jwksUri, requestParams));
+			tokenKeysRequests.put(key, tokenKeysRequest);
+		}
+		return tokenKeysRequest;
+	}
+
+	private Map<String, String> getRequestParameters(@Nullable String appTid, @Nullable String azp) {
+		Map<String, String> requestParams = new HashMap<>(3, 1);
+		requestParams.put(HttpHeaders.X_APP_TID, appTid);
+		requestParams.put(HttpHeaders.X_CLIENT_ID, configuration.getClientId());
+		requestParams.put(HttpHeaders.X_AZP, azp);
+		return requestParams;
+	}
+
 	private URI getJwksUri(Token token) throws OAuth2ServiceException {
 		String domain = token.getIssuer();
 		if (domain == null) {
@@ -121,7 +170,7 @@ class SapIdJwtSignatureValidator extends JwtSignatureValidator {
 	 */
 	@Nonnull
 	private URI getOidcJwksUri(String domain) throws OAuth2ServiceException {
-		URI discoveryUri = DefaultOidcConfigurationService.getDiscoveryEndpointUri(domain);
+		URI discoveryUri = discoveryUrisByIssuer.get(domain, DefaultOidcConfigurationService::getDiscoveryEndpointUri);
 		if (discoveryUri == null) {
 			throw new IllegalArgumentException("OIDC .well-known discovery URI could not be constructed.");
 		}
@@ -139,4 +188,11 @@ class SapIdJwtSignatureValidator extends JwtSignatureValidator {
 
 		return jkuUri;
 	}
+
+	private record TokenKeysRequestKey(URI jwksUri, @Nullable String appTid, @Nullable String azp) {
+	}
+
+	private record TokenKeysRequest(Map<String, String> requestParameters,
+			OAuth2TokenKeyServiceWithCache.CacheKey cacheKey) {
+	}
 }
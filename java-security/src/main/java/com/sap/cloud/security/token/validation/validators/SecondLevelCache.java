@@ -0,0 +1,51 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.token.validation.validators;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.time.Duration;
+
+/**
+ * Second-level cache for token keys (JWKS) and OIDC discovery endpoints, which is shared by several application
+ * instances, e.g. backed by Redis. The token key and oidc configuration caches look up their in-memory cache first,
+ * then this cache and only then request the identity service. Retrieved token keys and endpoints are put into this
+ * cache, so that other instances don't need to request them again.
+ * <p>
+ * Only public data is stored: token keys, endpoint URIs and, as part of the keys, tenant and client ids.
+ * Implementations must be thread-safe. They should not throw exceptions; runtime exceptions are logged and treated
+ * like a cache miss.
+ * <p>
+ * {@link InMemorySecondLevelCache} is an in-process reference implementation. Implementations can be verified with the
+ * {@code SecondLevelCacheContractTest} of the java-security-test module.
+ *
+ * @see JwtValidatorBuilder#withSecondLevelCache(SecondLevelCache)
+ */
+public interface SecondLevelCache {
+
+	/**
+	 * Returns the cached value.
+	 *
+	 * @param key
+	 * 		the key
+	 * @return the value or {@code null} in case there is no value or its time to live has elapsed
+	 */
+	@Nullable
+	String get(@Nonnull String key);
+
+	/**
+	 * Caches the value. An existing value of the key is replaced.
+	 *
+	 * @param key
+	 * 		the key
+	 * @param value
+	 * 		the value
+	 * @param timeToLive
+	 * 		how long the value may be returned by {@link #get(String)}; values with a time to live of zero or less are not
+	 * 		cached
+	 */
+	void put(@Nonnull String key, @Nonnull String value, @Nonnull Duration timeToLive);
+}
@@ -0,0 +1,124 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.token.validation.validators;
+
+import com.sap.cloud.security.json.JsonObject;
+import com.sap.cloud.security.json.JsonObjectProvider;
+import com.sap.cloud.security.json.JsonParsingException;
+import com.sap.cloud.security.xsuaa.client.OAuth2ServiceEndpointsProvider;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * OIDC discovery endpoints that are stored outside of the caches as JSON, e.g. in a snapshot file or a second-level
+ * cache. Like the endpoints of a discovery document, an endpoint that is missing fails only when it is accessed.
+ */
+record SerializedEndpoints(Map<String, String> endpoints) implements OAuth2ServiceEndpointsProvider {
+	static final String TOKEN_ENDPOINT = "token_endpoint";
+	static final String AUTHORIZATION_ENDPOINT = "authorization_endpoint";
+	static final String JWKS_URI = "jwks_uri";
+	private static final List<String> ENDPOINT_NAMES = List.of(TOKEN_ENDPOINT, AUTHORIZATION_ENDPOINT, JWKS_URI);
+
+	SerializedEndpoints {
+		endpoints = Collections.unmodifiableMap(new LinkedHashMap<>(endpoints));
+	}
+
+	/**
+	 * Serializes the available endpoints of the given endpoints provider.
+	 *
+	 * @param endpointsProvider
+	 * 		the endpoints provider
+	 * @return the endpoints
+	 */
+	static SerializedEndpoints of(OAuth2ServiceEndpointsProvider endpointsProvider) {
+		Map<String, String> endpoints = new LinkedHashMap<>();
+		putEndpoint(endpoints, TOKEN_ENDPOINT, endpointsProvider::getTokenEndpoint);
+		putEndpoint(endpoints, AUTHORIZATION_ENDPOINT, endpointsProvider::getAuthorizeEndpoint);
+		putEndpoint(endpoints, JWKS_URI, endpointsProvider::getJwksUri);
+		return new SerializedEndpoints(endpoints);
+	}
+
+	/**
+	 * Reads the endpoints of the given JSON object, other members are ignored.
+	 *
+	 * @param jsonObject
+	 * 		the JSON object
+	 * @return the endpoints
+	 * @throws JsonParsingException
+	 * 		in case an endpoint is not a string
+	 */
+	static SerializedEndpoints of(JsonObject jsonObject) {
+		Map<String, String> endpoints = new LinkedHashMap<>();
+		for (String name : ENDPOINT_NAMES) {
+			String endpoint = jsonObject.getAsString(name);
+			if (endpoint != null) {
+				endpoints.put(name, endpoint);
+			}
+		}
+		return new SerializedEndpoints(endpoints);
+	}
+
+	/**
+	 * Parses the endpoints of the given JSON as written by {@link #toJson()}.
+	 *
+	 * @param json
+	 * 		the JSON string
+	 * @return the endpoints
+	 * @throws JsonParsingException
+	 * 		in case the JSON is not valid
+	 */
+	static SerializedEndpoints parse(String json) {
+		return of(JsonObjectProvider.createJsonObject(json));
+	}
+
+	private static void putEndpoint(Map<String, String> endpoints, String name, Supplier<URI> endpoint) {
+		try {
+			URI uri = endpoint.get();
+			if (uri != null) {
+				endpoints.put(name, uri.toString());
+			}
+		} catch (RuntimeException e) {
+			// endpoint is not part of the discovery document
+		}
+	}
+
+	/**
+	 * Returns the endpoints as JSON.
+	 *
+	 * @return the JSON string
+	 */
+	String toJson() {
+		return JsonWriter.toJson(endpoints);
+	}
+
+	@Override
+	public URI getTokenEndpoint() {
+		return getUri(TOKEN_ENDPOINT);
+	}
+
+	@Override
+	public URI getAuthorizeEndpoint() {
+		return getUri(AUTHORIZATION_ENDPOINT);
+	}
+
+	@Override
+	public URI getJwksUri() {
+		return getUri(JWKS_URI);
+	}
+
+	private URI getUri(String name) {
+		String uri = endpoints.get(name);
+		if (uri == null) {
+			throw new JsonParsingException("JSONObject[\"%s\"] not found.".formatted(name));
+		}
+		return URI.create(uri);
+	}
+}
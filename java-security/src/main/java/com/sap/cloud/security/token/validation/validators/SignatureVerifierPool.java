@@ -0,0 +1,108 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.token.validation.validators;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.Nullable;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Pool of {@link Signature} instances that are already initialized for verification with a given public key and
+ * algorithm. Looking up the provider and initializing the key is done once per pooled instance instead of once per
+ * token.
+ * <p>
+ * {@link Signature} is not thread-safe, so instances are borrowed exclusively and returned after use. The number of
+ * keys as well as the number of idle instances per key are bounded; instances that don't fit into the pool anymore are
+ * left to the garbage collector.
+ */
+class SignatureVerifierPool {
+	static final int MAX_KEYS = 250;
+	static final int MAX_IDLE_VERIFIERS_PER_KEY = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+	private final int maxIdleVerifiersPerKey;
+	private final Cache<VerifierKey, Queue<Signature>> pools;
+
+	SignatureVerifierPool() {
+		this(MAX_KEYS, MAX_IDLE_VERIFIERS_PER_KEY);
+	}
+
+	SignatureVerifierPool(int maxKeys, int maxIdleVerifiersPerKey) {
+		this.maxIdleVerifiersPerKey = maxIdleVerifiersPerKey;
+		this.pools = Caffeine.newBuilder().maximumSize(maxKeys).build();
+	}
+
+	/**
+	 * Takes an idle verifier for the given key and algorithm from the pool or creates a new one. The caller owns the
+	 * verifier exclusively until it is handed back via {@link #release(PublicKey, JwtSignatureAlgorithm, Signature)}.
+	 *
+	 * @param publicKey
+	 * 		the public key to verify with
+	 * @param algorithm
+	 * 		the signature algorithm
+	 * @return a verifier that is initialized with the public key
+	 * @throws NoSuchAlgorithmException
+	 * 		in case the signature algorithm is not supported
+	 * @throws InvalidKeyException
+	 * 		in case the public key does not fit to the algorithm
+	 */
+	Signature borrow(PublicKey publicKey, JwtSignatureAlgorithm algorithm)
+			throws NoSuchAlgorithmException, InvalidKeyException {
+		Queue<Signature> idleVerifiers = pools.getIfPresent(new VerifierKey(publicKey, algorithm));
+		Signature verifier = idleVerifiers != null ? idleVerifiers.poll() : null;
+		if (verifier == null) {
+			verifier = Signature.getInstance(algorithm.javaSignature());
+			verifier.initVerify(publicKey);
+		}
+		return verifier;
+	}
+
+	/**
+	 * Hands a verifier back to the pool. Must only be called after {@link Signature#verify(byte[])} has completed
+	 * normally, as this resets the verifier to the state after initialization.
+	 *
+	 * @param publicKey
+	 * 		the public key the verifier was borrowed for
+	 * @param algorithm
+	 * 		the signature algorithm the verifier was borrowed for
+	 * @param verifier
+	 * 		the verifier
+	 */
+	void release(PublicKey publicKey, JwtSignatureAlgorithm algorithm, Signature verifier) {
+		pools.get(new VerifierKey(publicKey, algorithm), k -> new ArrayBlockingQueue<>(maxIdleVerifiersPerKey))
+				.offer(verifier);
+	}
+
+	/**
+	 * Drops the pooled verifiers of the given public key, e.g. because the key was evicted from the token key cache.
+	 *
+	 * @param publicKey
+	 * 		the public key
+	 */
+	void invalidate(@Nullable PublicKey publicKey) {
+		if (publicKey != null) {
+			pools.asMap().keySet().removeIf(key -> key.publicKey().equals(publicKey));
+		}
+	}
+
+	void invalidateAll() {
+		pools.invalidateAll();
+	}
+
+	int idleVerifiers(PublicKey publicKey, JwtSignatureAlgorithm algorithm) {
+		Queue<Signature> idleVerifiers = pools.getIfPresent(new VerifierKey(publicKey, algorithm));
+		return idleVerifiers != null ? idleVerifiers.size() : 0;
+	}
+
+	private record VerifierKey(PublicKey publicKey, JwtSignatureAlgorithm algorithm) {
+	}
+}
@@ -16,12 +16,14 @@ import java.time.Duration;
  */
 class TokenKeyCacheConfiguration implements CacheConfiguration {
 
+	private static final int DEFAULT_MAX_REQUESTS_PER_SECOND = 20;
 	private static final TokenKeyCacheConfiguration DEFAULT = TokenKeyCacheConfiguration
 			.getInstance(Duration.ofMinutes(10), 1000, false);
 
 	private final Duration cacheDuration;
 	private final int cacheSize;
 	private final boolean cacheStatisticsEnabled;
+	private final int maxRequestsPerSecond;
 
 	/**
 	 * Creates a new {@link TokenKeyCacheConfiguration} instance with the given properties. See
@@ -38,13 +40,33 @@ class TokenKeyCacheConfiguration implements CacheConfiguration {
 	 */
 	static TokenKeyCacheConfiguration getInstance(Duration cacheDuration, int cacheSize,
 			boolean cacheStatisticsEnabled) {
+		return getInstance(cacheDuration, cacheSize, cacheStatisticsEnabled, DEFAULT_MAX_REQUESTS_PER_SECOND);
+	}
+
+	/**
+	 * Creates a new {@link TokenKeyCacheConfiguration} instance with the given properties. See
+	 * {@link CacheConfiguration#getMaxRequestsPerSecond()} for an explanation of the request limit.
+	 *
+	 * @param cacheDuration
+	 * 		the cache duration property.
+	 * @param cacheSize
+	 * 		the cache size property.
+	 * @param cacheStatisticsEnabled
+	 * 		set to {@code true} if cache statists should be recorded
+	 * @param maxRequestsPerSecond
+	 * 		the maximum number of requests per second for token keys that are likely not available
+	 * @return a new {@link TokenKeyCacheConfiguration} instance.
+	 */
+	static TokenKeyCacheConfiguration getInstance(Duration cacheDuration, int cacheSize,
+			boolean cacheStatisticsEnabled, int maxRequestsPerSecond) {
 		Assertions.assertNotNull(cacheDuration, "The cache duration write must not be null!");
-		return new TokenKeyCacheConfiguration(cacheDuration, cacheSize, cacheStatisticsEnabled);
+		return new TokenKeyCacheConfiguration(cacheDuration, cacheSize, cacheStatisticsEnabled, maxRequestsPerSecond);
 	}
 
 	/**
 	 * The default configuration for the token key cache. The default cache size is 1000. The default cache duration is
-	 * 10 minutes. Cache statistics are not enabled.
+	 * 10 minutes. Cache statistics are not enabled. At most 20 requests per second are sent for token keys that are
+	 * likely not available.
 	 *
 	 * @return the default configuration
 	 */
@@ -52,10 +74,12 @@ class TokenKeyCacheConfiguration implements CacheConfiguration {
 		return DEFAULT;
 	}
 
-	private TokenKeyCacheConfiguration(Duration cacheDuration, int cacheSize, boolean cacheStatisticsEnabled) {
+	private TokenKeyCacheConfiguration(Duration cacheDuration, int cacheSize, boolean cacheStatisticsEnabled,
+			int maxRequestsPerSecond) {
 		this.cacheDuration = cacheDuration;
 		this.cacheSize = cacheSize;
 		this.cacheStatisticsEnabled = cacheStatisticsEnabled;
+		this.maxRequestsPerSecond = maxRequestsPerSecond;
 	}
 
 	@Override
@@ -73,4 +97,9 @@ class TokenKeyCacheConfiguration implements CacheConfiguration {
 	public boolean isCacheStatisticsEnabled() {
 		return cacheStatisticsEnabled;
 	}
+
+	@Override
+	public int getMaxRequestsPerSecond() {
+		return maxRequestsPerSecond;
+	}
 }
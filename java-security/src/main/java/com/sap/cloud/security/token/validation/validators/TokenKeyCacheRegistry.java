@@ -0,0 +1,201 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.token.validation.validators;
+
+import com.sap.cloud.security.config.CacheConfiguration;
+import com.sap.cloud.security.xsuaa.Assertions;
+import com.sap.cloud.security.xsuaa.client.DefaultOAuth2TokenKeyService;
+import com.sap.cloud.security.xsuaa.client.DefaultOidcConfigurationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.annotation.Nullable;
+import java.lang.ref.Cleaner;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Process-wide registry of the token key and oidc configuration caches. Validators built by
+ * {@link JwtValidatorBuilder} with the default services share the caches of their identity provider, so that e.g. an
+ * application with several Xsuaa bindings of the same identity zone fetches and caches the token keys only once.
+ * <p>
+ * The caches are reference-counted: each validator holds a reference until it becomes unreachable, and the caches of
+ * an identity provider are cleared and removed as soon as no validator refers to them any longer.
+ * <p>
+ * The configuration of the shared token key caches is set in one place with
+ * {@link #withCacheConfiguration(CacheConfiguration)} and {@link #withMaximumWeight(long)}, before the validators are
+ * built. Validators that are built with a custom token key cache configuration or maximum weight, custom services or
+ * http client use caches of their own.
+ */
+public final class TokenKeyCacheRegistry {
+	private static final Logger LOGGER = LoggerFactory.getLogger(TokenKeyCacheRegistry.class);
+	private static final TokenKeyCacheRegistry INSTANCE = new TokenKeyCacheRegistry();
+	private static final Cleaner CLEANER = Cleaner.create();
+
+	private final Map<Key, SharedCaches> caches = new HashMap<>();
+	private CacheConfiguration cacheConfiguration = TokenKeyCacheConfiguration.defaultConfiguration();
+	private long maximumWeight;
+
+	TokenKeyCacheRegistry() {
+		// use getInstance, package-private for testing
+	}
+
+	/**
+	 * Returns the process-wide registry.
+	 *
+	 * @return the registry
+	 */
+	public static TokenKeyCacheRegistry getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Configures the shared token key caches. The configuration applies to the caches of identity providers for which
+	 * no validator has been built yet.
+	 * <p>
+	 * Note that the cache size must be 1000 or more and the cache duration must be between 600 and 900 seconds!
+	 *
+	 * @param cacheConfiguration
+	 * 		the cache configuration
+	 * @return this registry
+	 */
+	public synchronized TokenKeyCacheRegistry withCacheConfiguration(CacheConfiguration cacheConfiguration) {
+		Assertions.assertNotNull(cacheConfiguration, "cacheConfiguration must not be null.");
+		if (!caches.isEmpty()) {
+			LOGGER.warn("Token key cache configuration is changed while {} shared caches are in use; "
+					+ "they keep their configuration.", caches.size());
+		}
+		this.cacheConfiguration = cacheConfiguration;
+		return this;
+	}
+
+	/**
+	 * Bounds each shared token key cache by the estimated heap size of its entries, see
+	 * {@link OAuth2TokenKeyServiceWithCache#withMaximumWeight(long)}. The bound applies to the caches of identity
+	 * providers for which no validator has been built yet.
+	 *
+	 * @param maximumWeight
+	 * 		the maximum estimated size of the cached token keys in bytes, {@code 0} bounds the caches by their cache size
+	 * @return this registry
+	 */
+	public synchronized TokenKeyCacheRegistry withMaximumWeight(long maximumWeight) {
+		this.maximumWeight = maximumWeight;
+		return this;
+	}
+
+	/**
+	 * Returns the configuration of the shared token key caches.
+	 *
+	 * @return the cache configuration
+	 */
+	public synchronized CacheConfiguration getCacheConfiguration() {
+		return cacheConfiguration;
+	}
+
+	/**
+	 * Returns the number of identity providers with shared caches.
+	 *
+	 * @return the number of shared caches
+	 */
+	public synchronized int size() {
+		return caches.size();
+	}
+
+	/**
+	 * Returns the caches of the given identity provider and increments their reference count.
+	 *
+	 * @param identityProvider
+	 * 		identifies the identity provider, e.g. its domain
+	 * @param cacheSnapshotStore
+	 * 		the snapshot store that decorates the services of the caches, may be {@code null}
+	 * @param secondLevelCache
+	 * 		the second-level cache of the caches, may be {@code null}
+	 * @return the shared caches
+	 */
+	SharedCaches acquire(String identityProvider, @Nullable CacheSnapshotStore cacheSnapshotStore,
+			@Nullable SecondLevelCache secondLevelCache) {
+		return acquire(new Key(identityProvider, cacheSnapshotStore, secondLevelCache));
+	}
+
+	synchronized SharedCaches acquire(Key key) {
+		SharedCaches sharedCaches = caches.computeIfAbsent(key, this::createCaches);
+		sharedCaches.references++;
+		return sharedCaches;
+	}
+
+	private SharedCaches createCaches(Key key) {
+		LOGGER.debug("Creating shared token key cache for identity provider {}.", key.identityProvider());
+		OAuth2TokenKeyServiceWithCache tokenKeyServiceWithCache = OAuth2TokenKeyServiceWithCache.getInstance()
+				.withCacheConfiguration(cacheConfiguration)
+				.withMaximumWeight(maximumWeight)
+				.withSecondLevelCache(key.secondLevelCache());
+		OidcConfigurationServiceWithCache oidcConfigurationServiceWithCache = OidcConfigurationServiceWithCache
+				.getInstance()
+				.withSecondLevelCache(key.secondLevelCache());
+		if (key.cacheSnapshotStore() != null) {
+			tokenKeyServiceWithCache
+					.withTokenKeyService(key.cacheSnapshotStore().decorate(new DefaultOAuth2TokenKeyService()));
+			oidcConfigurationServiceWithCache.withOidcConfigurationService(
+					key.cacheSnapshotStore().decorate(new DefaultOidcConfigurationService()));
+		}
+		return new SharedCaches(key, tokenKeyServiceWithCache, oidcConfigurationServiceWithCache);
+	}
+
+	private synchronized void release(SharedCaches sharedCaches) {
+		if (--sharedCaches.references == 0 && caches.remove(sharedCaches.key, sharedCaches)) {
+			LOGGER.debug("Removing shared token key cache of identity provider {}.",
+					sharedCaches.key.identityProvider());
+			sharedCaches.tokenKeyServiceWithCache.clearCache();
+			sharedCaches.oidcConfigurationServiceWithCache.clearCache();
+		}
+	}
+
+	record Key(String identityProvider, @Nullable CacheSnapshotStore cacheSnapshotStore,
+			@Nullable SecondLevelCache secondLevelCache) {
+	}
+
+	/**
+	 * The caches shared by the validators of an identity provider.
+	 */
+	final class SharedCaches {
+		private final Key key;
+		private final OAuth2TokenKeyServiceWithCache tokenKeyServiceWithCache;
+		private final OidcConfigurationServiceWithCache oidcConfigurationServiceWithCache;
+		private int references;
+
+		private SharedCaches(Key key, OAuth2TokenKeyServiceWithCache tokenKeyServiceWithCache,
+				OidcConfigurationServiceWithCache oidcConfigurationServiceWithCache) {
+			this.key = key;
+			this.tokenKeyServiceWithCache = tokenKeyServiceWithCache;
+			this.oidcConfigurationServiceWithCache = oidcConfigurationServiceWithCache;
+		}
+
+		OAuth2TokenKeyServiceWithCache getTokenKeyServiceWithCache() {
+			return tokenKeyServiceWithCache;
+		}
+
+		OidcConfigurationServiceWithCache getOidcConfigurationServiceWithCache() {
+			return oidcConfigurationServiceWithCache;
+		}
+
+		/**
+		 * Releases one reference to the caches.
+		 */
+		void release() {
+			TokenKeyCacheRegistry.this.release(this);
+		}
+
+		/**
+		 * Releases one reference to the caches as soon as the given owner becomes unreachable.
+		 *
+		 * @param owner
+		 * 		the validator that uses the caches
+		 */
+		void releaseWhenUnreachable(Object owner) {
+			CLEANER.register(owner, this::release);
+		}
+	}
+}
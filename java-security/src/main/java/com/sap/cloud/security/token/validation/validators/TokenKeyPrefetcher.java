@@ -0,0 +1,181 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.token.validation.validators;
+
+import com.sap.cloud.security.config.Service;
+import com.sap.cloud.security.config.ServiceConstants;
+import com.sap.cloud.security.token.Token;
+import com.sap.cloud.security.token.TokenClaims;
+import com.sap.cloud.security.token.validation.CombiningValidator;
+import com.sap.cloud.security.token.validation.Validator;
+import com.sap.cloud.security.util.LogSanitizer;
+import com.sap.cloud.security.xsuaa.Assertions;
+import com.sap.cloud.security.xsuaa.client.OAuth2ServiceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Loads the token keys (JWKS) and OIDC endpoints into the caches of token validators created by
+ * {@link JwtValidatorBuilder}, so that the first requests after startup don't need to wait for the identity service.
+ * <p>
+ * The token keys are requested in parallel for the service configuration of each signature validator and for each
+ * given tenant. In case no tenant is given, the tenant of the service configuration is used. For Identity service
+ * configurations, the token keys of the given issuers are loaded as well. Failures are logged and counted in the
+ * {@link Result}, but don't fail the prefetch, as the token keys are requested again on demand anyway.
+ * <p>
+ * Prefetching the token keys of many tenants is not limited by
+ * {@link com.sap.cloud.security.config.CacheConfiguration#getMaxRequestsPerSecond()}, as that limit only applies to
+ * token keys that are requested for the tenants of incoming tokens.
+ *
+ * <pre>{@code
+ * CombiningValidator<Token> validators = JwtValidatorBuilder.getInstance(serviceConfig).build();
+ * TokenKeyPrefetcher.Result result = TokenKeyPrefetcher.prefetch(validators, List.of("tenant-1", "tenant-2"), List.of())
+ * 		.join();
+ * if (result.failed() > 0) {
+ * 	// e.g. don't report readiness yet
+ * }
+ * }</pre>
+ */
+public final class TokenKeyPrefetcher {
+	private static final Logger LOGGER = LoggerFactory.getLogger(TokenKeyPrefetcher.class);
+
+	private TokenKeyPrefetcher() {
+		// use static methods
+	}
+
+	/**
+	 * Prefetches the token keys using the common pool.
+	 *
+	 * @param validator
+	 * 		the validator as built by {@link JwtValidatorBuilder#build()}
+	 * @param appTids
+	 * 		tenant ids of expected tokens
+	 * @param issuers
+	 * 		additional issuers of expected Identity service tokens
+	 * @return a future that completes with the number of loaded and failed token keys once all token keys are loaded
+	 * 		or failed to load
+	 */
+	public static CompletableFuture<Result> prefetch(Validator<Token> validator, Collection<String> appTids,
+			Collection<String> issuers) {
+		return prefetch(validator, appTids, issuers, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Prefetches the token keys.
+	 *
+	 * @param validator
+	 * 		the validator as built by {@link JwtValidatorBuilder#build()}
+	 * @param appTids
+	 * 		tenant ids of expected tokens
+	 * @param issuers
+	 * 		additional issuers of expected Identity service tokens
+	 * @param executor
+	 * 		the executor that requests the token keys
+	 * @return a future that completes with the number of loaded and failed token keys once all token keys are loaded
+	 * 		or failed to load
+	 */
+	public static CompletableFuture<Result> prefetch(Validator<Token> validator, Collection<String> appTids,
+			Collection<String> issuers, Executor executor) {
+		Assertions.assertNotNull(validator, "validator must not be null.");
+		Assertions.assertNotNull(appTids, "appTids must not be null.");
+		Assertions.assertNotNull(issuers, "issuers must not be null.");
+		Assertions.assertNotNull(executor, "executor must not be null.");
+
+		List<CompletableFuture<Boolean>> prefetches = new ArrayList<>();
+		for (JwtSignatureValidator signatureValidator : collectSignatureValidators(validator, new ArrayList<>())) {
+			for (String issuer : getIssuers(signatureValidator, issuers)) {
+				for (String appTid : getAppTids(signatureValidator, appTids)) {
+					prefetches.add(CompletableFuture.supplyAsync(() -> prefetch(signatureValidator, issuer, appTid),
+							executor));
+				}
+			}
+		}
+		return CompletableFuture.allOf(prefetches.toArray(new CompletableFuture[0])).thenApply(done -> {
+			int succeeded = (int) prefetches.stream().filter(CompletableFuture::join).count();
+			return new Result(succeeded, prefetches.size() - succeeded);
+		});
+	}
+
+	private static boolean prefetch(JwtSignatureValidator signatureValidator, String issuer, String appTid) {
+		try {
+			signatureValidator.prefetch(issuer, appTid);
+			LOGGER.debug("Prefetched token keys of issuer {} for tenant {}.", LogSanitizer.sanitize(issuer),
+					LogSanitizer.sanitize(appTid));
+			return true;
+		} catch (OAuth2ServiceException | RuntimeException e) {
+			LOGGER.warn("Could not prefetch token keys of issuer {} for tenant {}: {}", LogSanitizer.sanitize(issuer),
+					LogSanitizer.sanitize(appTid), e.getMessage());
+			return false;
+		}
+	}
+
+	private static List<JwtSignatureValidator> collectSignatureValidators(Validator<Token> validator,
+			List<JwtSignatureValidator> signatureValidators) {
+		if (validator instanceof JwtSignatureValidator signatureValidator) {
+			signatureValidators.add(signatureValidator);
+		} else if (validator instanceof ValidatedTokenCache validatedTokenCache) {
+			collectSignatureValidators(validatedTokenCache.getDelegate(), signatureValidators);
+		} else if (validator instanceof CombiningValidator<Token> combiningValidator) {
+			combiningValidator.getValidators()
+					.forEach(nested -> collectSignatureValidators(nested, signatureValidators));
+		}
+		return signatureValidators;
+	}
+
+	private static Set<String> getIssuers(JwtSignatureValidator signatureValidator, Collection<String> issuers) {
+		Set<String> allIssuers = new LinkedHashSet<>();
+		// null stands for the issuer of the service configuration
+		allIssuers.add(null);
+		if (signatureValidator.configuration.getService() == Service.IAS) {
+			allIssuers.addAll(issuers);
+		}
+		return allIssuers;
+	}
+
+	private static Collection<String> getAppTids(JwtSignatureValidator signatureValidator,
+			Collection<String> appTids) {
+		if (!appTids.isEmpty()) {
+			return appTids;
+		}
+		String configuredAppTid = signatureValidator.configuration.getService() == Service.XSUAA
+				? signatureValidator.configuration.getProperty(ServiceConstants.XSUAA.TENANT_ID)
+				: signatureValidator.configuration.getProperty(TokenClaims.SAP_GLOBAL_APP_TID);
+		return Collections.singletonList(configuredAppTid);
+	}
+
+	/**
+	 * The number of token key requests that were prefetched successfully and that failed.
+	 *
+	 * @param succeeded
+	 * 		the number of successfully loaded token keys
+	 * @param failed
+	 * 		the number of token keys that could not be loaded
+	 */
+	public record Result(int succeeded, int failed) {
+
+		/**
+		 * Adds the numbers of the given result to the numbers of this result, e.g. to combine the prefetches of several
+		 * validators.
+		 *
+		 * @param other
+		 * 		the result to add
+		 * @return the combined result
+		 */
+		public Result plus(Result other) {
+			return new Result(succeeded + other.succeeded, failed + other.failed);
+		}
+	}
+}
@@ -0,0 +1,106 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.token.validation.validators;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.sap.cloud.security.config.CacheConfiguration;
+import com.sap.cloud.security.token.Token;
+import com.sap.cloud.security.token.validation.ValidationResult;
+import com.sap.cloud.security.token.validation.ValidationResults;
+import com.sap.cloud.security.token.validation.Validator;
+import com.sap.cloud.security.xsuaa.Assertions;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Supplier;
+
+/**
+ * Decorates a token validator and remembers the tokens it has successfully validated, so that subsequent validations
+ * of the same token skip the delegate, e.g. the signature, issuer and audience checks.
+ * <p>
+ * Entries are keyed by the SHA-256 hash of the encoded token, so the cache does not hold the raw tokens. An entry is
+ * kept until the token expires ({@code exp}), but never longer than the configured cache duration. Failed validation
+ * results are not cached.
+ */
+class ValidatedTokenCache implements Validator<Token> {
+
+	private final Validator<Token> delegate;
+	private final Supplier<Instant> timeProvider;
+	private final Cache<String, Instant> cache;
+
+	ValidatedTokenCache(Validator<Token> delegate, CacheConfiguration cacheConfiguration) {
+		this(delegate, cacheConfiguration, Instant::now);
+	}
+
+	/**
+	 * For testing only!
+	 */
+	ValidatedTokenCache(Validator<Token> delegate, CacheConfiguration cacheConfiguration,
+			Supplier<Instant> timeProvider) {
+		Assertions.assertNotNull(delegate, "delegate must not be null.");
+		Assertions.assertNotNull(cacheConfiguration, "cacheConfiguration must not be null.");
+		this.delegate = delegate;
+		this.timeProvider = timeProvider;
+		this.cache = createCache(cacheConfiguration);
+	}
+
+	@Override
+	public ValidationResult validate(Token token) {
+		String cacheKey = hash(token.getTokenValue());
+		Instant expiration = cache.getIfPresent(cacheKey);
+		if (expiration != null && now().isBefore(expiration)) {
+			return ValidationResults.createValid();
+		}
+		ValidationResult result = delegate.validate(token);
+		if (result.isValid() && token.getExpiration() != null && now().isBefore(token.getExpiration())) {
+			cache.put(cacheKey, token.getExpiration());
+		}
+		return result;
+	}
+
+	Validator<Token> getDelegate() {
+		return delegate;
+	}
+
+	long size() {
+		cache.cleanUp();
+		return cache.estimatedSize();
+	}
+
+	private Cache<String, Instant> createCache(CacheConfiguration cacheConfiguration) {
+		Duration maxDuration = cacheConfiguration.getCacheDuration();
+		Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(cacheConfiguration.getCacheSize());
+		if (cacheConfiguration.isCacheStatisticsEnabled()) {
+			builder.recordStats();
+		}
+		return builder.expireAfter(Expiry.creating((String key, Instant expiration) -> {
+			Duration untilExpiration = Duration.between(now(), expiration);
+			if (untilExpiration.isNegative()) {
+				return Duration.ZERO;
+			}
+			return untilExpiration.compareTo(maxDuration) < 0 ? untilExpiration : maxDuration;
+		})).build();
+	}
+
+	private Instant now() {
+		return timeProvider.get();
+	}
+
+	private static String hash(String tokenValue) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(tokenValue.getBytes(StandardCharsets.UTF_8));
+			return Base64.getEncoder().encodeToString(digest);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package com.sap.cloud.security.token.validation.validators;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.sap.cloud.security.config.OAuth2ServiceConfiguration;
 import com.sap.cloud.security.config.ServiceConstants;
 import com.sap.cloud.security.token.Token;
@@ -9,6 +11,7 @@ import com.sap.cloud.security.xsuaa.http.HttpHeaders;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import jakarta.annotation.Nullable;
 import java.net.URI;
 import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
@@ -24,6 +27,15 @@ import static com.sap.cloud.security.token.validation.validators.JsonWebKeyConst
  */
 class XsuaaJwtSignatureValidator extends JwtSignatureValidator {
 	public static final Logger LOGGER = LoggerFactory.getLogger(XsuaaJwtSignatureValidator.class);
+	static final int MAX_CACHED_TENANTS = 1000;
+
+	/*
+	 * The JWKS URI and request parameters per tenant (zid), so that they aren't composed again for each token.
+	 */
+	private final Cache<String, OAuth2TokenKeyServiceWithCache.CacheKey> cacheKeysByTenant = Caffeine.newBuilder()
+			.maximumSize(MAX_CACHED_TENANTS)
+			.build();
+	private volatile OAuth2TokenKeyServiceWithCache.CacheKey cacheKeyWithoutTenant;
 
 	/*
 	 * The following list of factories brings backward-compatibility for test
@@ -94,30 +106,64 @@ class XsuaaJwtSignatureValidator extends JwtSignatureValidator {
 					"Token does not contain the mandatory " + KID_PARAMETER_NAME + " header.");
 		}
 
-		String zidQueryParam = composeZidQueryParameter(token);
-
-		String jwksUri;
+		String appTid = token.getAppTid();
 		if (jkuFactories.isEmpty()) {
-			jwksUri = configuration.isLegacyMode()
-					? configuration.getUrl() + "/token_keys"
-					: configuration.getProperty(UAA_DOMAIN) + "/token_keys" + zidQueryParam;
-		} else {
-			LOGGER.info("Loaded custom JKU factory");
-			jwksUri = jkuFactories.get(0).create(token.getTokenValue());
+			OAuth2TokenKeyServiceWithCache.CacheKey cacheKey = getCacheKey(appTid);
+			return tokenKeyService.getPublicKey(
+					new OAuth2TokenKeyServiceWithCache.KeyParameters(algorithm, keyId, cacheKey.keyUri()),
+					cacheKey.params(), cacheKey);
+		}
+		LOGGER.info("Loaded custom JKU factory");
+		URI uri = toAbsoluteUri(jkuFactories.get(0).create(token.getTokenValue()));
+		return tokenKeyService.getPublicKey(new OAuth2TokenKeyServiceWithCache.KeyParameters(algorithm, keyId, uri),
+				getRequestParameters(appTid));
+	}
+
+	/**
+	 * Returns the JWKS URI and request parameters of the given tenant.
+	 */
+	private OAuth2TokenKeyServiceWithCache.CacheKey getCacheKey(@Nullable String appTid) {
+		OAuth2TokenKeyServiceWithCache.CacheKey cacheKey = appTid != null ? cacheKeysByTenant.getIfPresent(appTid)
+				: cacheKeyWithoutTenant;
+		if (cacheKey == null) {
+			cacheKey = new OAuth2TokenKeyServiceWithCache.CacheKey(getJwksUri(appTid), getRequestParameters(appTid));
+			if (appTid != null) {
+				cacheKeysByTenant.put(appTid, cacheKey);
+			} else {
+				cacheKeyWithoutTenant = cacheKey;
+			}
 		}
+		return cacheKey;
+	}
+
+	@Override
+	void prefetch(@Nullable String issuer, @Nullable String appTid) throws OAuth2ServiceException {
+		if (!jkuFactories.isEmpty()) {
+			// the JKU of custom factories is derived from the token
+			return;
+		}
+		OAuth2TokenKeyServiceWithCache.CacheKey cacheKey = getCacheKey(appTid);
+		tokenKeyService.prefetchTokenKeys(cacheKey.keyUri(), cacheKey.params());
+	}
 
+	private URI getJwksUri(@Nullable String appTid) {
+		return toAbsoluteUri(configuration.isLegacyMode()
+				? configuration.getUrl() + "/token_keys"
+				: configuration.getProperty(UAA_DOMAIN) + "/token_keys" + composeZidQueryParameter(appTid));
+	}
+
+	private static URI toAbsoluteUri(String jwksUri) {
 		URI uri = URI.create(jwksUri);
-		uri = uri.isAbsolute() ? uri : URI.create("https://" + jwksUri);
-		String appTid = token.getAppTid();
-		Map<String, String> params = (appTid != null)
+		return uri.isAbsolute() ? uri : URI.create("https://" + jwksUri);
+	}
+
+	private static Map<String, String> getRequestParameters(@Nullable String appTid) {
+		return (appTid != null)
 			? Collections.singletonMap(HttpHeaders.X_ZID, appTid)
 			: Collections.emptyMap();
-		return tokenKeyService.getPublicKey(new OAuth2TokenKeyServiceWithCache.KeyParameters(algorithm, keyId, uri),
-				params);
 	}
 
-	private String composeZidQueryParameter(Token token) {
-		String zid = token.getAppTid();
+	private static String composeZidQueryParameter(@Nullable String zid) {
 		if (zid != null && !zid.isBlank()) {
 			return "?zid=" + zid;
 		}
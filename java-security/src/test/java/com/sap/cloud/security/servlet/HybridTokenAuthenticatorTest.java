@@ -7,6 +7,7 @@ import com.sap.cloud.security.client.SecurityHttpResponse;
 import static com.sap.cloud.security.token.TokenExchangeMode.DISABLED;
 import static com.sap.cloud.security.token.TokenExchangeMode.FORCE_XSUAA;
 import static com.sap.cloud.security.token.TokenExchangeMode.PROVIDE_XSUAA;
+import static com.sap.cloud.security.x509.X509Constants.FWD_CLIENT_CERT_HEADER;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -14,8 +15,11 @@ import static org.mockito.Mockito.*;
 import com.sap.cloud.security.config.OAuth2ServiceConfiguration;
 import com.sap.cloud.security.token.SapIdToken;
 import com.sap.cloud.security.token.SecurityContext;
+import com.sap.cloud.security.token.Token;
 import com.sap.cloud.security.token.TokenExchangeMode;
+import com.sap.cloud.security.token.TokenFactory;
 import com.sap.cloud.security.token.XsuaaToken;
+import com.sap.cloud.security.x509.X509Certificate;
 import com.sap.cloud.security.xsuaa.http.HttpHeaders;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
@@ -126,11 +130,47 @@ public class HybridTokenAuthenticatorTest {
 
     TokenAuthenticationResult response = cut.validateRequest(httpReq, httpResp);
 
-    verify(xsuaaAuthenticator, times(1)).validateRequest(httpReq, httpResp);
+    verify(xsuaaAuthenticator, times(1))
+        .validateToken(eq(httpReq), argThat(token -> token instanceof XsuaaToken
+            && token.getTokenValue().equals(xsuaaToken.getTokenValue())));
+    verify(iasAuthenticator, never()).validateToken(any(), any());
     assertThat(SecurityContext.getXsuaaToken()).isEqualTo(response.getToken());
     assertThat(response.isAuthenticated()).isTrue();
   }
 
+  @Test
+  public void validateRequest_tokenIsAlreadyXSUAA_setsClientCertificate() throws Exception {
+    final XsuaaTokenAuthenticator xsuaaTokenAuthenticator = spy(new XsuaaTokenAuthenticator());
+    doReturn(authenticationResult).when(xsuaaTokenAuthenticator).tokenValidationResult(any());
+    setField(cut, "xsuaaTokenAuthenticator", xsuaaTokenAuthenticator);
+    final String x509 = IOUtils.resourceToString("/cf-forwarded-client-cert.txt", UTF_8);
+    createRequestWithBearerHeader(xsuaaToken.getTokenValue());
+    when(httpReq.getHeader(FWD_CLIENT_CERT_HEADER)).thenReturn(x509);
+    SecurityContext.clear();
+
+    cut.validateRequest(httpReq, httpResp);
+
+    assertThat(SecurityContext.getClientCertificate()).isNotNull();
+    assertThat(SecurityContext.getClientCertificate().getThumbprint())
+        .isEqualTo(X509Certificate.newCertificate(x509).getThumbprint());
+  }
+
+  @Test
+  public void validateRequest_customTokenFactory_isUsed() {
+    final TokenFactory customTokenFactory = mock(TokenFactory.class);
+    when(customTokenFactory.create(bearer(accessToken.getTokenValue()))).thenReturn(xsuaaToken);
+    createRequestWithBearerHeader(accessToken.getTokenValue());
+    Token.services.add(customTokenFactory);
+    try {
+      cut.validateRequest(httpReq, httpResp);
+    } finally {
+      Token.services.remove(customTokenFactory);
+    }
+
+    verify(xsuaaAuthenticator, times(1)).validateToken(httpReq, xsuaaToken);
+    verify(iasAuthenticator, never()).validateToken(any(), any());
+  }
+
   @Test
   public void validateRequest_invalidIasToken_returnsUnauthenticated() {
     when(authenticationResult.isAuthenticated()).thenReturn(false);
@@ -138,7 +178,10 @@ public class HybridTokenAuthenticatorTest {
 
     TokenAuthenticationResult response = cut.validateRequest(httpReq, httpResp);
 
-    verify(iasAuthenticator, times(1)).validateRequest(httpReq, httpResp);
+    verify(iasAuthenticator, times(1))
+        .validateToken(eq(httpReq), argThat(token -> token instanceof SapIdToken
+            && token.getTokenValue().equals(invalidToken.getTokenValue())));
+    verify(xsuaaAuthenticator, never()).validateToken(any(), any());
     assertThat(response.isAuthenticated()).isFalse();
   }
 
@@ -241,8 +284,8 @@ public class HybridTokenAuthenticatorTest {
 
   private void createRequestWithoutToken() {
     lenient().when(httpReq.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn(null);
-    lenient().when(iasAuthenticator.validateRequest(httpReq, httpResp)).thenReturn(authenticationResult);
-    lenient().when(xsuaaAuthenticator.validateRequest(httpReq, httpResp)).thenReturn(authenticationResult);
+    lenient().when(iasAuthenticator.validateToken(eq(httpReq), any())).thenReturn(authenticationResult);
+    lenient().when(xsuaaAuthenticator.validateToken(eq(httpReq), any())).thenReturn(authenticationResult);
   }
 
   private void createRequestWithBearerHeader(String tokenValue) {
@@ -3,7 +3,9 @@ package com.sap.cloud.security.servlet;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.read.ListAppender;
+import com.sap.cloud.security.token.SapIdToken;
 import com.sap.cloud.security.token.XsuaaToken;
+import com.sap.cloud.security.xsuaa.jwt.DecodedJwt;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +17,8 @@ import java.io.IOException;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class HybridTokenFactoryTest {
 
@@ -47,4 +51,35 @@ class HybridTokenFactoryTest {
 		assertThat(logWatcher.list).isNotNull().hasSize(1);
 		assertThat(logWatcher.list.get(0).getMessage()).contains("There is no xsuaa service configuration");
 	}
-}
\ No newline at end of file
+
+	@Test
+	void create_classifiesByToken() throws IOException {
+		assertThat(cut.create(IOUtils.resourceToString("/xsuaaJwtBearerTokenRSA256.txt", UTF_8)))
+				.isInstanceOf(XsuaaToken.class);
+		assertThat(cut.create(IOUtils.resourceToString("/iasOidcTokenRSA256.txt", UTF_8)))
+				.isInstanceOf(SapIdToken.class);
+	}
+
+	@Test
+	void isXsuaaToken_usesEnhancerAndZoneId() {
+		assertThat(HybridTokenFactory.isXsuaaToken(decodedJwt("{\"ext_attr\":{\"enhancer\":\"XSUAA\"}}"))).isTrue();
+		assertThat(HybridTokenFactory.isXsuaaToken(decodedJwt("{\"zid\":\"uaa\",\"iss\":\"http://auth.com\"}")))
+				.isTrue();
+		assertThat(HybridTokenFactory.isXsuaaToken(decodedJwt("{\"zid\":\"uaa\"}"))).isTrue();
+
+		assertThat(HybridTokenFactory.isXsuaaToken(decodedJwt("{\"ext_attr\":{\"enhancer\":\"IAS\"}}"))).isFalse();
+		assertThat(HybridTokenFactory.isXsuaaToken(decodedJwt("{\"ext_attr\":\"xsuaa\",\"enhancer\":1}"))).isFalse();
+		assertThat(HybridTokenFactory.isXsuaaToken(decodedJwt("{\"zid\":\"uaa-zone\",\"sub\":\"xsuaa\"}")))
+				.isFalse();
+		assertThat(HybridTokenFactory.isXsuaaToken(decodedJwt("{\"zid\":[\"uaa\"]}"))).isFalse();
+		assertThat(HybridTokenFactory.isXsuaaToken(decodedJwt("{\"zid\":{\"id\":\"uaa\"}}"))).isFalse();
+		assertThat(HybridTokenFactory.isXsuaaToken(decodedJwt("{\"zid\":1}"))).isFalse();
+	}
+
+	private static DecodedJwt decodedJwt(String payload) {
+		DecodedJwt decodedJwt = mock(DecodedJwt.class);
+		when(decodedJwt.getHeader()).thenReturn("{}");
+		when(decodedJwt.getPayload()).thenReturn(payload);
+		return decodedJwt;
+	}
+}
@@ -183,6 +183,7 @@ class AbstractTokenTest {
 		when(token.getClaimAsString(CLIENT_ID)).thenReturn(cid);
 		when(token.hasClaim(CLIENT_ID)).thenReturn(!cid.trim().isEmpty());
 		when(token.getClientId()).thenCallRealMethod();
+		when(token.resolveClientId()).thenCallRealMethod();
 		try {
 			assertThat(token.getClientId()).isEqualTo(cid);
 		} catch (InvalidTokenException e) {
@@ -198,6 +199,7 @@ class AbstractTokenTest {
 		when(token.getAudiences()).thenReturn(aud);
 		when(token.getClaimAsString(AUTHORIZATION_PARTY)).thenReturn(azp);
 		when(token.getClientId()).thenCallRealMethod();
+		when(token.resolveClientId()).thenCallRealMethod();
 
 		if (expectedException != null) {
 			assertThatThrownBy(() -> token.getClientId()).isExactlyInstanceOf(expectedException);
@@ -52,6 +52,13 @@ public class SapIdTokenTest {
 		assertThat(cut.getAudiences()).contains("T000310");
 	}
 
+	@Test
+	public void getAudiences_returnsModifiableCopy() {
+		cut.getAudiences().clear();
+
+		assertThat(cut.getAudiences()).hasSize(2);
+	}
+
 	@Test
 	public void getCnfThumbprint() {
 		assertThat(cut.getCnfX509Thumbprint()).isNull();
@@ -7,12 +7,17 @@ package com.sap.cloud.security.token;
 
 import org.junit.jupiter.api.Test;
 
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
 import com.sap.cloud.security.config.Service;
 import com.sap.cloud.security.json.DefaultJsonObject;
 import org.apache.commons.io.IOUtils;
 import org.mockito.Mockito;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Base64;
 
 import static com.sap.cloud.security.token.TokenClaims.USER_NAME;
 import static com.sap.cloud.security.token.TokenClaims.XSUAA.*;
@@ -47,6 +52,14 @@ public class XsuaaTokenTest {
 		assertThat(clientCredentialsToken.getScopes()).containsExactly("ROLE_SERVICEBROKER", "uaa.resource");
 	}
 
+	@Test
+	public void getScopes_returnsModifiableCopy() {
+		clientCredentialsToken.getScopes().add("scope");
+
+		assertThat(clientCredentialsToken.getScopes()).containsExactly("ROLE_SERVICEBROKER", "uaa.resource");
+		assertThat(clientCredentialsToken.hasScope("scope")).isFalse();
+	}
+
 	@Test
 	public void hasScope_scopeExists_isTrue() {
 		assertThat(clientCredentialsToken.hasScope("ROLE_SERVICEBROKER")).isTrue();
@@ -65,6 +78,16 @@ public class XsuaaTokenTest {
 		assertThat(clientCredentialsToken.hasLocalScope("resource")).isTrue();
 	}
 
+	@Test
+	public void hasLocalScope_scopeConverterChanged() {
+		XsuaaToken token = new XsuaaToken(clientCredentialsToken.getTokenValue());
+		token.withScopeConverter(new XsuaaScopeConverter("uaa"));
+		assertThat(token.hasLocalScope("resource")).isTrue();
+
+		token.withScopeConverter(new XsuaaScopeConverter("otherApp"));
+		assertThat(token.hasLocalScope("resource")).isFalse();
+	}
+
 	@Test
 	public void getUserPrincipal() {
 		assertThat(userToken.getClaimAsString(TokenClaims.USER_NAME)).isEqualTo("testUser");
@@ -73,6 +96,30 @@ public class XsuaaTokenTest {
 		assertThat(userToken.getPrincipal().getName()).isEqualTo("user/userIdp/testUser");
 	}
 
+	@Test
+	public void getClientId_isComputedOnce() {
+		assertThat(clientCredentialsToken.getClientId()).isSameAs(clientCredentialsToken.getClientId());
+		assertThat(clientCredentialsToken.getExpiration()).isSameAs(clientCredentialsToken.getExpiration());
+	}
+
+	@Test
+	public void getClientId_fromCidClaim_isComputedOnce() {
+		ListAppender<ILoggingEvent> logWatcher = new ListAppender<>();
+		logWatcher.start();
+		((Logger) LoggerFactory.getLogger(XsuaaToken.class)).addAppender(logWatcher);
+		try {
+			Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+			XsuaaToken cidToken = new XsuaaToken(encoder.encodeToString("{\"alg\":\"RS256\"}".getBytes(UTF_8)) + "."
+					+ encoder.encodeToString("{\"cid\":\"sb-clientId\"}".getBytes(UTF_8)) + ".signature");
+
+			assertThat(cidToken.getClientId()).isEqualTo("sb-clientId");
+			assertThat(cidToken.getClientId()).isSameAs(cidToken.getClientId());
+			assertThat(logWatcher.list).hasSize(1);
+		} finally {
+			((Logger) LoggerFactory.getLogger(XsuaaToken.class)).detachAppender(logWatcher);
+		}
+	}
+
 	@Test
 	public void getClientPrincipal() {
 		assertThat(clientCredentialsToken.getClientId()).isEqualTo("sap_osb");
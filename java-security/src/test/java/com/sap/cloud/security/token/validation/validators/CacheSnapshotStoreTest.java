@@ -0,0 +1,210 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.token.validation.validators;
+
+import com.sap.cloud.security.json.JsonParsingException;
+import com.sap.cloud.security.xsuaa.client.OAuth2ServiceEndpointsProvider;
+import com.sap.cloud.security.xsuaa.client.OAuth2ServiceException;
+import com.sap.cloud.security.xsuaa.client.OAuth2TokenKeyService;
+import com.sap.cloud.security.xsuaa.client.OidcConfigurationService;
+import com.sap.cloud.security.xsuaa.http.HttpHeaders;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+public class CacheSnapshotStoreTest {
+	private static final URI TOKEN_KEYS_URI = URI.create("https://myauth.com/token_keys");
+	private static final URI DISCOVERY_URI = URI.create("https://myauth.com/.well-known/openid-configuration");
+	private static final Map<String, String> PARAMS = Map.of(HttpHeaders.X_APP_TID, "app_tid",
+			HttpHeaders.X_CLIENT_ID, "client_id");
+	private static final Duration MAX_AGE = Duration.ofMinutes(15);
+
+	@TempDir
+	Path tempDir;
+	private Path snapshotFile;
+	private Instant now;
+	private String jwks;
+	private OAuth2TokenKeyService tokenKeyServiceMock;
+	private OidcConfigurationService oidcConfigurationServiceMock;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		snapshotFile = tempDir.resolve("snapshot.json");
+		now = Instant.parse("2024-01-01T10:00:00Z");
+		jwks = IOUtils.resourceToString("/jsonWebTokenKeys.json", StandardCharsets.UTF_8);
+		tokenKeyServiceMock = mock(OAuth2TokenKeyService.class);
+		when(tokenKeyServiceMock.retrieveTokenKeys(any(), anyMap())).thenReturn(jwks);
+		OAuth2ServiceEndpointsProvider endpointsProviderMock = mock(OAuth2ServiceEndpointsProvider.class);
+		when(endpointsProviderMock.getJwksUri()).thenReturn(TOKEN_KEYS_URI);
+		when(endpointsProviderMock.getTokenEndpoint()).thenReturn(URI.create("https://myauth.com/oauth/token"));
+		when(endpointsProviderMock.getAuthorizeEndpoint()).thenThrow(new JsonParsingException("not found"));
+		oidcConfigurationServiceMock = mock(OidcConfigurationService.class);
+		when(oidcConfigurationServiceMock.retrieveEndpoints(any())).thenReturn(endpointsProviderMock);
+	}
+
+	@Test
+	public void retrievedTokenKeys_areRestoredOnceAfterRestart() throws IOException {
+		retrieveTokenKeysAndFlush();
+
+		OAuth2TokenKeyService restartedTokenKeyServiceMock = mock(OAuth2TokenKeyService.class);
+		OAuth2TokenKeyService restarted = createCut().decorate(restartedTokenKeyServiceMock);
+
+		assertThat(restarted.retrieveTokenKeys(TOKEN_KEYS_URI, PARAMS)).isEqualTo(jwks);
+		verifyNoInteractions(restartedTokenKeyServiceMock);
+		restarted.retrieveTokenKeys(TOKEN_KEYS_URI, PARAMS);
+		verify(restartedTokenKeyServiceMock, times(1)).retrieveTokenKeys(TOKEN_KEYS_URI, PARAMS);
+	}
+
+	@Test
+	public void retrievedTokenKeys_areWrittenOnFlush() throws IOException {
+		CacheSnapshotStore cut = createCut();
+		cut.decorate(tokenKeyServiceMock).retrieveTokenKeys(TOKEN_KEYS_URI, PARAMS);
+		assertThat(snapshotFile).doesNotExist();
+
+		cut.flush();
+
+		assertThat(snapshotFile).exists();
+		assertThat(tempDir).isDirectoryNotContaining("glob:**.tmp");
+	}
+
+	@Test
+	public void pendingChanges_areWrittenOnClose() throws IOException {
+		CacheSnapshotStore cut = createCut();
+		cut.decorate(tokenKeyServiceMock).retrieveTokenKeys(TOKEN_KEYS_URI, PARAMS);
+
+		cut.close();
+
+		assertThat(snapshotFile).exists();
+	}
+
+	@Test
+	public void failedWrite_isRetriedWithNextFlushAndLeavesNoTempFile() throws IOException {
+		Files.createDirectories(snapshotFile.resolve("blocking"));
+		CacheSnapshotStore cut = createCut();
+		cut.decorate(tokenKeyServiceMock).retrieveTokenKeys(TOKEN_KEYS_URI, PARAMS);
+
+		cut.flush();
+		assertThat(tempDir).isDirectoryNotContaining("glob:**.tmp");
+
+		Files.delete(snapshotFile.resolve("blocking"));
+		Files.delete(snapshotFile);
+		cut.flush();
+		assertThat(snapshotFile).isRegularFile();
+	}
+
+	@Test
+	public void restoredTokenKeys_reportTheirAge() throws IOException {
+		retrieveTokenKeysAndFlush();
+
+		now = now.plus(Duration.ofMinutes(5));
+		OAuth2TokenKeyService restarted = createCut().decorate(tokenKeyServiceMock);
+		restarted.retrieveTokenKeys(TOKEN_KEYS_URI, PARAMS);
+		assertThat(restarted.getAge(TOKEN_KEYS_URI, PARAMS)).isEqualTo(Duration.ofMinutes(5));
+		assertThat(restarted.getMaxAge(TOKEN_KEYS_URI, PARAMS)).isNull();
+
+		restarted.retrieveTokenKeys(TOKEN_KEYS_URI, PARAMS);
+		assertThat(restarted.getAge(TOKEN_KEYS_URI, PARAMS)).isNull();
+	}
+
+	@Test
+	public void maxAge_isLimitedToMaxCacheDuration() {
+		CacheSnapshotStore cut = new CacheSnapshotStore(snapshotFile, Duration.ofDays(1), () -> now);
+
+		assertThat(cut.getMaxAge()).isEqualTo(OAuth2TokenKeyServiceWithCache.MAX_CACHE_DURATION);
+	}
+
+	@Test
+	public void restoredTokenKeys_areOnlyServedForSameParameters() throws IOException {
+		retrieveTokenKeysAndFlush();
+
+		createCut().decorate(tokenKeyServiceMock).retrieveTokenKeys(TOKEN_KEYS_URI,
+				Map.of(HttpHeaders.X_APP_TID, "other_app_tid"));
+
+		verify(tokenKeyServiceMock, times(2)).retrieveTokenKeys(any(), anyMap());
+	}
+
+	@Test
+	public void entriesOlderThanMaxAge_areNotRestored() throws IOException {
+		retrieveTokenKeysAndFlush();
+
+		now = now.plus(MAX_AGE);
+		createCut().decorate(tokenKeyServiceMock).retrieveTokenKeys(TOKEN_KEYS_URI, PARAMS);
+
+		verify(tokenKeyServiceMock, times(2)).retrieveTokenKeys(TOKEN_KEYS_URI, PARAMS);
+	}
+
+	@Test
+	public void unchangedTokenKeys_areRewrittenAfterHalfOfMaxAge() throws IOException {
+		CacheSnapshotStore cut = retrieveTokenKeysAndFlush();
+		String snapshot = Files.readString(snapshotFile);
+
+		now = now.plus(MAX_AGE.dividedBy(2)).minusSeconds(1);
+		cut.decorate(tokenKeyServiceMock).retrieveTokenKeys(TOKEN_KEYS_URI, PARAMS);
+		cut.flush();
+		assertThat(Files.readString(snapshotFile)).isEqualTo(snapshot);
+
+		now = now.plusSeconds(1);
+		cut.decorate(tokenKeyServiceMock).retrieveTokenKeys(TOKEN_KEYS_URI, PARAMS);
+		cut.flush();
+		assertThat(Files.readString(snapshotFile)).isNotEqualTo(snapshot);
+	}
+
+	@Test
+	public void retrievedEndpoints_areRestoredOnceAfterRestart() throws OAuth2ServiceException {
+		CacheSnapshotStore cut = createCut();
+		cut.decorate(oidcConfigurationServiceMock).retrieveEndpoints(DISCOVERY_URI);
+		cut.flush();
+
+		OidcConfigurationService restartedOidcConfigurationServiceMock = mock(OidcConfigurationService.class);
+		OidcConfigurationService restarted = createCut().decorate(restartedOidcConfigurationServiceMock);
+		OAuth2ServiceEndpointsProvider endpoints = restarted.retrieveEndpoints(DISCOVERY_URI);
+
+		assertThat(endpoints.getJwksUri()).isEqualTo(TOKEN_KEYS_URI);
+		assertThat(endpoints.getTokenEndpoint()).hasToString("https://myauth.com/oauth/token");
+		assertThatThrownBy(endpoints::getAuthorizeEndpoint).isInstanceOf(JsonParsingException.class);
+		verifyNoInteractions(restartedOidcConfigurationServiceMock);
+		assertThat(restarted.getAge(DISCOVERY_URI)).isZero();
+		restarted.retrieveEndpoints(DISCOVERY_URI);
+		verify(restartedOidcConfigurationServiceMock, times(1)).retrieveEndpoints(DISCOVERY_URI);
+	}
+
+	@Test
+	public void corruptSnapshot_isIgnored() throws IOException {
+		Files.writeString(snapshotFile, "{\"token_keys\": [{\"uri\": ");
+
+		retrieveTokenKeysAndFlush();
+
+		verify(tokenKeyServiceMock, times(1)).retrieveTokenKeys(TOKEN_KEYS_URI, PARAMS);
+		assertThat(Files.readString(snapshotFile)).contains("key-id-0");
+	}
+
+	private CacheSnapshotStore retrieveTokenKeysAndFlush() throws OAuth2ServiceException {
+		CacheSnapshotStore cut = createCut();
+		cut.decorate(tokenKeyServiceMock).retrieveTokenKeys(TOKEN_KEYS_URI, PARAMS);
+		cut.flush();
+		return cut;
+	}
+
+	private CacheSnapshotStore createCut() {
+		return new CacheSnapshotStore(snapshotFile, MAX_AGE, () -> now);
+	}
+}
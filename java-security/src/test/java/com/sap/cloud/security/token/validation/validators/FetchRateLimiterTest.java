@@ -0,0 +1,41 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.token.validation.validators;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FetchRateLimiterTest {
+
+	private final AtomicLong nanos = new AtomicLong();
+	private final FetchRateLimiter cut = new FetchRateLimiter(2, Duration.ofSeconds(1), nanos::get);
+
+	@Test
+	void tryAcquire_isLimitedPerWindow() {
+		URI uri = URI.create("https://auth.com/token_keys");
+
+		assertThat(cut.tryAcquire(uri)).isTrue();
+		assertThat(cut.tryAcquire(uri)).isTrue();
+		assertThat(cut.tryAcquire(uri)).isFalse();
+
+		nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+		assertThat(cut.tryAcquire(uri)).isTrue();
+	}
+
+	@Test
+	void tryAcquire_ignoresQueryParameters() {
+		assertThat(cut.tryAcquire(URI.create("https://auth.com/token_keys?zid=1"))).isTrue();
+		assertThat(cut.tryAcquire(URI.create("https://auth.com/token_keys?zid=2"))).isTrue();
+		assertThat(cut.tryAcquire(URI.create("https://auth.com/token_keys?zid=3"))).isFalse();
+
+		assertThat(cut.tryAcquire(URI.create("https://other.auth.com/token_keys?zid=3"))).isTrue();
+	}
+}
@@ -5,6 +5,8 @@
  */
 package com.sap.cloud.security.token.validation.validators;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.junit.jupiter.api.Test;
 
 import org.apache.commons.io.IOUtils;
@@ -61,4 +63,17 @@ public class JsonWebKeySetFactoryTest {
 		assertThat(jwk.getPublicKey().getAlgorithm()).isEqualTo(jwk.getKeyAlgorithm().type());
 		assertThat(jwk.getId()).isEqualTo(JsonWebKey.DEFAULT_KEY_ID);
 	}
+
+	@Test
+	public void createFromJson_sharesKeySetsWithSameKeyMaterial() throws IOException {
+		Cache<String, JsonWebKeySet> keySets = Caffeine.newBuilder().build();
+		String reformattedKeys = jsonWebTokenKeys.replace("\"use\": \"sig\",", "").replace("\n  ", "\n");
+		String otherKeys = IOUtils.resourceToString("/iasJsonWebTokenKeys.json", StandardCharsets.UTF_8);
+
+		JsonWebKeySet jwks = JsonWebKeySetFactory.createFromJson(jsonWebTokenKeys, keySets);
+
+		assertThat(JsonWebKeySetFactory.createFromJson(reformattedKeys, keySets)).isSameAs(jwks);
+		assertThat(JsonWebKeySetFactory.createFromJson(otherKeys, keySets)).isNotSameAs(jwks);
+		assertThat(keySets.estimatedSize()).isEqualTo(2);
+	}
 }
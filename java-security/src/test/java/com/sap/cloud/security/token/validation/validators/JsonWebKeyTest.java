@@ -9,7 +9,10 @@ import org.junit.jupiter.api.Test;
 
 import org.junit.jupiter.api.BeforeEach;
 
+import java.security.spec.InvalidKeySpecException;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class JsonWebKeyTest {
 	private JsonWebKey cut;
@@ -36,4 +39,20 @@ public class JsonWebKeyTest {
 		assertThat(cut.hashCode()).isNotEqualTo(JsonWebKeyTestFactory.createDefault().hashCode());
 	}
 
+	@Test
+	public void getPublicKey_returnsKeyCreatedOnConstruction() throws Exception {
+		JsonWebKey jwk = JsonWebKeyTestFactory.createDefault();
+
+		assertThat(jwk.getPublicKey().getAlgorithm()).isEqualTo("RSA");
+		assertThat(jwk.getPublicKey()).isSameAs(jwk.getPublicKey());
+	}
+
+	@Test
+	public void getPublicKey_reportsInvalidKeyOnEveryCall() {
+		JsonWebKey invalidKey = new JsonWebKeyImpl(JwtSignatureAlgorithm.RS256, "kid", null, null,
+				"-----BEGIN PUBLIC KEY-----AAAA-----END PUBLIC KEY-----");
+
+		assertThatThrownBy(invalidKey::getPublicKey).isInstanceOf(InvalidKeySpecException.class);
+		assertThatThrownBy(invalidKey::getPublicKey).isInstanceOf(InvalidKeySpecException.class);
+	}
 }
@@ -0,0 +1,80 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.token.validation.validators;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtSignatureValidatorTest {
+
+	private static final byte[] CONTENT = "header.payload".getBytes(UTF_8);
+
+	private KeyPair keyPair;
+	private byte[] signature;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+		keyPairGenerator.initialize(2048);
+		keyPair = keyPairGenerator.generateKeyPair();
+		Signature signer = Signature.getInstance("SHA256withRSA");
+		signer.initSign(keyPair.getPrivate());
+		signer.update(CONTENT);
+		signature = signer.sign();
+	}
+
+	@Test
+	void verify_slicedSignatureBuffer() throws Exception {
+		ByteBuffer buffer = embed(signature);
+		buffer.position(3);
+		ByteBuffer slicedSignature = buffer.slice();
+		slicedSignature.limit(signature.length);
+
+		assertThat(JwtSignatureValidator.verify(verifier(), slicedSignature)).isTrue();
+	}
+
+	@Test
+	void verify_signatureBufferWithPosition() throws Exception {
+		ByteBuffer buffer = embed(signature);
+		buffer.position(3).limit(3 + signature.length);
+
+		assertThat(JwtSignatureValidator.verify(verifier(), buffer)).isTrue();
+		assertThat(JwtSignatureValidator.verify(verifier(), buffer.asReadOnlyBuffer())).isTrue();
+	}
+
+	@Test
+	void verify_manipulatedSignatureBuffer() throws Exception {
+		ByteBuffer buffer = embed(signature);
+		buffer.position(3).limit(3 + signature.length);
+		buffer.put(3, (byte) (signature[0] ^ 1));
+
+		assertThat(JwtSignatureValidator.verify(verifier(), buffer.slice())).isFalse();
+	}
+
+	private Signature verifier() throws Exception {
+		Signature verifier = Signature.getInstance("SHA256withRSA");
+		verifier.initVerify(keyPair.getPublic());
+		verifier.update(CONTENT);
+		return verifier;
+	}
+
+	/**
+	 * Wraps the signature into a larger array, preceded and followed by other bytes.
+	 */
+	private static ByteBuffer embed(byte[] signature) {
+		byte[] bytes = new byte[signature.length + 6];
+		System.arraycopy(signature, 0, bytes, 3, signature.length);
+		return ByteBuffer.wrap(bytes);
+	}
+}
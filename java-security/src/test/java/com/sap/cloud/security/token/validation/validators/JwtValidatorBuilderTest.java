@@ -103,6 +103,44 @@ public class JwtValidatorBuilderTest {
 				.hasAtLeastOneElementOfType(JwtSignatureValidator.class);
 	}
 
+	@Test
+	public void buildWithValidatedTokenCache_wrapsDefaultValidators() {
+		TokenTestValidator tokenValidator = TokenTestValidator.createValid();
+
+		List<Validator<Token>> validators = JwtValidatorBuilder
+				.getInstance(xsuaaConfigBuilder.withClientId("sb-cached-app!t123").build())
+				.withValidatedTokenCache(TokenKeyCacheConfiguration.defaultConfiguration())
+				.with(tokenValidator)
+				.build()
+				.getValidators();
+
+		assertThat(validators).hasSize(2).contains(tokenValidator);
+		assertThat(validators.get(0)).isInstanceOf(ValidatedTokenCache.class);
+		assertThat(((CombiningValidator<Token>) ((ValidatedTokenCache) validators.get(0)).getDelegate())
+				.getValidators())
+				.hasSize(3)
+				.hasAtLeastOneElementOfType(JwtTimestampValidator.class)
+				.hasAtLeastOneElementOfType(JwtAudienceValidator.class)
+				.hasAtLeastOneElementOfType(JwtSignatureValidator.class);
+	}
+
+	@Test
+	public void buildIasWithValidatedTokenCache_andProofTokenCheck_doesNotCache() {
+		OAuth2ServiceConfigurationBuilder iasConfigBuilder = OAuth2ServiceConfigurationBuilder.forService(IAS)
+				.withDomains("app.auth.com")
+				.withClientId("T0123456-proof");
+
+		List<Validator<Token>> validators = JwtValidatorBuilder.getInstance(iasConfigBuilder.build())
+				.withValidatedTokenCache(TokenKeyCacheConfiguration.defaultConfiguration())
+				.enableProofTokenCheck()
+				.build()
+				.getValidators();
+
+		assertThat(validators)
+				.hasSize(4)
+				.doesNotHaveAnyElementsOfTypes(ValidatedTokenCache.class);
+	}
+
 	@Test
 	public void buildLegacy_containsAllDefaultValidators() {
 		List<Validator<Token>> validators = JwtValidatorBuilder
@@ -14,6 +14,7 @@ import com.sap.cloud.security.xsuaa.client.OAuth2TokenKeyService;
 import com.sap.cloud.security.xsuaa.http.HttpHeaders;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.BeforeEach;
+import org.mockito.MockedStatic;
 
 import java.io.IOException;
 import java.net.URI;
@@ -22,7 +23,15 @@ import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
 import java.security.spec.InvalidKeySpecException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -65,10 +74,12 @@ public class OAuth2TokenKeyServiceWithCacheTest {
 
 	@Test
 	public void changeCacheConfiguration() {
-		cut = cut.withCacheConfiguration(TokenKeyCacheConfiguration.getInstance(Duration.ofSeconds(678), 1234, false));
+		cut = cut.withCacheConfiguration(
+				TokenKeyCacheConfiguration.getInstance(Duration.ofSeconds(678), 1234, false, 42));
 
 		assertThat(cut.getCacheConfiguration().getCacheSize()).isEqualTo(1234);
 		assertThat(cut.getCacheConfiguration().getCacheDuration()).isEqualTo(Duration.ofSeconds(678));
+		assertThat(cut.getCacheConfiguration().getMaxRequestsPerSecond()).isEqualTo(42);
 	}
 
 	@Test
@@ -91,6 +102,31 @@ public class OAuth2TokenKeyServiceWithCacheTest {
 		assertThat(cut.getCacheConfiguration().getCacheDuration()).isEqualTo(oldCacheDuration);
 	}
 
+	@Test
+	public void changeMaximumWeight_tooSmall_leftUnchanged() {
+		cut = cut.withMaximumWeight(OAuth2TokenKeyServiceWithCache.MIN_MAXIMUM_WEIGHT - 1);
+
+		assertThat(cut.getMaximumWeight()).isZero();
+	}
+
+	@Test
+	public void retrieveTokenKeys_withMaximumWeight_evictsEntriesBeyondWeight()
+			throws IOException, InvalidKeySpecException, NoSuchAlgorithmException {
+		when(tokenKeyServiceMock.retrieveTokenKeys(any(), anyMap()))
+				.thenReturn(IOUtils.resourceToString("/jsonWebTokenKeys.json", StandardCharsets.UTF_8));
+		cut = createCut(CACHE_CONFIGURATION).withMaximumWeight(OAuth2TokenKeyServiceWithCache.MIN_MAXIMUM_WEIGHT);
+		int tenants = 1000;
+
+		for (int round = 0; round < 2; round++) {
+			for (int i = 0; i < tenants; i++) {
+				cut.getPublicKey(keyParameters("key-id-0", URI.create("https://myauth.com/jwks_uri/" + i)), PARAMS);
+			}
+		}
+
+		// an entry is estimated with more than 1 KiB, so that not all entries fit into 1 MiB
+		verify(tokenKeyServiceMock, atLeast(tenants + 1)).retrieveTokenKeys(any(), anyMap());
+	}
+
 	@Test
 	public void retrieveTokenKeysUsesCorrectParams()
 			throws OAuth2ServiceException, InvalidKeySpecException, NoSuchAlgorithmException {
@@ -158,6 +194,200 @@ public class OAuth2TokenKeyServiceWithCacheTest {
 		verify(tokenKeyServiceMock, times(2)).retrieveTokenKeys(any(), eq(PARAMS));
 	}
 
+	@Test
+	public void signatureVerifiers_areKeptWhenRefreshReturnsSameKeys() throws Exception {
+		PublicKey key = cut.getPublicKey(keyParameters, PARAMS);
+		SignatureVerifierPool verifierPool = cut.getSignatureVerifierPool();
+		verifierPool.release(key, JwtSignatureAlgorithm.RS256, verifierPool.borrow(key, JwtSignatureAlgorithm.RS256));
+
+		testCacheTicker.advance(CACHE_CONFIGURATION.getCacheDuration());
+		cut.getPublicKey(keyParameters, PARAMS);
+
+		verify(tokenKeyServiceMock, times(2)).retrieveTokenKeys(any(), eq(PARAMS));
+		assertThat(cut.getPublicKey(keyParameters, PARAMS)).isSameAs(key);
+		assertThat(verifierPool.idleVerifiers(key, JwtSignatureAlgorithm.RS256)).isEqualTo(1);
+	}
+
+	@Test
+	public void signatureVerifiers_areDroppedWhenKeysAreReplaced() throws Exception {
+		PublicKey key = cut.getPublicKey(keyParameters, PARAMS);
+		SignatureVerifierPool verifierPool = cut.getSignatureVerifierPool();
+		verifierPool.release(key, JwtSignatureAlgorithm.RS256, verifierPool.borrow(key, JwtSignatureAlgorithm.RS256));
+		assertThat(verifierPool.idleVerifiers(key, JwtSignatureAlgorithm.RS256)).isEqualTo(1);
+		when(tokenKeyServiceMock.retrieveTokenKeys(eq(TOKEN_KEYS_URI), anyMap()))
+				.thenReturn(IOUtils.resourceToString("/iasJsonWebTokenKeys.json", StandardCharsets.UTF_8));
+
+		testCacheTicker.advance(CACHE_CONFIGURATION.getCacheDuration());
+		assertThatThrownBy(() -> cut.getPublicKey(keyParameters, PARAMS))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("key-id-0");
+
+		assertThat(verifierPool.idleVerifiers(key, JwtSignatureAlgorithm.RS256)).isZero();
+	}
+
+	@Test
+	public void identicalKeySetsOfDifferentTenants_areShared() throws Exception {
+		Map<String, String> otherParams = Map.of(HttpHeaders.X_APP_TID, "otherAppTid");
+		PublicKey key = cut.getPublicKey(keyParameters, PARAMS);
+		PublicKey otherTenantsKey = cut.getPublicKey(keyParameters, otherParams);
+
+		assertThat(otherTenantsKey).isSameAs(key);
+		verify(tokenKeyServiceMock, times(1)).retrieveTokenKeys(any(), eq(PARAMS));
+		verify(tokenKeyServiceMock, times(1)).retrieveTokenKeys(any(), eq(otherParams));
+	}
+
+	@Test
+	public void signatureVerifiers_ofSharedKeySet_areDroppedWhenNoTenantRefersToIt() throws Exception {
+		Map<String, String> otherParams = Map.of(HttpHeaders.X_APP_TID, "otherAppTid");
+		PublicKey key = cut.getPublicKey(keyParameters, PARAMS);
+		cut.getPublicKey(keyParameters, otherParams);
+		SignatureVerifierPool verifierPool = cut.getSignatureVerifierPool();
+		verifierPool.release(key, JwtSignatureAlgorithm.RS256, verifierPool.borrow(key, JwtSignatureAlgorithm.RS256));
+		String replacedTokenKeys = IOUtils.resourceToString("/iasJsonWebTokenKeys.json", StandardCharsets.UTF_8);
+		testCacheTicker.advance(CACHE_CONFIGURATION.getCacheDuration());
+
+		when(tokenKeyServiceMock.retrieveTokenKeys(TOKEN_KEYS_URI, PARAMS)).thenReturn(replacedTokenKeys);
+		assertThatThrownBy(() -> cut.getPublicKey(keyParameters, PARAMS)).isInstanceOf(IllegalArgumentException.class);
+		assertThat(verifierPool.idleVerifiers(key, JwtSignatureAlgorithm.RS256)).isEqualTo(1);
+
+		when(tokenKeyServiceMock.retrieveTokenKeys(TOKEN_KEYS_URI, otherParams)).thenReturn(replacedTokenKeys);
+		assertThatThrownBy(() -> cut.getPublicKey(keyParameters, otherParams))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThat(verifierPool.idleVerifiers(key, JwtSignatureAlgorithm.RS256)).isZero();
+	}
+
+	@Test
+	public void signatureVerifiers_areDroppedWhenCacheIsCleared() throws Exception {
+		PublicKey key = cut.getPublicKey(keyParameters, PARAMS);
+		SignatureVerifierPool verifierPool = cut.getSignatureVerifierPool();
+		verifierPool.release(key, JwtSignatureAlgorithm.RS256, verifierPool.borrow(key, JwtSignatureAlgorithm.RS256));
+
+		cut.clearCache();
+
+		assertThat(verifierPool.idleVerifiers(key, JwtSignatureAlgorithm.RS256)).isZero();
+	}
+
+	@Test
+	public void retrieveTokenKeys_refreshesAheadOfExpiration()
+			throws OAuth2ServiceException, InvalidKeySpecException, NoSuchAlgorithmException {
+		cut.getPublicKey(keyParameters, PARAMS);
+		testCacheTicker.advance(refreshAheadTime());
+		cut.getPublicKey(keyParameters, PARAMS);
+		verify(tokenKeyServiceMock, times(1)).retrieveTokenKeys(any(), eq(PARAMS));
+
+		testCacheTicker.advance(Duration.ofSeconds(1));
+		assertThat(cut.getPublicKey(keyParameters, PARAMS)).isNotNull();
+		cut.getPublicKey(keyParameters, PARAMS);
+
+		verify(tokenKeyServiceMock, times(2)).retrieveTokenKeys(any(), eq(PARAMS));
+	}
+
+	@Test
+	public void retrieveTokenKeys_servesStaleKeysWithinGracePeriodWhenRefreshFails()
+			throws OAuth2ServiceException, InvalidKeySpecException, NoSuchAlgorithmException {
+		PublicKey key = cut.getPublicKey(keyParameters, PARAMS);
+		when(tokenKeyServiceMock.retrieveTokenKeys(any(), anyMap()))
+				.thenThrow(new OAuth2ServiceException("Currently unavailable"));
+
+		testCacheTicker.advance(CACHE_CONFIGURATION.getCacheDuration()
+				.plus(OAuth2TokenKeyServiceWithCache.STALE_GRACE_PERIOD).minusSeconds(1));
+		assertThat(cut.getPublicKey(keyParameters, PARAMS)).isSameAs(key);
+
+		testCacheTicker.advance(Duration.ofSeconds(1));
+		assertThatThrownBy(() -> cut.getPublicKey(keyParameters, PARAMS))
+				.isInstanceOf(OAuth2ServiceException.class).hasMessageStartingWith("Currently unavailable");
+	}
+
+	@Test
+	public void retrieveTokenKeys_withLongerServerMaxAge_refreshesAfterMaxAge()
+			throws OAuth2ServiceException, InvalidKeySpecException, NoSuchAlgorithmException {
+		when(tokenKeyServiceMock.getMaxAge(TOKEN_KEYS_URI, PARAMS)).thenReturn(Duration.ofSeconds(800));
+		cut.getPublicKey(keyParameters, PARAMS);
+
+		testCacheTicker.advance(refreshAheadTime().plusSeconds(1));
+		cut.getPublicKey(keyParameters, PARAMS);
+		verify(tokenKeyServiceMock, times(1)).retrieveTokenKeys(any(), eq(PARAMS));
+
+		testCacheTicker.advance(refreshAheadTime().plusSeconds(1));
+		cut.getPublicKey(keyParameters, PARAMS);
+		verify(tokenKeyServiceMock, times(2)).retrieveTokenKeys(any(), eq(PARAMS));
+	}
+
+	@Test
+	public void retrieveTokenKeys_serverMaxAgeIsLimitedToMaxCacheDuration()
+			throws OAuth2ServiceException, InvalidKeySpecException, NoSuchAlgorithmException {
+		when(tokenKeyServiceMock.getMaxAge(TOKEN_KEYS_URI, PARAMS)).thenReturn(Duration.ofDays(1));
+		cut.getPublicKey(keyParameters, PARAMS);
+
+		testCacheTicker.advance(OAuth2TokenKeyServiceWithCache.MAX_CACHE_DURATION
+				.multipliedBy(OAuth2TokenKeyServiceWithCache.REFRESH_AHEAD_PERCENTAGE).dividedBy(100).plusSeconds(1));
+		cut.getPublicKey(keyParameters, PARAMS);
+
+		verify(tokenKeyServiceMock, times(2)).retrieveTokenKeys(any(), eq(PARAMS));
+	}
+
+	@Test
+	public void retrieveTokenKeys_withShorterServerMaxAge_keepsCacheDuration()
+			throws OAuth2ServiceException, InvalidKeySpecException, NoSuchAlgorithmException {
+		when(tokenKeyServiceMock.getMaxAge(TOKEN_KEYS_URI, PARAMS)).thenReturn(Duration.ZERO);
+		cut.getPublicKey(keyParameters, PARAMS);
+
+		testCacheTicker.advance(refreshAheadTime());
+		cut.getPublicKey(keyParameters, PARAMS);
+
+		verify(tokenKeyServiceMock, times(1)).retrieveTokenKeys(any(), eq(PARAMS));
+	}
+
+	@Test
+	public void retrieveTokenKeys_agedTokenKeys_areRefreshedRelativeToTheirRetrieval()
+			throws OAuth2ServiceException, InvalidKeySpecException, NoSuchAlgorithmException {
+		when(tokenKeyServiceMock.getAge(TOKEN_KEYS_URI, PARAMS)).thenReturn(Duration.ofMinutes(2), (Duration) null);
+		cut.getPublicKey(keyParameters, PARAMS);
+
+		testCacheTicker.advance(refreshAheadTime().minusMinutes(2).minusSeconds(1));
+		cut.getPublicKey(keyParameters, PARAMS);
+		verify(tokenKeyServiceMock, times(1)).retrieveTokenKeys(any(), eq(PARAMS));
+
+		testCacheTicker.advance(Duration.ofSeconds(1));
+		cut.getPublicKey(keyParameters, PARAMS);
+		verify(tokenKeyServiceMock, times(2)).retrieveTokenKeys(any(), eq(PARAMS));
+
+		testCacheTicker.advance(refreshAheadTime().minusSeconds(1));
+		cut.getPublicKey(keyParameters, PARAMS);
+		verify(tokenKeyServiceMock, times(2)).retrieveTokenKeys(any(), eq(PARAMS));
+	}
+
+	@Test
+	public void retrieveTokenKeys_agedTokenKeys_expireRelativeToTheirRetrieval()
+			throws OAuth2ServiceException, InvalidKeySpecException, NoSuchAlgorithmException {
+		Duration age = Duration.ofMinutes(8);
+		when(tokenKeyServiceMock.getAge(TOKEN_KEYS_URI, PARAMS)).thenReturn(age);
+		PublicKey key = cut.getPublicKey(keyParameters, PARAMS);
+		when(tokenKeyServiceMock.retrieveTokenKeys(any(), anyMap()))
+				.thenThrow(new OAuth2ServiceException("Currently unavailable"));
+
+		testCacheTicker.advance(CACHE_CONFIGURATION.getCacheDuration()
+				.plus(OAuth2TokenKeyServiceWithCache.STALE_GRACE_PERIOD).minus(age).minusSeconds(1));
+		assertThat(cut.getPublicKey(keyParameters, PARAMS)).isSameAs(key);
+
+		testCacheTicker.advance(Duration.ofSeconds(1));
+		assertThatThrownBy(() -> cut.getPublicKey(keyParameters, PARAMS))
+				.isInstanceOf(OAuth2ServiceException.class).hasMessageStartingWith("Currently unavailable");
+	}
+
+	@Test
+	public void retrieveTokenKeys_unchangedTokenKeys_areNotParsedAgain()
+			throws OAuth2ServiceException, InvalidKeySpecException, NoSuchAlgorithmException {
+		try (MockedStatic<JsonWebKeySetFactory> factory = mockStatic(JsonWebKeySetFactory.class, CALLS_REAL_METHODS)) {
+			cut.getPublicKey(keyParameters, PARAMS);
+
+			testCacheTicker.advance(refreshAheadTime().plusSeconds(1));
+			cut.getPublicKey(keyParameters, PARAMS);
+
+			verify(tokenKeyServiceMock, times(2)).retrieveTokenKeys(any(), eq(PARAMS));
+			factory.verify(() -> JsonWebKeySetFactory.createFromJson(any(), any()), times(1));
+		}
+	}
+
 	@Test
 	public void cacheStatistics_isDisabled_statisticsObjectIsNull() {
 		cut = createCut(TokenKeyCacheConfiguration
@@ -185,7 +415,92 @@ public class OAuth2TokenKeyServiceWithCacheTest {
 	}
 
 	@Test
-	public void retrieveTokenKeysDoesNotCacheOnServerException()
+	public void retrieveTokenKeys_forRotatedKeyId_refreshesCachedKeys()
+			throws IOException, InvalidKeySpecException, NoSuchAlgorithmException {
+		cut.getPublicKey(keyParameters, PARAMS);
+		when(tokenKeyServiceMock.retrieveTokenKeys(eq(TOKEN_KEYS_URI), anyMap())).thenReturn(rotatedTokenKeys());
+
+		assertThat(cut.getPublicKey(keyParameters("key-id-2"), PARAMS)).isNotNull();
+		assertThat(cut.getPublicKey(keyParameters("key-id-2"), PARAMS)).isNotNull();
+
+		verify(tokenKeyServiceMock, times(2)).retrieveTokenKeys(any(), eq(PARAMS));
+	}
+
+	@Test
+	public void retrieveTokenKeys_forUnknownKeyId_refreshesAtMostOncePerInterval()
+			throws OAuth2ServiceException, InvalidKeySpecException, NoSuchAlgorithmException {
+		cut.getPublicKey(keyParameters, PARAMS);
+
+		assertThatThrownBy(() -> cut.getPublicKey(keyParameters("unknown-1"), PARAMS))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("unknown-1");
+		assertThatThrownBy(() -> cut.getPublicKey(keyParameters("unknown-2"), PARAMS))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("unknown-2");
+		verify(tokenKeyServiceMock, times(2)).retrieveTokenKeys(any(), eq(PARAMS));
+
+		testCacheTicker.advance(OAuth2TokenKeyServiceWithCache.MIN_FORCED_REFRESH_INTERVAL);
+		assertThatThrownBy(() -> cut.getPublicKey(keyParameters("unknown-2"), PARAMS))
+				.isInstanceOf(IllegalArgumentException.class);
+		verify(tokenKeyServiceMock, times(3)).retrieveTokenKeys(any(), eq(PARAMS));
+	}
+
+	@Test
+	public void retrieveTokenKeys_forRotatedKeyId_concurrentCallersShareRefresh() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			cut = OAuth2TokenKeyServiceWithCache.getInstance(testCacheTicker, executor)
+					.withTokenKeyService(tokenKeyServiceMock)
+					.withCacheConfiguration(CACHE_CONFIGURATION);
+			cut.getPublicKey(keyParameters, PARAMS);
+			CountDownLatch refreshStarted = new CountDownLatch(1);
+			CountDownLatch releaseRefresh = new CountDownLatch(1);
+			String rotatedTokenKeys = rotatedTokenKeys();
+			when(tokenKeyServiceMock.retrieveTokenKeys(eq(TOKEN_KEYS_URI), anyMap())).thenAnswer(invocation -> {
+				refreshStarted.countDown();
+				releaseRefresh.await(5, TimeUnit.SECONDS);
+				return rotatedTokenKeys;
+			});
+
+			List<Future<PublicKey>> keys = new ArrayList<>();
+			for (int i = 0; i < 3; i++) {
+				keys.add(executor.submit(() -> cut.getPublicKey(keyParameters("key-id-2"), PARAMS)));
+			}
+			assertThat(refreshStarted.await(5, TimeUnit.SECONDS)).isTrue();
+			releaseRefresh.countDown();
+
+			for (Future<PublicKey> key : keys) {
+				assertThat(key.get(5, TimeUnit.SECONDS)).isNotNull();
+			}
+			verify(tokenKeyServiceMock, times(2)).retrieveTokenKeys(any(), eq(PARAMS));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void retrieveTokenKeys_concurrentFirstCallers_shareOneCache() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<PublicKey>> keys = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				keys.add(executor.submit(() -> {
+					start.await();
+					return cut.getPublicKey(keyParameters, PARAMS);
+				}));
+			}
+			start.countDown();
+
+			for (Future<PublicKey> key : keys) {
+				assertThat(key.get(5, TimeUnit.SECONDS)).isNotNull();
+			}
+			verify(tokenKeyServiceMock, times(1)).retrieveTokenKeys(any(), eq(PARAMS));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void retrieveTokenKeysCachesServerExceptionShortly()
 			throws OAuth2ServiceException, InvalidKeySpecException, NoSuchAlgorithmException {
 		Map<String, String> invalidParams = Map.of(HttpHeaders.X_APP_TID, "invalidAppTid");
 		when(tokenKeyServiceMock.retrieveTokenKeys(any(), eq(invalidParams)))
@@ -196,6 +511,12 @@ public class OAuth2TokenKeyServiceWithCacheTest {
 				() -> cut.getPublicKey(keyParameters, invalidParams))
 				.isInstanceOf(OAuth2ServiceException.class).hasMessageStartingWith("Invalid");
 
+		assertThatThrownBy(
+				() -> cut.getPublicKey(keyParameters, invalidParams))
+				.isInstanceOf(OAuth2ServiceException.class).hasMessageStartingWith("Invalid");
+		verify(tokenKeyServiceMock, times(1)).retrieveTokenKeys(any(), eq(invalidParams));
+
+		testCacheTicker.advance(OAuth2TokenKeyServiceWithCache.NEGATIVE_CACHE_DURATION);
 		assertThatThrownBy(
 				() -> cut.getPublicKey(keyParameters, invalidParams))
 				.isInstanceOf(OAuth2ServiceException.class).hasMessageStartingWith("Invalid");
@@ -204,6 +525,173 @@ public class OAuth2TokenKeyServiceWithCacheTest {
 		verify(tokenKeyServiceMock, times(2)).retrieveTokenKeys(any(), eq(invalidParams));
 	}
 
+	@Test
+	public void retrieveTokenKeys_forNewTenants_isRateLimitedPerEndpoint() throws OAuth2ServiceException {
+		int maxRequestsPerSecond = cut.getCacheConfiguration().getMaxRequestsPerSecond();
+		int rateLimited = 0;
+		for (int window = 0; window < 3; window++) {
+			for (int i = 0; i < 2 * maxRequestsPerSecond; i++) {
+				Map<String, String> params = Map.of(HttpHeaders.X_APP_TID, "tenant-" + window + "-" + i);
+				try {
+					cut.getPublicKey(keyParameters, params);
+				} catch (OAuth2ServiceException | InvalidKeySpecException | NoSuchAlgorithmException e) {
+					assertThat(e).hasMessageContaining("more than " + maxRequestsPerSecond + " requests");
+					rateLimited++;
+				}
+			}
+			verify(tokenKeyServiceMock, times((window + 1) * maxRequestsPerSecond))
+					.retrieveTokenKeys(eq(TOKEN_KEYS_URI), anyMap());
+			testCacheTicker.advance(OAuth2TokenKeyServiceWithCache.REQUEST_RATE_WINDOW);
+		}
+		assertThat(rateLimited).isEqualTo(3 * maxRequestsPerSecond);
+	}
+
+	@Test
+	public void retrieveTokenKeys_rateLimitedTenant_isRequestedInNextWindow()
+			throws OAuth2ServiceException, InvalidKeySpecException, NoSuchAlgorithmException {
+		cut = createCut(TokenKeyCacheConfiguration.getInstance(Duration.ofSeconds(600), 1000, false, 1));
+		Map<String, String> otherParams = Map.of(HttpHeaders.X_APP_TID, "other-tenant");
+		cut.getPublicKey(keyParameters, PARAMS);
+
+		assertThatThrownBy(() -> cut.getPublicKey(keyParameters, otherParams))
+				.isInstanceOf(OAuth2ServiceException.class).hasMessageContaining("more than 1 requests");
+		testCacheTicker.advance(OAuth2TokenKeyServiceWithCache.REQUEST_RATE_WINDOW);
+
+		assertThat(cut.getPublicKey(keyParameters, otherParams)).isNotNull();
+		assertThat(cut.getPublicKey(keyParameters, PARAMS)).isNotNull();
+		verify(tokenKeyServiceMock, times(1)).retrieveTokenKeys(any(), eq(PARAMS));
+		verify(tokenKeyServiceMock, times(1)).retrieveTokenKeys(any(), eq(otherParams));
+	}
+
+	@Test
+	public void retrieveTokenKeys_retriesOfFailedRequests_areRateLimitedPerEndpoint() throws OAuth2ServiceException {
+		cut = createCut(TokenKeyCacheConfiguration.getInstance(Duration.ofSeconds(600), 1000, false, 2));
+		when(tokenKeyServiceMock.retrieveTokenKeys(eq(TOKEN_KEYS_URI), anyMap()))
+				.thenThrow(new OAuth2ServiceException("Invalid tenant"));
+		for (int i = 0; i < 2; i++) {
+			Map<String, String> params = Map.of(HttpHeaders.X_APP_TID, "tenant-" + i);
+			assertThatThrownBy(() -> cut.getPublicKey(keyParameters, params))
+					.isInstanceOf(OAuth2ServiceException.class).hasMessage("Invalid tenant");
+		}
+
+		testCacheTicker.advance(OAuth2TokenKeyServiceWithCache.NEGATIVE_CACHE_DURATION);
+		for (int i = 0; i < 2; i++) {
+			Map<String, String> params = Map.of(HttpHeaders.X_APP_TID, "tenant-" + i);
+			assertThatThrownBy(() -> cut.getPublicKey(keyParameters, params))
+					.isInstanceOf(OAuth2ServiceException.class).hasMessage("Invalid tenant");
+		}
+		Map<String, String> oneTooMany = Map.of(HttpHeaders.X_APP_TID, "tenant-2");
+		assertThatThrownBy(() -> cut.getPublicKey(keyParameters, oneTooMany))
+				.isInstanceOf(OAuth2ServiceException.class).hasMessageContaining("more than 2 requests");
+		verify(tokenKeyServiceMock, times(4)).retrieveTokenKeys(eq(TOKEN_KEYS_URI), anyMap());
+
+		testCacheTicker.advance(OAuth2TokenKeyServiceWithCache.REQUEST_RATE_WINDOW);
+		assertThatThrownBy(() -> cut.getPublicKey(keyParameters, oneTooMany))
+				.isInstanceOf(OAuth2ServiceException.class).hasMessage("Invalid tenant");
+		verify(tokenKeyServiceMock, times(5)).retrieveTokenKeys(eq(TOKEN_KEYS_URI), anyMap());
+	}
+
+	@Test
+	public void retrieveTokenKeys_forUnknownKeyIds_isRateLimitedPerEndpoint()
+			throws OAuth2ServiceException, InvalidKeySpecException, NoSuchAlgorithmException {
+		cut = createCut(TokenKeyCacheConfiguration.getInstance(Duration.ofSeconds(600), 1000, false, 1));
+		Map<String, String> otherParams = Map.of(HttpHeaders.X_APP_TID, "other-tenant");
+		cut.getPublicKey(keyParameters, PARAMS);
+		testCacheTicker.advance(OAuth2TokenKeyServiceWithCache.REQUEST_RATE_WINDOW);
+		cut.getPublicKey(keyParameters, otherParams);
+		testCacheTicker.advance(OAuth2TokenKeyServiceWithCache.REQUEST_RATE_WINDOW);
+
+		assertThatThrownBy(() -> cut.getPublicKey(keyParameters("unknown"), PARAMS))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> cut.getPublicKey(keyParameters("unknown"), otherParams))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		verify(tokenKeyServiceMock, times(2)).retrieveTokenKeys(any(), eq(PARAMS));
+		verify(tokenKeyServiceMock, times(1)).retrieveTokenKeys(any(), eq(otherParams));
+	}
+
+	@Test
+	public void prefetchTokenKeys_isNotRateLimited() throws OAuth2ServiceException {
+		cut = createCut(TokenKeyCacheConfiguration.getInstance(Duration.ofSeconds(600), 1000, false, 1));
+
+		for (int i = 0; i < 5; i++) {
+			cut.prefetchTokenKeys(TOKEN_KEYS_URI, Map.of(HttpHeaders.X_APP_TID, "tenant-" + i));
+		}
+
+		verify(tokenKeyServiceMock, times(5)).retrieveTokenKeys(eq(TOKEN_KEYS_URI), anyMap());
+	}
+
+	@Test
+	public void retrieveTokenKeys_withoutRequestLimit_isNotRateLimited() throws OAuth2ServiceException {
+		cut = createCut(TokenKeyCacheConfiguration.getInstance(Duration.ofSeconds(600), 1000, false, 0));
+		when(tokenKeyServiceMock.retrieveTokenKeys(eq(TOKEN_KEYS_URI), anyMap()))
+				.thenThrow(new OAuth2ServiceException("Invalid tenant"));
+		assertThatThrownBy(() -> cut.getPublicKey(keyParameters, PARAMS)).isInstanceOf(OAuth2ServiceException.class);
+
+		for (int i = 0; i < 3; i++) {
+			testCacheTicker.advance(OAuth2TokenKeyServiceWithCache.NEGATIVE_CACHE_DURATION);
+			assertThatThrownBy(() -> cut.getPublicKey(keyParameters, PARAMS))
+					.isInstanceOf(OAuth2ServiceException.class).hasMessage("Invalid tenant");
+		}
+		verify(tokenKeyServiceMock, times(4)).retrieveTokenKeys(eq(TOKEN_KEYS_URI), anyMap());
+	}
+
+	@Test
+	public void retrieveTokenKeys_withSecondLevelCache_sharesTokenKeysWithOtherInstances()
+			throws OAuth2ServiceException, InvalidKeySpecException, NoSuchAlgorithmException {
+		SecondLevelCache secondLevelCache = new InMemorySecondLevelCache();
+		cut.withSecondLevelCache(secondLevelCache).getPublicKey(keyParameters, PARAMS);
+
+		OAuth2TokenKeyServiceWithCache otherInstance = createCut(CACHE_CONFIGURATION)
+				.withSecondLevelCache(secondLevelCache);
+
+		assertThat(otherInstance.getPublicKey(keyParameters, PARAMS)).isNotNull();
+		verify(tokenKeyServiceMock, times(1)).retrieveTokenKeys(any(), eq(PARAMS));
+	}
+
+	@Test
+	public void retrieveTokenKeys_forRotatedKeyId_bypassesSecondLevelCache()
+			throws IOException, InvalidKeySpecException, NoSuchAlgorithmException {
+		SecondLevelCache secondLevelCache = new InMemorySecondLevelCache();
+		cut.withSecondLevelCache(secondLevelCache).getPublicKey(keyParameters, PARAMS);
+		when(tokenKeyServiceMock.retrieveTokenKeys(eq(TOKEN_KEYS_URI), anyMap())).thenReturn(rotatedTokenKeys());
+
+		assertThat(cut.getPublicKey(keyParameters("key-id-2"), PARAMS)).isNotNull();
+		assertThat(createCut(CACHE_CONFIGURATION).withSecondLevelCache(secondLevelCache)
+				.getPublicKey(keyParameters("key-id-2"), PARAMS)).isNotNull();
+		verify(tokenKeyServiceMock, times(2)).retrieveTokenKeys(any(), eq(PARAMS));
+	}
+
+	@Test
+	public void retrieveTokenKeys_failingSecondLevelCache_requestsIdentityService()
+			throws OAuth2ServiceException, InvalidKeySpecException, NoSuchAlgorithmException {
+		SecondLevelCache secondLevelCache = mock(SecondLevelCache.class);
+		when(secondLevelCache.get(any())).thenThrow(new IllegalStateException("Connection refused"));
+		doThrow(new IllegalStateException("Connection refused")).when(secondLevelCache).put(any(), any(), any());
+
+		assertThat(cut.withSecondLevelCache(secondLevelCache).getPublicKey(keyParameters, PARAMS)).isNotNull();
+		verify(tokenKeyServiceMock, times(1)).retrieveTokenKeys(any(), eq(PARAMS));
+	}
+
+	@Test
+	public void cacheKey_equalsKeyWithSameUriAndNonNullParameters() {
+		Map<String, String> params = new HashMap<>();
+		params.put(HttpHeaders.X_APP_TID, APP_TID);
+		params.put(HttpHeaders.X_AZP, null);
+		OAuth2TokenKeyServiceWithCache.CacheKey cacheKey = new OAuth2TokenKeyServiceWithCache.CacheKey(TOKEN_KEYS_URI,
+				params);
+		params.put(HttpHeaders.X_CLIENT_ID, CLIENT_ID);
+
+		assertThat(cacheKey).isEqualTo(new OAuth2TokenKeyServiceWithCache.CacheKey(TOKEN_KEYS_URI,
+				Map.of(HttpHeaders.X_APP_TID, APP_TID)))
+				.hasSameHashCodeAs(new OAuth2TokenKeyServiceWithCache.CacheKey(TOKEN_KEYS_URI,
+						Map.of(HttpHeaders.X_APP_TID, APP_TID)))
+				.isNotEqualTo(new OAuth2TokenKeyServiceWithCache.CacheKey(URI.create("http://another/url"),
+						Map.of(HttpHeaders.X_APP_TID, APP_TID)))
+				.hasToString("url:https://myauth.com/jwks_uri|x-app_tid:app_tid");
+		assertThat(cacheKey.params()).containsOnlyKeys(HttpHeaders.X_APP_TID);
+	}
+
 	@Test
 	public void retrieveTokenKeysForNewEndpoint()
 			throws OAuth2ServiceException, InvalidKeySpecException, NoSuchAlgorithmException {
@@ -214,9 +702,27 @@ public class OAuth2TokenKeyServiceWithCacheTest {
 		verify(tokenKeyServiceMock, times(2)).retrieveTokenKeys(any(), eq(PARAMS));
 	}
 
+	private static OAuth2TokenKeyServiceWithCache.KeyParameters keyParameters(String keyId) {
+		return keyParameters(keyId, URI.create("https://myauth.com/jwks_uri"));
+	}
+
+	private static OAuth2TokenKeyServiceWithCache.KeyParameters keyParameters(String keyId, URI keyUri) {
+		return new OAuth2TokenKeyServiceWithCache.KeyParameters(JwtSignatureAlgorithm.RS256, keyId, keyUri);
+	}
+
+	private static String rotatedTokenKeys() throws IOException {
+		return IOUtils.resourceToString("/jsonWebTokenKeys.json", StandardCharsets.UTF_8)
+				.replace("key-id-1", "key-id-2");
+	}
+
+	private static Duration refreshAheadTime() {
+		return CACHE_CONFIGURATION.getCacheDuration()
+				.multipliedBy(OAuth2TokenKeyServiceWithCache.REFRESH_AHEAD_PERCENTAGE).dividedBy(100);
+	}
+
 	private OAuth2TokenKeyServiceWithCache createCut(TokenKeyCacheConfiguration cacheConfiguration) {
 		return OAuth2TokenKeyServiceWithCache
-				.getInstance(testCacheTicker)
+				.getInstance(testCacheTicker, Runnable::run)
 				.withTokenKeyService(tokenKeyServiceMock)
 				.withCacheConfiguration(cacheConfiguration);
 	}
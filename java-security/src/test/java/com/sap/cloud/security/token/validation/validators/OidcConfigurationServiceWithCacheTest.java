@@ -18,6 +18,15 @@ import java.io.IOException;
 import java.net.URI;
 import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
@@ -115,6 +124,84 @@ public class OidcConfigurationServiceWithCacheTest {
 				.retrieveEndpoints(DISCOVERY_URI);
 	}
 
+	@Test
+	public void retrieveEndpoints_concurrentRequestsShareSingleRequest() throws Exception {
+		CountDownLatch requestStarted = new CountDownLatch(1);
+		CountDownLatch releaseRequest = new CountDownLatch(1);
+		when(oidcConfigServiceMock.retrieveEndpoints(any())).thenAnswer(invocation -> {
+			requestStarted.countDown();
+			releaseRequest.await(5, TimeUnit.SECONDS);
+			return oidcEndpointsProviderMock;
+		});
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			List<Future<OAuth2ServiceEndpointsProvider>> endpoints = new ArrayList<>();
+			for (int i = 0; i < 3; i++) {
+				endpoints.add(executor.submit(() -> cut.getOrRetrieveEndpoints(DISCOVERY_URI)));
+			}
+			Assertions.assertThat(requestStarted.await(5, TimeUnit.SECONDS)).isTrue();
+			releaseRequest.countDown();
+
+			for (Future<OAuth2ServiceEndpointsProvider> endpointsProvider : endpoints) {
+				Assertions.assertThat(endpointsProvider.get(5, TimeUnit.SECONDS)).isSameAs(oidcEndpointsProviderMock);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		Mockito.verify(oidcConfigServiceMock, times(1)).retrieveEndpoints(DISCOVERY_URI);
+	}
+
+	@Test
+	public void retrieveEndpoints_refreshesAheadOfExpiration() throws OAuth2ServiceException {
+		AtomicLong ticker = new AtomicLong();
+		cut = OidcConfigurationServiceWithCache.getInstance(ticker::get, Runnable::run)
+				.withOidcConfigurationService(oidcConfigServiceMock);
+		OAuth2ServiceEndpointsProvider refreshedEndpointsProvider = Mockito.mock(OAuth2ServiceEndpointsProvider.class);
+		cut.getOrRetrieveEndpoints(DISCOVERY_URI);
+		when(oidcConfigServiceMock.retrieveEndpoints(any())).thenReturn(refreshedEndpointsProvider);
+
+		ticker.addAndGet(TimeUnit.SECONDS.toNanos(600 * OidcConfigurationServiceWithCache.REFRESH_AHEAD_PERCENTAGE / 100));
+		Assertions.assertThat(cut.getOrRetrieveEndpoints(DISCOVERY_URI)).isSameAs(oidcEndpointsProviderMock);
+
+		ticker.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		Assertions.assertThat(cut.getOrRetrieveEndpoints(DISCOVERY_URI)).isSameAs(refreshedEndpointsProvider);
+		Mockito.verify(oidcConfigServiceMock, times(2)).retrieveEndpoints(DISCOVERY_URI);
+	}
+
+	@Test
+	public void refreshFails_servesCachedEndpoints() throws OAuth2ServiceException {
+		AtomicLong ticker = new AtomicLong();
+		cut = OidcConfigurationServiceWithCache.getInstance(ticker::get, Runnable::run)
+				.withOidcConfigurationService(oidcConfigServiceMock);
+		cut.getOrRetrieveEndpoints(DISCOVERY_URI);
+		when(oidcConfigServiceMock.retrieveEndpoints(any()))
+				.thenThrow(new OAuth2ServiceException("Currently unavailable"));
+
+		ticker.addAndGet(TimeUnit.SECONDS.toNanos(599));
+		Assertions.assertThat(cut.getOrRetrieveEndpoints(DISCOVERY_URI)).isSameAs(oidcEndpointsProviderMock);
+
+		ticker.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		assertThatThrownBy(() -> cut.getOrRetrieveEndpoints(DISCOVERY_URI))
+				.isInstanceOf(OAuth2ServiceException.class).hasMessageStartingWith("Currently unavailable");
+	}
+
+	@Test
+	public void agedEndpoints_expireRelativeToTheirRetrieval() throws OAuth2ServiceException {
+		AtomicLong ticker = new AtomicLong();
+		cut = OidcConfigurationServiceWithCache.getInstance(ticker::get, Runnable::run)
+				.withOidcConfigurationService(oidcConfigServiceMock);
+		when(oidcConfigServiceMock.getAge(DISCOVERY_URI)).thenReturn(Duration.ofMinutes(8));
+		cut.getOrRetrieveEndpoints(DISCOVERY_URI);
+
+		ticker.addAndGet(TimeUnit.SECONDS.toNanos(119));
+		cut.getOrRetrieveEndpoints(DISCOVERY_URI);
+		Mockito.verify(oidcConfigServiceMock, times(1)).retrieveEndpoints(DISCOVERY_URI);
+
+		ticker.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		cut.getOrRetrieveEndpoints(DISCOVERY_URI);
+		Mockito.verify(oidcConfigServiceMock, times(2)).retrieveEndpoints(DISCOVERY_URI);
+	}
+
 	@Test
 	public void retrieveEndpointsForAnotherIssuer()
 			throws OAuth2ServiceException {
@@ -125,4 +212,33 @@ public class OidcConfigurationServiceWithCacheTest {
 				.retrieveEndpoints(any());
 	}
 
+	@Test
+	public void retrieveEndpoints_withSecondLevelCache_sharesEndpointsWithOtherInstances()
+			throws OAuth2ServiceException {
+		when(oidcEndpointsProviderMock.getJwksUri()).thenReturn(URI.create("https://myauth.com/jwks_uri"));
+		when(oidcEndpointsProviderMock.getTokenEndpoint()).thenReturn(URI.create("https://myauth.com/token"));
+		SecondLevelCache secondLevelCache = new InMemorySecondLevelCache();
+		cut.withSecondLevelCache(secondLevelCache).getOrRetrieveEndpoints(DISCOVERY_URI);
+
+		OAuth2ServiceEndpointsProvider endpoints = OidcConfigurationServiceWithCache.getInstance()
+				.withOidcConfigurationService(oidcConfigServiceMock)
+				.withSecondLevelCache(secondLevelCache)
+				.getOrRetrieveEndpoints(DISCOVERY_URI);
+
+		Assertions.assertThat(endpoints.getJwksUri()).isEqualTo(URI.create("https://myauth.com/jwks_uri"));
+		Assertions.assertThat(endpoints.getTokenEndpoint()).isEqualTo(URI.create("https://myauth.com/token"));
+		Mockito.verify(oidcConfigServiceMock, times(1)).retrieveEndpoints(DISCOVERY_URI);
+	}
+
+	@Test
+	public void retrieveEndpoints_failingSecondLevelCache_requestsIdentityService() throws OAuth2ServiceException {
+		SecondLevelCache secondLevelCache = Mockito.mock(SecondLevelCache.class);
+		when(secondLevelCache.get(any())).thenThrow(new IllegalStateException("Connection refused"));
+
+		OAuth2ServiceEndpointsProvider endpoints = cut.withSecondLevelCache(secondLevelCache)
+				.getOrRetrieveEndpoints(DISCOVERY_URI);
+
+		Assertions.assertThat(endpoints).isSameAs(oidcEndpointsProviderMock);
+	}
+
 }
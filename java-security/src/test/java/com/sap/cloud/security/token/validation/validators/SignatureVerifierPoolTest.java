@@ -0,0 +1,95 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.token.validation.validators;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.Signature;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SignatureVerifierPoolTest {
+
+	private static final JwtSignatureAlgorithm RS256 = JwtSignatureAlgorithm.RS256;
+
+	private SignatureVerifierPool cut;
+	private KeyPair keyPair;
+	private PublicKey publicKey;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		cut = new SignatureVerifierPool(10, 2);
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+		keyPairGenerator.initialize(2048);
+		keyPair = keyPairGenerator.generateKeyPair();
+		publicKey = keyPair.getPublic();
+	}
+
+	@Test
+	void borrow_returnsReleasedVerifier() throws Exception {
+		Signature verifier = cut.borrow(publicKey, RS256);
+		assertThat(cut.idleVerifiers(publicKey, RS256)).isZero();
+
+		cut.release(publicKey, RS256, verifier);
+
+		assertThat(cut.idleVerifiers(publicKey, RS256)).isEqualTo(1);
+		assertThat(cut.borrow(publicKey, RS256)).isSameAs(verifier);
+		assertThat(cut.borrow(publicKey, RS256)).isNotSameAs(verifier);
+	}
+
+	@Test
+	void borrow_reusedVerifierVerifiesSignatures() throws Exception {
+		byte[] content = "header.payload".getBytes(UTF_8);
+		byte[] signature = sign(content);
+
+		for (int i = 0; i < 3; i++) {
+			Signature verifier = cut.borrow(publicKey, RS256);
+			verifier.update(content);
+			assertThat(verifier.verify(signature)).isTrue();
+			cut.release(publicKey, RS256, verifier);
+		}
+		Signature verifier = cut.borrow(publicKey, RS256);
+		verifier.update("header.manipulated".getBytes(UTF_8));
+		assertThat(verifier.verify(signature)).isFalse();
+	}
+
+	@Test
+	void release_isBoundedPerKey() throws Exception {
+		Signature verifier1 = cut.borrow(publicKey, RS256);
+		Signature verifier2 = cut.borrow(publicKey, RS256);
+		Signature verifier3 = cut.borrow(publicKey, RS256);
+
+		cut.release(publicKey, RS256, verifier1);
+		cut.release(publicKey, RS256, verifier2);
+		cut.release(publicKey, RS256, verifier3);
+
+		assertThat(cut.idleVerifiers(publicKey, RS256)).isEqualTo(2);
+	}
+
+	@Test
+	void invalidate_dropsVerifiersOfKey() throws Exception {
+		PublicKey otherKey = KeyPairGenerator.getInstance("RSA").generateKeyPair().getPublic();
+		cut.release(publicKey, RS256, cut.borrow(publicKey, RS256));
+		cut.release(otherKey, RS256, cut.borrow(otherKey, RS256));
+
+		cut.invalidate(publicKey);
+
+		assertThat(cut.idleVerifiers(publicKey, RS256)).isZero();
+		assertThat(cut.idleVerifiers(otherKey, RS256)).isEqualTo(1);
+	}
+
+	private byte[] sign(byte[] content) throws Exception {
+		Signature signer = Signature.getInstance(RS256.javaSignature());
+		signer.initSign(keyPair.getPrivate());
+		signer.update(content);
+		return signer.sign();
+	}
+}
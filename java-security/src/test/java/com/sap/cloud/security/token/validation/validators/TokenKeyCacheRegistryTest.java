@@ -0,0 +1,110 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.token.validation.validators;
+
+import com.sap.cloud.security.config.OAuth2ServiceConfiguration;
+import com.sap.cloud.security.config.OAuth2ServiceConfigurationBuilder;
+import com.sap.cloud.security.config.ServiceConstants;
+import com.sap.cloud.security.token.Token;
+import com.sap.cloud.security.token.validation.CombiningValidator;
+import com.sap.cloud.security.xsuaa.client.OAuth2TokenKeyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.sap.cloud.security.config.Service.XSUAA;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class TokenKeyCacheRegistryTest {
+	private TokenKeyCacheRegistry cut;
+
+	@BeforeEach
+	public void setup() {
+		cut = new TokenKeyCacheRegistry();
+	}
+
+	@Test
+	public void acquire_sameIdentityProvider_returnsSameCaches() {
+		TokenKeyCacheRegistry.SharedCaches caches = cut.acquire("XSUAA:auth.com", null, null);
+
+		assertThat(cut.acquire("XSUAA:auth.com", null, null)).isSameAs(caches);
+		assertThat(cut.acquire("XSUAA:other.com", null, null)).isNotSameAs(caches);
+		assertThat(cut.size()).isEqualTo(2);
+	}
+
+	@Test
+	public void release_lastReference_removesCaches() {
+		TokenKeyCacheRegistry.SharedCaches caches = cut.acquire("XSUAA:auth.com", null, null);
+		cut.acquire("XSUAA:auth.com", null, null);
+
+		caches.release();
+		assertThat(cut.size()).isEqualTo(1);
+		assertThat(cut.acquire("XSUAA:auth.com", null, null)).isSameAs(caches);
+
+		caches.release();
+		caches.release();
+		assertThat(cut.size()).isZero();
+		assertThat(cut.acquire("XSUAA:auth.com", null, null)).isNotSameAs(caches);
+	}
+
+	@Test
+	public void withCacheConfiguration_appliesToNewCaches() {
+		cut.withCacheConfiguration(TokenKeyCacheConfiguration.getInstance(Duration.ofSeconds(700), 2000, false));
+
+		OAuth2TokenKeyServiceWithCache tokenKeyServiceWithCache = cut.acquire("XSUAA:auth.com", null, null)
+				.getTokenKeyServiceWithCache();
+
+		assertThat(tokenKeyServiceWithCache.getCacheConfiguration().getCacheDuration())
+				.isEqualTo(Duration.ofSeconds(700));
+		assertThat(tokenKeyServiceWithCache.getCacheConfiguration().getCacheSize()).isEqualTo(2000);
+	}
+
+	@Test
+	public void withMaximumWeight_appliesToNewCaches() {
+		cut.withMaximumWeight(OAuth2TokenKeyServiceWithCache.MIN_MAXIMUM_WEIGHT);
+
+		assertThat(cut.acquire("XSUAA:auth.com", null, null).getTokenKeyServiceWithCache().getMaximumWeight())
+				.isEqualTo(OAuth2TokenKeyServiceWithCache.MIN_MAXIMUM_WEIGHT);
+	}
+
+	@Test
+	public void validatorsOfSameIdentityProvider_shareTokenKeyCache() {
+		XsuaaJwtSignatureValidator validator = signatureValidator(
+				JwtValidatorBuilder.getInstance(xsuaaConfiguration("sb-app-1!t1")).build());
+		XsuaaJwtSignatureValidator otherValidator = signatureValidator(
+				JwtValidatorBuilder.getInstance(xsuaaConfiguration("sb-app-2!t1")).build());
+
+		assertThat(otherValidator.tokenKeyService).isSameAs(validator.tokenKeyService);
+		assertThat(otherValidator.oidcConfigurationService).isSameAs(validator.oidcConfigurationService);
+	}
+
+	@Test
+	public void validatorWithCustomTokenKeyService_doesNotShareTokenKeyCache() {
+		XsuaaJwtSignatureValidator validator = signatureValidator(
+				JwtValidatorBuilder.getInstance(xsuaaConfiguration("sb-app-3!t1")).build());
+		XsuaaJwtSignatureValidator customValidator = signatureValidator(
+				JwtValidatorBuilder.getInstance(xsuaaConfiguration("sb-app-4!t1"))
+						.withOAuth2TokenKeyService(mock(OAuth2TokenKeyService.class)).build());
+
+		assertThat(customValidator.tokenKeyService).isNotSameAs(validator.tokenKeyService);
+	}
+
+	private static OAuth2ServiceConfiguration xsuaaConfiguration(String clientId) {
+		return OAuth2ServiceConfigurationBuilder.forService(XSUAA)
+				.withProperty(ServiceConstants.XSUAA.UAA_DOMAIN, "shared-cache.auth.com")
+				.withClientId(clientId)
+				.build();
+	}
+
+	private static XsuaaJwtSignatureValidator signatureValidator(CombiningValidator<Token> validators) {
+		return validators.getValidators().stream()
+				.filter(XsuaaJwtSignatureValidator.class::isInstance)
+				.map(XsuaaJwtSignatureValidator.class::cast)
+				.findFirst().orElseThrow();
+	}
+}
@@ -0,0 +1,167 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.token.validation.validators;
+
+import com.sap.cloud.security.config.OAuth2ServiceConfiguration;
+import com.sap.cloud.security.config.OAuth2ServiceConfigurationBuilder;
+import com.sap.cloud.security.config.ServiceConstants;
+import com.sap.cloud.security.token.Token;
+import com.sap.cloud.security.token.TokenClaims;
+import com.sap.cloud.security.token.validation.CombiningValidator;
+import com.sap.cloud.security.xsuaa.client.OAuth2ServiceEndpointsProvider;
+import com.sap.cloud.security.xsuaa.client.OAuth2ServiceException;
+import com.sap.cloud.security.xsuaa.client.OAuth2TokenKeyService;
+import com.sap.cloud.security.xsuaa.client.OidcConfigurationService;
+import com.sap.cloud.security.xsuaa.http.HttpHeaders;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static com.sap.cloud.security.config.Service.IAS;
+import static com.sap.cloud.security.config.Service.XSUAA;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TokenKeyPrefetcherTest {
+	private static final URI IAS_JWKS_URI = URI.create("https://application.myauth.com/oauth2/certs");
+
+	private OAuth2TokenKeyService tokenKeyServiceMock;
+	private OidcConfigurationService oidcConfigurationServiceMock;
+	private OAuth2TokenKeyServiceWithCache tokenKeyServiceWithCache;
+	private OidcConfigurationServiceWithCache oidcConfigurationServiceWithCache;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		tokenKeyServiceMock = mock(OAuth2TokenKeyService.class);
+		when(tokenKeyServiceMock.retrieveTokenKeys(any(), anyMap()))
+				.thenReturn(IOUtils.resourceToString("/jsonWebTokenKeys.json", StandardCharsets.UTF_8));
+		OAuth2ServiceEndpointsProvider endpointsProviderMock = mock(OAuth2ServiceEndpointsProvider.class);
+		when(endpointsProviderMock.getJwksUri()).thenReturn(IAS_JWKS_URI);
+		oidcConfigurationServiceMock = mock(OidcConfigurationService.class);
+		when(oidcConfigurationServiceMock.retrieveEndpoints(any())).thenReturn(endpointsProviderMock);
+
+		tokenKeyServiceWithCache = OAuth2TokenKeyServiceWithCache.getInstance()
+				.withTokenKeyService(tokenKeyServiceMock);
+		oidcConfigurationServiceWithCache = OidcConfigurationServiceWithCache.getInstance()
+				.withOidcConfigurationService(oidcConfigurationServiceMock);
+	}
+
+	@Test
+	public void prefetch_loadsTokenKeysOfXsuaaTenants() throws Exception {
+		CombiningValidator<Token> validators = new CombiningValidator<>(new JwtTimestampValidator(),
+				new XsuaaJwtSignatureValidator(xsuaaConfiguration(), tokenKeyServiceWithCache,
+						oidcConfigurationServiceWithCache));
+
+		TokenKeyPrefetcher.Result result = TokenKeyPrefetcher.prefetch(validators, List.of("tenant-1", "tenant-2"),
+				List.of("https://ignored.com"), Runnable::run).join();
+
+		assertThat(result).isEqualTo(new TokenKeyPrefetcher.Result(2, 0));
+
+		verify(tokenKeyServiceMock).retrieveTokenKeys(URI.create("https://auth.com/token_keys?zid=tenant-1"),
+				Map.of(HttpHeaders.X_ZID, "tenant-1"));
+		verify(tokenKeyServiceMock).retrieveTokenKeys(URI.create("https://auth.com/token_keys?zid=tenant-2"),
+				Map.of(HttpHeaders.X_ZID, "tenant-2"));
+		verify(tokenKeyServiceMock, times(2)).retrieveTokenKeys(any(), anyMap());
+		verifyNoInteractions(oidcConfigurationServiceMock);
+
+		tokenKeyServiceWithCache.getPublicKey(new OAuth2TokenKeyServiceWithCache.KeyParameters(
+				JwtSignatureAlgorithm.RS256, "key-id-0", URI.create("https://auth.com/token_keys?zid=tenant-1")),
+				Map.of(HttpHeaders.X_ZID, "tenant-1"));
+		verify(tokenKeyServiceMock, times(2)).retrieveTokenKeys(any(), anyMap());
+	}
+
+	@Test
+	public void prefetch_withoutTenants_usesTenantOfServiceConfiguration() throws Exception {
+		CombiningValidator<Token> validators = new CombiningValidator<>(
+				new ValidatedTokenCache(new CombiningValidator<>(new SapIdJwtSignatureValidator(iasConfiguration(),
+						tokenKeyServiceWithCache, oidcConfigurationServiceWithCache)),
+						TokenKeyCacheConfiguration.defaultConfiguration()));
+
+		TokenKeyPrefetcher.prefetch(validators, List.of(), List.of(), Runnable::run).join();
+
+		verify(oidcConfigurationServiceMock)
+				.retrieveEndpoints(URI.create("https://application.myauth.com/.well-known/openid-configuration"));
+		verify(tokenKeyServiceMock).retrieveTokenKeys(IAS_JWKS_URI, iasRequestParameters("provider-tenant"));
+	}
+
+	@Test
+	public void prefetch_loadsTokenKeysOfAdditionalIasIssuers() throws Exception {
+		CombiningValidator<Token> validators = new CombiningValidator<>(new SapIdJwtSignatureValidator(
+				iasConfiguration(), tokenKeyServiceWithCache, oidcConfigurationServiceWithCache));
+
+		TokenKeyPrefetcher.prefetch(validators, List.of("tenant-1"), List.of("https://custom.domain.com"),
+				Runnable::run).join();
+
+		verify(oidcConfigurationServiceMock)
+				.retrieveEndpoints(URI.create("https://application.myauth.com/.well-known/openid-configuration"));
+		verify(oidcConfigurationServiceMock)
+				.retrieveEndpoints(URI.create("https://custom.domain.com/.well-known/openid-configuration"));
+		verify(tokenKeyServiceMock).retrieveTokenKeys(IAS_JWKS_URI, iasRequestParameters("tenant-1"));
+	}
+
+	@Test
+	public void prefetch_moreTenantsThanRequestLimit_loadsTokenKeysOfAllTenants() throws Exception {
+		CombiningValidator<Token> validators = new CombiningValidator<>(new XsuaaJwtSignatureValidator(
+				xsuaaConfiguration(), tokenKeyServiceWithCache, oidcConfigurationServiceWithCache));
+		int tenants = TokenKeyCacheConfiguration.defaultConfiguration().getMaxRequestsPerSecond() + 5;
+		List<String> appTids = IntStream.range(0, tenants).mapToObj(i -> "tenant-" + i).toList();
+
+		TokenKeyPrefetcher.Result result = TokenKeyPrefetcher.prefetch(validators, appTids, List.of()).join();
+
+		assertThat(result).isEqualTo(new TokenKeyPrefetcher.Result(tenants, 0));
+		verify(tokenKeyServiceMock, times(tenants)).retrieveTokenKeys(any(), anyMap());
+	}
+
+	@Test
+	public void prefetch_failure_isCounted() throws Exception {
+		when(tokenKeyServiceMock.retrieveTokenKeys(any(), eq(Map.of(HttpHeaders.X_ZID, "tenant-1"))))
+				.thenThrow(new OAuth2ServiceException("Currently unavailable"));
+		CombiningValidator<Token> validators = new CombiningValidator<>(new XsuaaJwtSignatureValidator(
+				xsuaaConfiguration(), tokenKeyServiceWithCache, oidcConfigurationServiceWithCache));
+
+		CompletableFuture<TokenKeyPrefetcher.Result> result = TokenKeyPrefetcher.prefetch(validators,
+				List.of("tenant-1", "tenant-2"), List.of(), Runnable::run);
+
+		assertThat(result).isCompletedWithValue(new TokenKeyPrefetcher.Result(1, 1));
+		verify(tokenKeyServiceMock).retrieveTokenKeys(any(), eq(Map.of(HttpHeaders.X_ZID, "tenant-1")));
+		verify(tokenKeyServiceMock).retrieveTokenKeys(any(), eq(Map.of(HttpHeaders.X_ZID, "tenant-2")));
+	}
+
+	private static OAuth2ServiceConfiguration xsuaaConfiguration() {
+		return OAuth2ServiceConfigurationBuilder.forService(XSUAA)
+				.withProperty(ServiceConstants.XSUAA.UAA_DOMAIN, "auth.com")
+				.withClientId("sb-test-app!t123")
+				.build();
+	}
+
+	private static OAuth2ServiceConfiguration iasConfiguration() {
+		return OAuth2ServiceConfigurationBuilder.forService(IAS)
+				.withUrl("https://application.myauth.com")
+				.withProperty(TokenClaims.SAP_GLOBAL_APP_TID, "provider-tenant")
+				.withClientId("client-id")
+				.build();
+	}
+
+	private static Map<String, String> iasRequestParameters(String appTid) {
+		Map<String, String> params = new HashMap<>();
+		params.put(HttpHeaders.X_APP_TID, appTid);
+		params.put(HttpHeaders.X_CLIENT_ID, "client-id");
+		params.put(HttpHeaders.X_AZP, "client-id");
+		return params;
+	}
+}
@@ -0,0 +1,104 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.token.validation.validators;
+
+import com.sap.cloud.security.token.Token;
+import com.sap.cloud.security.token.validation.ValidationResults;
+import com.sap.cloud.security.token.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static com.sap.cloud.security.TestConstants.NOW;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ValidatedTokenCacheTest {
+
+	private Validator<Token> delegateMock;
+	private Instant now;
+	private ValidatedTokenCache cut;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	public void setUp() {
+		delegateMock = Mockito.mock(Validator.class);
+		when(delegateMock.validate(any())).thenReturn(ValidationResults.createValid());
+		now = NOW;
+		cut = new ValidatedTokenCache(delegateMock,
+				TokenKeyCacheConfiguration.getInstance(Duration.ofMinutes(10), 100, false), () -> now);
+	}
+
+	@Test
+	public void validate_sameToken_delegatesOnlyOnce() {
+		Token token = createToken("token", NOW.plusSeconds(60));
+
+		assertThat(cut.validate(token).isValid()).isTrue();
+		assertThat(cut.validate(token).isValid()).isTrue();
+
+		verify(delegateMock, times(1)).validate(token);
+		assertThat(cut.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void validate_differentTokens_delegatesForEach() {
+		Token token = createToken("token", NOW.plusSeconds(60));
+		Token otherToken = createToken("otherToken", NOW.plusSeconds(60));
+
+		cut.validate(token);
+		cut.validate(otherToken);
+
+		verify(delegateMock, times(1)).validate(token);
+		verify(delegateMock, times(1)).validate(otherToken);
+	}
+
+	@Test
+	public void validate_invalidResult_isNotCached() {
+		Token token = createToken("token", NOW.plusSeconds(60));
+		when(delegateMock.validate(token)).thenReturn(ValidationResults.createInvalid("invalid signature"));
+
+		assertThat(cut.validate(token).isErroneous()).isTrue();
+		assertThat(cut.validate(token).isErroneous()).isTrue();
+
+		verify(delegateMock, times(2)).validate(token);
+		assertThat(cut.size()).isZero();
+	}
+
+	@Test
+	public void validate_tokenExpired_delegatesAgain() {
+		Token token = createToken("token", NOW.plusSeconds(60));
+		when(delegateMock.validate(token))
+				.thenReturn(ValidationResults.createValid())
+				.thenReturn(ValidationResults.createInvalid("expired"));
+
+		cut.validate(token);
+		now = NOW.plusSeconds(60);
+
+		assertThat(cut.validate(token).isErroneous()).isTrue();
+		verify(delegateMock, times(2)).validate(token);
+	}
+
+	@Test
+	public void validate_tokenWithoutExpiration_isNotCached() {
+		Token token = createToken("token", null);
+
+		cut.validate(token);
+		cut.validate(token);
+
+		verify(delegateMock, times(2)).validate(token);
+	}
+
+	private static Token createToken(String tokenValue, Instant expiration) {
+		Token token = Mockito.mock(Token.class);
+		when(token.getTokenValue()).thenReturn(tokenValue);
+		lenient().when(token.getExpiration()).thenReturn(expiration);
+		return token;
+	}
+}
@@ -33,6 +33,7 @@ public class JwtDecoderBuilder {
 	private final List<ValidationListener> validationListeners = new ArrayList<>();
 	protected SecurityHttpClient httpClient;
 	private CacheConfiguration tokenKeyCacheConfiguration;
+	private CacheConfiguration validatedTokenCacheConfiguration;
 	private boolean enableProofTokenCheck;
   private TokenExchangeMode tokenExchangeMode;
 
@@ -48,6 +49,19 @@ public class JwtDecoderBuilder {
 		return this;
 	}
 
+	/**
+	 * Use to enable the cache of successfully validated tokens. See
+	 * {@link JwtValidatorBuilder#withValidatedTokenCache(CacheConfiguration)}.
+	 *
+	 * @param cacheConfiguration
+	 * 		the cache configuration
+	 * @return this jwt decoder builder
+	 */
+	public JwtDecoderBuilder withValidatedTokenCache(CacheConfiguration cacheConfiguration) {
+		this.validatedTokenCacheConfiguration = cacheConfiguration;
+		return this;
+	}
+
 	/**
 	 * Use to configure the HttpClient that is used to retrieve token keys.
 	 *
@@ -150,6 +164,7 @@ public class JwtDecoderBuilder {
 	private JwtValidatorBuilder initializeBuilder(OAuth2ServiceConfiguration config) {
 		JwtValidatorBuilder builder = JwtValidatorBuilder.getInstance(config)
 				.withCacheConfiguration(tokenKeyCacheConfiguration)
+				.withValidatedTokenCache(validatedTokenCacheConfiguration)
 				.withHttpClient(httpClient);
 		for (ValidationListener listener : validationListeners) {
 			builder.withValidatorListener(listener);
@@ -14,6 +14,7 @@ import org.springframework.util.StringUtils;
 import reactor.core.publisher.Mono;
 
 import java.time.Instant;
+import java.util.Map;
 
 public class ReactiveHybridJwtDecoder implements ReactiveJwtDecoder {
 
@@ -64,11 +65,12 @@ public class ReactiveHybridJwtDecoder implements ReactiveJwtDecoder {
 
     static Mono<Jwt> parseJwt(Token token) {
         try{
-            Instant issuedAt = token.hasClaim(TokenClaims.XSUAA.ISSUED_AT)
-                    ? Instant.ofEpochSecond(Long.parseLong(token.getClaims().get(TokenClaims.XSUAA.ISSUED_AT).toString()))
+            Map<String, Object> claims = token.getClaims();
+            Instant issuedAt = claims.containsKey(TokenClaims.XSUAA.ISSUED_AT)
+                    ? Instant.ofEpochSecond(Long.parseLong(claims.get(TokenClaims.XSUAA.ISSUED_AT).toString()))
                     : null;
             return Mono.just(new Jwt(token.getTokenValue(), issuedAt,
-                    token.getExpiration(), token.getHeaders(), token.getClaims()));
+                    token.getExpiration(), token.getHeaders(), claims));
         }
         catch (NumberFormatException e){
             throw new BadJwtException("Error parsing JWT: " + e.getMessage(), e);
@@ -18,6 +18,7 @@ import com.sap.cloud.security.xsuaa.http.HttpHeaders;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -278,6 +279,31 @@ public class SpringOAuth2TokenKeyServiceTest {
         .exchange(eq(TOKEN_KEYS_ENDPOINT_URI), eq(GET), any(), eq(String.class));
   }
 
+  @Test
+  public void retrieveTokenKeys_notModified_returnsPreviousTokenKeys() throws OAuth2ServiceException {
+    final MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
+    headers.add("ETag", "\"v1\"");
+    headers.add("Cache-Control", "max-age=720");
+    when(restOperationsMock.exchange(
+            eq(TOKEN_KEYS_ENDPOINT_URI), eq(GET), any(HttpEntity.class), eq(String.class)))
+        .thenReturn(
+            new ResponseEntity<>(jsonWebKeysAsString, headers, 200),
+            new ResponseEntity<>(null, new LinkedMultiValueMap<>(), 304));
+
+    cut.retrieveTokenKeys(TOKEN_KEYS_ENDPOINT_URI, PARAMS);
+
+    assertThat(cut.retrieveTokenKeys(TOKEN_KEYS_ENDPOINT_URI, PARAMS)).isEqualTo(jsonWebKeysAsString);
+    assertThat(cut.getMaxAge(TOKEN_KEYS_ENDPOINT_URI, PARAMS)).isEqualTo(Duration.ofSeconds(720));
+    Mockito.verify(restOperationsMock, times(1))
+        .exchange(
+            eq(TOKEN_KEYS_ENDPOINT_URI),
+            eq(GET),
+            argThat(
+                httpEntity ->
+                    "\"v1\"".equals(httpEntity.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH))),
+            eq(String.class));
+  }
+
   private void mockResponse(final String responseAsString, final Integer... statusCodes) {
     final MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
     headers.add("Content-Type", "application/json");
@@ -13,8 +13,11 @@ import com.sap.cloud.security.util.LogSanitizer;
 import com.sap.cloud.security.xsuaa.Assertions;
 import com.sap.cloud.security.xsuaa.util.HttpClientUtil;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.net.URI;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,6 +34,7 @@ public class SpringOAuth2TokenKeyService implements OAuth2TokenKeyService {
   private static final Logger LOGGER = LoggerFactory.getLogger(SpringOAuth2TokenKeyService.class);
   private final DefaultTokenClientConfiguration config;
   private final RestOperations restOperations;
+  private final ConditionalRequestCache<String> responses = new ConditionalRequestCache<>();
 
   public SpringOAuth2TokenKeyService(@Nonnull final RestOperations restOperations) {
     Assertions.assertNotNull(restOperations, "restOperations must not be null!");
@@ -44,8 +48,21 @@ public class SpringOAuth2TokenKeyService implements OAuth2TokenKeyService {
       throws OAuth2ServiceException {
     Assertions.assertNotNull(tokenKeysEndpointUri, "Token key endpoint must not be null!");
     validateUri(tokenKeysEndpointUri);
+    String key = ConditionalRequestCache.key(tokenKeysEndpointUri, params);
     return executeRequest(
-        tokenKeysEndpointUri, params, config.isRetryEnabled() ? config.getMaxRetryAttempts() : 0);
+        tokenKeysEndpointUri,
+        params,
+        key,
+        responses.get(key),
+        config.isRetryEnabled() ? config.getMaxRetryAttempts() : 0);
+  }
+
+  @Nullable
+  @Override
+  public Duration getMaxAge(@Nonnull final URI tokenKeysEndpointUri, final Map<String, String> params) {
+    ConditionalRequestCache.Entry<String> entry =
+        responses.get(ConditionalRequestCache.key(tokenKeysEndpointUri, params));
+    return entry != null ? entry.maxAge() : null;
   }
 
   private void validateUri(final URI uri) throws OAuth2ServiceException {
@@ -65,9 +82,13 @@ public class SpringOAuth2TokenKeyService implements OAuth2TokenKeyService {
   }
 
   private String executeRequest(
-      final URI tokenKeysEndpointUri, final Map<String, String> params, final int attemptsLeft)
+      final URI tokenKeysEndpointUri,
+      final Map<String, String> params,
+      final String key,
+      @Nullable final ConditionalRequestCache.Entry<String> cachedResponse,
+      final int attemptsLeft)
       throws OAuth2ServiceException {
-    final HttpHeaders headers = getHttpHeaders(params);
+    final HttpHeaders headers = getHttpHeaders(params, cachedResponse);
     LOGGER.debug(
         "Requesting access token from url='{}' with headers={} and {} retries left",
         LogSanitizer.sanitize(tokenKeysEndpointUri),
@@ -84,11 +105,21 @@ public class SpringOAuth2TokenKeyService implements OAuth2TokenKeyService {
             "Successfully retrieved token keys from {} for params '{}'",
             LogSanitizer.sanitize(tokenKeysEndpointUri),
             LogSanitizer.sanitize(params));
+        responses.put(key, responseEntity.getHeaders().toSingleValueMap(), responseEntity.getBody());
         return responseEntity.getBody();
+      } else if (HttpStatus.NOT_MODIFIED.value() == statusCode
+          && cachedResponse != null
+          && cachedResponse.isRevalidatable()) {
+        LOGGER.debug(
+            "Token keys from {} for params '{}' are not modified",
+            LogSanitizer.sanitize(tokenKeysEndpointUri),
+            LogSanitizer.sanitize(params));
+        responses.revalidated(key, cachedResponse, responseEntity.getHeaders().toSingleValueMap());
+        return cachedResponse.value();
       } else if (attemptsLeft > 0 && config.getRetryStatusCodes().contains(statusCode)) {
         LOGGER.warn("Request failed with status {} but is retryable. Retrying...", statusCode);
         pauseBeforeNextAttempt(config.getRetryDelayTime());
-        return executeRequest(tokenKeysEndpointUri, params, attemptsLeft - 1);
+        return executeRequest(tokenKeysEndpointUri, params, key, cachedResponse, attemptsLeft - 1);
       }
       throw OAuth2ServiceException.builder("Error retrieving token keys.")
           .withUri(tokenKeysEndpointUri)
@@ -127,13 +158,18 @@ public class SpringOAuth2TokenKeyService implements OAuth2TokenKeyService {
         .toArray(String[]::new);
   }
 
-  private HttpHeaders getHttpHeaders(final Map<String, String> params) {
+  private HttpHeaders getHttpHeaders(
+      final Map<String, String> params,
+      @Nullable final ConditionalRequestCache.Entry<String> cachedResponse) {
     final HttpHeaders headers = new HttpHeaders();
     headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
     headers.set(HttpHeaders.USER_AGENT, HttpClientUtil.getUserAgent());
     for (final Map.Entry<String, String> p : params.entrySet()) {
       headers.set(p.getKey(), p.getValue());
     }
+    final Map<String, String> conditionalHeaders = new HashMap<>(2);
+    ConditionalRequestCache.addConditionalHeaders(cachedResponse, conditionalHeaders);
+    conditionalHeaders.forEach(headers::set);
     return headers;
   }
 
@@ -0,0 +1,283 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.Serial;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link JsonObject} implementation that is parsed with the Jackson streaming API into plain {@link Map} and
+ * {@link List} instances. The accessors behave like the ones of the org.json based {@code DefaultJsonObject}. It also
+ * holds the members parsed by {@link OrgJsonObjectFactory}.
+ */
+final class JacksonJsonObject implements JsonObject {
+
+	@Serial
+	private static final long serialVersionUID = 4204172045251807L;
+
+	private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+			.enable(StreamReadFeature.STRICT_DUPLICATE_DETECTION)
+			.build();
+
+	private final Map<String, Object> members;
+
+	private JacksonJsonObject(Map<String, Object> members) {
+		this.members = members;
+	}
+
+	/**
+	 * Creates a json object of already parsed members, which consist of {@link Map}, {@link List}, {@link String},
+	 * {@link Number} and {@link Boolean} instances and {@code null}.
+	 */
+	static JacksonJsonObject of(Map<String, Object> members) {
+		return new JacksonJsonObject(members);
+	}
+
+	static JacksonJsonObject parse(String json) {
+		if (json == null) {
+			throw new JsonParsingException("json must not be null");
+		}
+		try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new JsonParsingException("A JSONObject text must begin with '{'");
+			}
+			Map<String, Object> members = readObject(parser);
+			if (parser.nextToken() != null) {
+				throw new JsonParsingException("Unexpected content after the end of the JSONObject");
+			}
+			return new JacksonJsonObject(members);
+		} catch (IOException e) {
+			throw new JsonParsingException(e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public boolean contains(String name) {
+		return members.containsKey(name);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return members.isEmpty();
+	}
+
+	@Override
+	public <T> List<T> getAsList(String name, Class<T> type) {
+		List<?> values = getList(name);
+		if (values == null) {
+			return Collections.emptyList();
+		}
+		List<T> valuesAsList = new ArrayList<>(values.size());
+		for (Object value : values) {
+			try {
+				valuesAsList.add(type.cast(value));
+			} catch (ClassCastException e) {
+				throw new JsonParsingException(e.getMessage());
+			}
+		}
+		return valuesAsList;
+	}
+
+	@Override
+	public List<String> getAsStringList(String name) {
+		List<String> list = new ArrayList<>();
+		if (contains(name)) {
+			Object value = members.get(name);
+			if (value instanceof String string) {
+				list.add(string);
+			} else {
+				list = getAsList(name, String.class);
+			}
+		}
+		return list;
+	}
+
+	@Nullable
+	@Override
+	public String getAsString(String name) {
+		if (contains(name)) {
+			Object value = members.get(name);
+			if (value instanceof String string) {
+				return string;
+			}
+			throw wrongValueFormat(name, "string", value);
+		}
+		return null;
+	}
+
+	@Nullable
+	@Override
+	public Instant getAsInstant(String name) {
+		Long epochSeconds = getAsLong(name);
+		if (epochSeconds == null) {
+			return null;
+		}
+		try {
+			return Instant.ofEpochSecond(epochSeconds);
+		} catch (DateTimeException e) {
+			throw new JsonParsingException(e.getMessage());
+		}
+	}
+
+	@Nullable
+	@Override
+	public Long getAsLong(String name) {
+		if (!contains(name)) {
+			return null;
+		}
+		Object value = members.get(name);
+		if (value instanceof Number number) {
+			return number.longValue();
+		}
+		try {
+			return new BigDecimal(String.valueOf(value)).longValue();
+		} catch (NumberFormatException e) {
+			throw wrongValueFormat(name, "long", value);
+		}
+	}
+
+	@Nullable
+	@Override
+	@SuppressWarnings("unchecked")
+	public JsonObject getJsonObject(String name) {
+		if (contains(name)) {
+			Object value = members.get(name);
+			if (value instanceof Map<?, ?> nestedMembers) {
+				return new JacksonJsonObject((Map<String, Object>) nestedMembers);
+			}
+			throw wrongValueFormat(name, "JSONObject", value);
+		}
+		return null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<JsonObject> getJsonObjects(String name) {
+		List<?> values = getList(name);
+		List<JsonObject> jsonObjects = new ArrayList<>();
+		if (values != null) {
+			for (Object value : values) {
+				if (!(value instanceof Map<?, ?> nestedMembers)) {
+					throw new JsonParsingException("Array does not only contain json objects!");
+				}
+				jsonObjects.add(new JacksonJsonObject((Map<String, Object>) nestedMembers));
+			}
+		}
+		return jsonObjects;
+	}
+
+	@Override
+	public Map<String, String> getKeyValueMap() {
+		Map<String, String> map = new HashMap<>();
+		members.forEach((key, value) -> {
+			if (value instanceof String string) {
+				map.put(key, string);
+			}
+		});
+		return map;
+	}
+
+	@Override
+	public String asJsonString() {
+		StringWriter writer = new StringWriter();
+		try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+			writeValue(generator, members);
+		} catch (IOException e) {
+			throw new JsonParsingException(e.getMessage(), e);
+		}
+		return writer.toString();
+	}
+
+	@Override
+	public String toString() {
+		return asJsonString();
+	}
+
+	@Nullable
+	private List<?> getList(String name) {
+		if (contains(name)) {
+			Object value = members.get(name);
+			if (value instanceof List<?> list) {
+				return list;
+			}
+			throw wrongValueFormat(name, "JSONArray", value);
+		}
+		return null;
+	}
+
+	private static Map<String, Object> readObject(JsonParser parser) throws IOException {
+		Map<String, Object> object = new LinkedHashMap<>();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String name = parser.currentName();
+			object.put(name, readValue(parser, parser.nextToken()));
+		}
+		return object;
+	}
+
+	private static List<Object> readArray(JsonParser parser) throws IOException {
+		List<Object> array = new ArrayList<>();
+		JsonToken token;
+		while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+			array.add(readValue(parser, token));
+		}
+		return array;
+	}
+
+	@Nullable
+	private static Object readValue(JsonParser parser, JsonToken token) throws IOException {
+		return switch (token) {
+		case START_OBJECT -> readObject(parser);
+		case START_ARRAY -> readArray(parser);
+		case VALUE_STRING -> parser.getText();
+		case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue();
+		case VALUE_TRUE -> Boolean.TRUE;
+		case VALUE_FALSE -> Boolean.FALSE;
+		case VALUE_NULL -> null;
+		default -> throw new JsonParsingException("Unexpected token " + token);
+		};
+	}
+
+	private static void writeValue(JsonGenerator generator, @Nullable Object value) throws IOException {
+		if (value instanceof Map<?, ?> object) {
+			generator.writeStartObject();
+			for (Map.Entry<?, ?> member : object.entrySet()) {
+				generator.writeFieldName(String.valueOf(member.getKey()));
+				writeValue(generator, member.getValue());
+			}
+			generator.writeEndObject();
+		} else if (value instanceof List<?> array) {
+			generator.writeStartArray();
+			for (Object element : array) {
+				writeValue(generator, element);
+			}
+			generator.writeEndArray();
+		} else {
+			generator.writeObject(value);
+		}
+	}
+
+	private static JsonParsingException wrongValueFormat(String name, String type, @Nullable Object value) {
+		String valueType = value == null ? "null" : value.getClass().getName();
+		return new JsonParsingException("JSONObject[\"%s\"] is not a %s (%s).".formatted(name, type, valueType));
+	}
+}
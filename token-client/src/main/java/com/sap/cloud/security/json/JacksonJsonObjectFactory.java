@@ -0,0 +1,25 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.json;
+
+/**
+ * Factory for creating {@link JsonObject} instances that are parsed with the Jackson streaming API. Unlike org.json,
+ * Jackson only accepts strict json. It has a lower priority than the org.json based implementations of the env and
+ * token-client libraries; to use it nevertheless, set the system property
+ * {@value JsonObjectProvider#FACTORY_PROPERTY_NAME} to the name of this class.
+ */
+public class JacksonJsonObjectFactory implements JsonObjectFactory {
+
+	@Override
+	public JsonObject createJsonObject(String json) {
+		return JacksonJsonObject.parse(json);
+	}
+
+	@Override
+	public int getPriority() {
+		return -2;
+	}
+}
@@ -0,0 +1,34 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.json;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Factory for creating {@link JsonObject} instances that are parsed with org.json, which also accepts lenient json,
+ * e.g. unquoted names and values. It is used in case the env library, whose {@code DefaultJsonObjectFactory} has a
+ * higher priority, is not available.
+ */
+public class OrgJsonObjectFactory implements JsonObjectFactory {
+
+	@Override
+	public JsonObject createJsonObject(String json) {
+		if (json == null) {
+			throw new JsonParsingException("json must not be null");
+		}
+		try {
+			return JacksonJsonObject.of(new JSONObject(json).toMap());
+		} catch (JSONException e) {
+			throw new JsonParsingException(e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public int getPriority() {
+		return -1;
+	}
+}
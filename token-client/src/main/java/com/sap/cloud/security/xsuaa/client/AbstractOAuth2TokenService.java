@@ -7,6 +7,7 @@ package com.sap.cloud.security.xsuaa.client;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.github.benmanes.caffeine.cache.Ticker;
 import com.sap.cloud.security.config.ClientIdentity;
 import com.sap.cloud.security.xsuaa.Assertions;
@@ -28,6 +29,13 @@ import java.time.Instant;
 import java.util.AbstractMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static com.sap.cloud.security.xsuaa.Assertions.assertNotNull;
@@ -37,8 +45,10 @@ import static com.sap.cloud.security.xsuaa.client.OAuth2TokenServiceConstants.*;
 public abstract class AbstractOAuth2TokenService implements OAuth2TokenService, Cacheable {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(AbstractOAuth2TokenService.class);
-	private final Cache<CacheKey, OAuth2TokenResponse> responseCache;
+	private final Cache<CacheKey, CachedResponse> responseCache;
+	private final Map<CacheKey, CompletableFuture<OAuth2TokenResponse>> pendingRequests = new ConcurrentHashMap<>();
 	private final TokenCacheConfiguration tokenCacheConfiguration;
+	private final Executor refreshExecutor;
 
 	public AbstractOAuth2TokenService() {
 		this(TokenCacheConfiguration.defaultConfiguration(), Ticker.systemTicker(), false);
@@ -63,13 +73,14 @@ public abstract class AbstractOAuth2TokenService implements OAuth2TokenService,
 	 * @param cacheTicker
 	 * 		will be used in the cache to determine the time.
 	 * @param sameThreadCache
-	 * 		set to true disables maintenance jobs of the cache. This makes the cache slower but more predictable for
-	 * 		testing.
+	 * 		set to true disables maintenance jobs of the cache and refreshes cached tokens on the calling thread. This
+	 * 		makes the cache slower but more predictable for testing.
 	 */
 	AbstractOAuth2TokenService(TokenCacheConfiguration tokenCacheConfiguration, Ticker cacheTicker,
 			boolean sameThreadCache) {
 		Assertions.assertNotNull(tokenCacheConfiguration, "cacheConfiguration is required");
 		this.tokenCacheConfiguration = tokenCacheConfiguration;
+		this.refreshExecutor = sameThreadCache ? Runnable::run : ForkJoinPool.commonPool();
 		this.responseCache = createResponseCache(cacheTicker, sameThreadCache);
 		if (isCacheDisabled()) {
 			LOGGER.debug("Configured token service with cache disabled");
@@ -242,26 +253,55 @@ public abstract class AbstractOAuth2TokenService implements OAuth2TokenService,
 					return e;
 				}).collect(Collectors.toList()));
 		CacheKey cacheKey = new CacheKey(tokenEndpoint, headers, parameters);
-		OAuth2TokenResponse oAuth2TokenResponse = responseCache.getIfPresent(cacheKey);
-		if (oAuth2TokenResponse == null) {
+		CachedResponse cachedResponse = responseCache.getIfPresent(cacheKey);
+		OAuth2TokenResponse response;
+		if (cachedResponse == null) {
 			LOGGER.debug("Token not found in cache, requesting a new one");
-			getAndCacheToken(cacheKey);
+			response = getAndCacheToken(cacheKey);
 		} else {
 			LOGGER.debug("The token was found in cache");
-			// check if token in cache should be refreshed
-			Duration delta = getCacheConfiguration().getTokenExpirationDelta();
-			Instant expiration = oAuth2TokenResponse.getExpiredAt().minus(delta);
-			if (expiration.isBefore(Instant.now(getClock()))) {
+			response = cachedResponse.response();
+			if (isExpiredSoon(response)) {
 				// refresh (soon) expired token
 				LOGGER.debug("The cached token needs to be refreshed, requesting a new one");
-				getAndCacheToken(cacheKey);
+				response = getAndCacheToken(cacheKey);
+			} else if (isRefreshAheadDue(cachedResponse)) {
+				LOGGER.debug("The cached token is refreshed in the background");
+				refreshInBackground(cacheKey);
 			}
 		}
-		OAuth2TokenResponse response = responseCache.getIfPresent(cacheKey);
 		logDebug(response);
 		return response;
 	}
 
+	/**
+	 * Checks whether the token expires within the token expiration delta and needs to be refreshed.
+	 */
+	private boolean isExpiredSoon(OAuth2TokenResponse response) {
+		Duration delta = getCacheConfiguration().getTokenExpirationDelta();
+		Instant expiration = response.getExpiredAt().minus(delta);
+		return expiration.isBefore(Instant.now(getClock()));
+	}
+
+	/**
+	 * Counts the access to the cached token and checks whether it is used actively and expires or gets evicted from
+	 * the cache within the refresh ahead time, so that it should be refreshed in the background. The access count is
+	 * reset when the refresh is due, so that a failed refresh is retried only after as many further accesses.
+	 */
+	private boolean isRefreshAheadDue(CachedResponse cachedResponse) {
+		Duration refreshAheadTime = getCacheConfiguration().getRefreshAheadTime();
+		if (refreshAheadTime.isZero() || refreshAheadTime.isNegative()
+				|| cachedResponse.accessCount().incrementAndGet() < getCacheConfiguration().getRefreshAheadAccessCount()) {
+			return false;
+		}
+		Instant refreshAt = cachedResponse.evictedAt().minus(refreshAheadTime);
+		if (refreshAt.isBefore(Instant.now(getClock()))) {
+			cachedResponse.accessCount().set(0);
+			return true;
+		}
+		return false;
+	}
+
 	private void logDebug(OAuth2TokenResponse response) {
 		if (!LOGGER.isDebugEnabled()) {
 			return;
@@ -284,20 +324,98 @@ public abstract class AbstractOAuth2TokenService implements OAuth2TokenService,
 		return Clock.systemUTC();
 	}
 
-	private void getAndCacheToken(CacheKey cacheKey) throws OAuth2ServiceException {
-		responseCache.put(cacheKey,
-				requestAccessToken(cacheKey.tokenEndpointUri, cacheKey.headers, cacheKey.parameters));
+	/**
+	 * Requests a token and caches it. Concurrent callers with the same cache key share a single request to the token
+	 * endpoint and receive its response or exception.
+	 */
+	private OAuth2TokenResponse getAndCacheToken(CacheKey cacheKey) throws OAuth2ServiceException {
+		CompletableFuture<OAuth2TokenResponse> request = new CompletableFuture<>();
+		CompletableFuture<OAuth2TokenResponse> pendingRequest = pendingRequests.putIfAbsent(cacheKey, request);
+		if (pendingRequest != null) {
+			LOGGER.debug("The token is already being requested, waiting for the response");
+			return awaitResponse(pendingRequest);
+		}
+		// the token might have been cached by a request that completed in the meantime, the lookup via the map view
+		// is not recorded in the cache statistics
+		CachedResponse cachedResponse = responseCache.asMap().get(cacheKey);
+		if (cachedResponse != null && !isExpiredSoon(cachedResponse.response())) {
+			pendingRequests.remove(cacheKey, request);
+			request.complete(cachedResponse.response());
+			return cachedResponse.response();
+		}
+		return requestAndCacheToken(cacheKey, request);
+	}
+
+	/**
+	 * Requests a token on the refresh executor, unless the token is already being requested. Meanwhile, the cached
+	 * token is served.
+	 */
+	private void refreshInBackground(CacheKey cacheKey) {
+		CompletableFuture<OAuth2TokenResponse> request = new CompletableFuture<>();
+		if (pendingRequests.putIfAbsent(cacheKey, request) != null) {
+			return;
+		}
+		try {
+			refreshExecutor.execute(() -> {
+				try {
+					requestAndCacheToken(cacheKey, request);
+				} catch (OAuth2ServiceException | RuntimeException e) {
+					LOGGER.warn("Refreshing the cached token from {} failed: {}", cacheKey.tokenEndpointUri,
+							e.getMessage());
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			pendingRequests.remove(cacheKey, request);
+			request.completeExceptionally(e);
+			LOGGER.warn("Refreshing the cached token was rejected: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Requests a token, caches it and completes the given pending request with the response or exception.
+	 */
+	private OAuth2TokenResponse requestAndCacheToken(CacheKey cacheKey, CompletableFuture<OAuth2TokenResponse> request)
+			throws OAuth2ServiceException {
+		try {
+			OAuth2TokenResponse response = requestAccessToken(cacheKey.tokenEndpointUri, cacheKey.headers,
+					cacheKey.parameters);
+			responseCache.put(cacheKey, new CachedResponse(response, getTimeToLive(response), Instant.now(getClock()),
+					new AtomicInteger()));
+			request.complete(response);
+			return response;
+		} catch (OAuth2ServiceException | RuntimeException | Error e) {
+			request.completeExceptionally(e);
+			throw e;
+		} finally {
+			pendingRequests.remove(cacheKey, request);
+		}
+	}
+
+	private static OAuth2TokenResponse awaitResponse(CompletableFuture<OAuth2TokenResponse> pendingRequest)
+			throws OAuth2ServiceException {
+		try {
+			return pendingRequest.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof OAuth2ServiceException oAuth2ServiceException) {
+				throw oAuth2ServiceException;
+			}
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw e;
+		}
 	}
 
 	private boolean isCacheDisabled() {
 		return getCacheConfiguration().isCacheDisabled();
 	}
 
-	private Cache<CacheKey, OAuth2TokenResponse> createResponseCache(Ticker cacheTicker, boolean sameThreadCache) {
-		Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder()
+	private Cache<CacheKey, CachedResponse> createResponseCache(Ticker cacheTicker, boolean sameThreadCache) {
+		Caffeine<CacheKey, CachedResponse> cacheBuilder = Caffeine.newBuilder()
 				.maximumSize(getCacheConfiguration().getCacheSize())
 				.ticker(cacheTicker)
-				.expireAfterWrite(getCacheConfiguration().getCacheDuration());
+				.expireAfter(Expiry.writing((CacheKey cacheKey, CachedResponse cachedResponse) -> cachedResponse
+						.timeToLive()));
 		if (sameThreadCache) {
 			cacheBuilder.executor(Runnable::run);
 		}
@@ -307,11 +425,40 @@ public abstract class AbstractOAuth2TokenService implements OAuth2TokenService,
 		return cacheBuilder.build();
 	}
 
+	/**
+	 * Returns how long the token response is cached: until the token reaches the token expiration delta, but not longer
+	 * than the cache duration.
+	 */
+	private Duration getTimeToLive(OAuth2TokenResponse response) {
+		Duration cacheDuration = getCacheConfiguration().getCacheDuration();
+		Instant expiration = response.getExpiredAt().minus(getCacheConfiguration().getTokenExpirationDelta());
+		Duration validity = Duration.between(Instant.now(getClock()), expiration);
+		if (validity.isNegative()) {
+			return Duration.ZERO;
+		}
+		return validity.compareTo(cacheDuration) < 0 ? validity : cacheDuration;
+	}
+
 	@Override
 	public Object getCacheStatistics() {
 		return getCacheConfiguration().isCacheStatisticsEnabled() ? responseCache.stats() : null;
 	}
 
+	/**
+	 * A cached token response, how long and since when it is cached and the number of accesses since it was cached.
+	 */
+	private record CachedResponse(OAuth2TokenResponse response, Duration timeToLive, Instant cachedAt,
+			AtomicInteger accessCount) {
+
+		/**
+		 * Returns when the token response is evicted from the cache: when the token reaches the token expiration delta
+		 * or, if it is valid longer, after the cache duration.
+		 */
+		Instant evictedAt() {
+			return cachedAt.plus(timeToLive);
+		}
+	}
+
 	private static class CacheKey {
 
 		private final URI tokenEndpointUri;
@@ -0,0 +1,154 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.xsuaa.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sap.cloud.security.xsuaa.http.HttpHeaders;
+
+import jakarta.annotation.Nullable;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Remembers the validators ({@code ETag}, {@code Last-Modified}) and the {@code Cache-Control: max-age} of the last
+ * successful response per request, so that the next request can be sent as conditional request. In case the server
+ * answers with {@code 304 Not Modified}, the value of the last response is reused instead of transferring and parsing
+ * the unchanged response body again.
+ *
+ * @param <T>
+ * 		the type of the value derived from the response body
+ */
+class ConditionalRequestCache<T> {
+	static final int MAX_ENTRIES = 1000;
+	static final int NOT_MODIFIED = 304;
+
+	private final Cache<String, Entry<T>> entries = Caffeine.newBuilder().maximumSize(MAX_ENTRIES).build();
+
+	/**
+	 * Creates the key of a request to the given URI with the given headers. Headers with {@code null} values are
+	 * ignored.
+	 */
+	static String key(URI uri, @Nullable Map<String, String> headers) {
+		Map<String, String> sortedHeaders = new TreeMap<>();
+		if (headers != null) {
+			headers.forEach((name, value) -> {
+				if (value != null) {
+					sortedHeaders.put(name, value);
+				}
+			});
+		}
+		return uri + " " + sortedHeaders;
+	}
+
+	@Nullable
+	Entry<T> get(String key) {
+		return entries.getIfPresent(key);
+	}
+
+	/**
+	 * Remembers the validators and the max-age of a successful response. Responses without any of them are not
+	 * remembered.
+	 *
+	 * @param key
+	 * 		the request key
+	 * @param responseHeaders
+	 * 		the response headers
+	 * @param value
+	 * 		the value derived from the response body
+	 */
+	void put(String key, @Nullable Map<String, String> responseHeaders, T value) {
+		String etag = getHeader(responseHeaders, HttpHeaders.ETAG);
+		String lastModified = getHeader(responseHeaders, HttpHeaders.LAST_MODIFIED);
+		Duration maxAge = parseMaxAge(getHeader(responseHeaders, HttpHeaders.CACHE_CONTROL));
+		if (etag == null && lastModified == null && maxAge == null) {
+			entries.invalidate(key);
+		} else {
+			entries.put(key, new Entry<>(etag, lastModified, maxAge, value));
+		}
+	}
+
+	/**
+	 * Updates the max-age of the entry that has been revalidated with a {@code 304 Not Modified} response.
+	 */
+	void revalidated(String key, Entry<T> entry, @Nullable Map<String, String> responseHeaders) {
+		Duration maxAge = parseMaxAge(getHeader(responseHeaders, HttpHeaders.CACHE_CONTROL));
+		if (maxAge != null) {
+			entries.put(key, new Entry<>(entry.etag(), entry.lastModified(), maxAge, entry.value()));
+		}
+	}
+
+	/**
+	 * Returns the value of the header with the given name, ignoring the case of the name as required by RFC 9110.
+	 */
+	@Nullable
+	static String getHeader(@Nullable Map<String, String> headers, String name) {
+		if (headers == null) {
+			return null;
+		}
+		String value = headers.get(name);
+		if (value != null) {
+			return value;
+		}
+		for (Map.Entry<String, String> header : headers.entrySet()) {
+			if (name.equalsIgnoreCase(header.getKey())) {
+				return header.getValue();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Parses the {@code max-age} directive of a {@code Cache-Control} header. {@code no-cache} and {@code no-store}
+	 * result in a max-age of zero.
+	 *
+	 * @return the max-age or {@code null} in case the header has no valid max-age directive
+	 */
+	@Nullable
+	static Duration parseMaxAge(@Nullable String cacheControl) {
+		if (cacheControl == null) {
+			return null;
+		}
+		Duration maxAge = null;
+		for (String directive : cacheControl.split(",")) {
+			String trimmed = directive.trim().toLowerCase();
+			if (trimmed.equals("no-cache") || trimmed.equals("no-store")) {
+				return Duration.ZERO;
+			}
+			if (trimmed.startsWith("max-age=")) {
+				try {
+					long seconds = Long.parseLong(trimmed.substring("max-age=".length()).replace("\"", ""));
+					maxAge = seconds >= 0 ? Duration.ofSeconds(seconds) : null;
+				} catch (NumberFormatException e) {
+					return null;
+				}
+			}
+		}
+		return maxAge;
+	}
+
+	/**
+	 * Adds the conditional request headers for the given entry.
+	 */
+	static void addConditionalHeaders(@Nullable Entry<?> entry, Map<String, String> requestHeaders) {
+		if (entry != null) {
+			if (entry.etag() != null) {
+				requestHeaders.put(HttpHeaders.IF_NONE_MATCH, entry.etag());
+			}
+			if (entry.lastModified() != null) {
+				requestHeaders.put(HttpHeaders.IF_MODIFIED_SINCE, entry.lastModified());
+			}
+		}
+	}
+
+	record Entry<T>(@Nullable String etag, @Nullable String lastModified, @Nullable Duration maxAge, T value) {
+		boolean isRevalidatable() {
+			return etag != null || lastModified != null;
+		}
+	}
+}
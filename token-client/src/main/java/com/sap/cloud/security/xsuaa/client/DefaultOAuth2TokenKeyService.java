@@ -22,13 +22,20 @@ import com.sap.cloud.security.xsuaa.Assertions;
 import com.sap.cloud.security.xsuaa.util.HttpClientUtil;
 import java.io.IOException;
 import java.net.URI;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Requests the token keys (JWKS) via http. The {@code ETag} and {@code Last-Modified} headers of the last response are
+ * sent along as {@code If-None-Match} and {@code If-Modified-Since}, so that unchanged token keys are answered with
+ * {@code 304 Not Modified} and no body.
+ */
 public class DefaultOAuth2TokenKeyService implements OAuth2TokenKeyService {
 
   private static final String SUCCESS_MESSAGE =
@@ -36,6 +43,7 @@ public class DefaultOAuth2TokenKeyService implements OAuth2TokenKeyService {
   private static final Logger LOGGER = LoggerFactory.getLogger(DefaultOAuth2TokenKeyService.class);
   private final SecurityHttpClient httpClient;
   private final DefaultTokenClientConfiguration config;
+  private final ConditionalRequestCache<String> responses = new ConditionalRequestCache<>();
 
   public DefaultOAuth2TokenKeyService() throws HttpClientException {
     httpClient = SecurityHttpClientProvider.createClient(null);
@@ -64,8 +72,21 @@ public class DefaultOAuth2TokenKeyService implements OAuth2TokenKeyService {
       throws OAuth2ServiceException {
     Assertions.assertNotNull(tokenKeysEndpointUri, "Token key endpoint must not be null!");
     validateUri(tokenKeysEndpointUri);
+    String key = ConditionalRequestCache.key(tokenKeysEndpointUri, params);
     return executeRequest(
-        tokenKeysEndpointUri, params, config.isRetryEnabled() ? config.getMaxRetryAttempts() : 0);
+        tokenKeysEndpointUri,
+        params,
+        key,
+        responses.get(key),
+        config.isRetryEnabled() ? config.getMaxRetryAttempts() : 0);
+  }
+
+  @Nullable
+  @Override
+  public Duration getMaxAge(@Nonnull final URI tokenKeysEndpointUri, final Map<String, String> params) {
+    ConditionalRequestCache.Entry<String> entry =
+        responses.get(ConditionalRequestCache.key(tokenKeysEndpointUri, params));
+    return entry != null ? entry.maxAge() : null;
   }
 
   private void validateUri(final URI uri) throws OAuth2ServiceException {
@@ -85,10 +106,14 @@ public class DefaultOAuth2TokenKeyService implements OAuth2TokenKeyService {
   }
 
   private String executeRequest(
-      final URI tokenKeysEndpointUri, final Map<String, String> params, final int attemptsLeft)
+      final URI tokenKeysEndpointUri,
+      final Map<String, String> params,
+      final String key,
+      @Nullable final ConditionalRequestCache.Entry<String> cachedResponse,
+      final int attemptsLeft)
       throws OAuth2ServiceException {
 
-    SecurityHttpRequest request = createHttpRequest(tokenKeysEndpointUri, params);
+    SecurityHttpRequest request = createHttpRequest(tokenKeysEndpointUri, params, cachedResponse);
     LOGGER.debug(
         "Executing token key retrieval GET request to {} with headers: {} and {} retries left",
         LogSanitizer.sanitize(tokenKeysEndpointUri),
@@ -105,12 +130,23 @@ public class DefaultOAuth2TokenKeyService implements OAuth2TokenKeyService {
       if (statusCode == 200) {
         LOGGER.debug(SUCCESS_MESSAGE, LogSanitizer.sanitize(tokenKeysEndpointUri), LogSanitizer.sanitize(params));
         handleServicePlanFromResponse(response);
+        responses.put(key, response.getHeaders(), body);
         return body;
+      } else if (statusCode == ConditionalRequestCache.NOT_MODIFIED
+          && cachedResponse != null
+          && cachedResponse.isRevalidatable()) {
+        LOGGER.debug(
+            "Token keys from {} with params {} are not modified.",
+            LogSanitizer.sanitize(tokenKeysEndpointUri),
+            LogSanitizer.sanitize(params));
+        handleServicePlanFromResponse(response);
+        responses.revalidated(key, cachedResponse, response.getHeaders());
+        return cachedResponse.value();
       } else if (attemptsLeft > 0 && config.getRetryStatusCodes().contains(statusCode)) {
         LOGGER.warn(
             "Request failed with status {} but is retryable. Retrying...", statusCode);
         pauseBeforeNextAttempt(config.getRetryDelayTime());
-        return executeRequest(tokenKeysEndpointUri, params, attemptsLeft - 1);
+        return executeRequest(tokenKeysEndpointUri, params, key, cachedResponse, attemptsLeft - 1);
       }
 
       throw OAuth2ServiceException.builder("Error retrieving token keys.")
@@ -135,10 +171,13 @@ public class DefaultOAuth2TokenKeyService implements OAuth2TokenKeyService {
   }
 
   private SecurityHttpRequest createHttpRequest(
-      final URI tokenKeysEndpointUri, final Map<String, String> params) {
+      final URI tokenKeysEndpointUri,
+      final Map<String, String> params,
+      @Nullable final ConditionalRequestCache.Entry<String> cachedResponse) {
 
     Map<String, String> headers = new HashMap<>(params);
     headers.put("User-Agent", HttpClientUtil.getUserAgent());
+    ConditionalRequestCache.addConditionalHeaders(cachedResponse, headers);
 
     return SecurityHttpRequest.newBuilder()
         .method("GET")
@@ -14,6 +14,9 @@ import com.sap.cloud.security.client.DefaultTokenClientConfiguration;
 import com.sap.cloud.security.client.SecurityHttpClient;
 import com.sap.cloud.security.client.SecurityHttpRequest;
 import com.sap.cloud.security.client.SecurityHttpResponse;
+import com.sap.cloud.security.json.JsonObject;
+import com.sap.cloud.security.json.JsonObjectProvider;
+import com.sap.cloud.security.json.JsonParsingException;
 import com.sap.cloud.security.servlet.MDCHelper;
 import com.sap.cloud.security.util.LogSanitizer;
 import com.sap.cloud.security.xsuaa.Assertions;
@@ -21,6 +24,7 @@ import com.sap.cloud.security.xsuaa.http.HttpHeaders;
 import com.sap.cloud.security.xsuaa.tokenflows.TokenCacheConfiguration;
 import com.sap.cloud.security.xsuaa.util.HttpClientUtil;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URLEncoder;
@@ -30,7 +34,6 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -194,26 +197,39 @@ public class DefaultOAuth2TokenService extends AbstractOAuth2TokenService {
 
   private OAuth2TokenResponse convertToOAuth2TokenResponse(final String responseBody)
       throws OAuth2ServiceException {
-    final Map<String, Object> accessTokenMap = new JSONObject(responseBody).toMap();
-    final String accessToken = getParameter(accessTokenMap, ACCESS_TOKEN);
-    final String refreshToken = getParameter(accessTokenMap, REFRESH_TOKEN);
-    final String expiresIn = getParameter(accessTokenMap, EXPIRES_IN);
-    final String tokenType = getParameter(accessTokenMap, TOKEN_TYPE);
+    final JsonObject accessTokenJson = JsonObjectProvider.createJsonObject(responseBody);
+    final String accessToken = getParameter(accessTokenJson, ACCESS_TOKEN);
+    final String refreshToken = getParameter(accessTokenJson, REFRESH_TOKEN);
+    final String tokenType = getParameter(accessTokenJson, TOKEN_TYPE);
     return new OAuth2TokenResponse(
-        accessToken, convertExpiresInToLong(expiresIn), refreshToken, tokenType);
+        accessToken, convertExpiresInToLong(accessTokenJson), refreshToken, tokenType);
   }
 
-  private Long convertExpiresInToLong(final String expiresIn) throws OAuth2ServiceException {
+  private Long convertExpiresInToLong(final JsonObject accessTokenJson) throws OAuth2ServiceException {
     try {
-      return Long.parseLong(expiresIn);
-    } catch (final NumberFormatException e) {
-      throw new OAuth2ServiceException(
-					"Cannot convert expires_in from response (%s) to long".formatted(expiresIn));
+      final Long expiresIn = accessTokenJson.getAsLong(EXPIRES_IN);
+      if (expiresIn != null) {
+        return expiresIn;
+      }
+    } catch (final JsonParsingException e) {
+      LOGGER.debug("Cannot convert expires_in from response: {}", e.getMessage());
     }
+    throw new OAuth2ServiceException("Cannot convert expires_in from response to long");
   }
 
-  private String getParameter(final Map<String, Object> accessTokenMap, final String key) {
-    return String.valueOf(accessTokenMap.get(key));
+  @Nullable
+  private String getParameter(final JsonObject accessTokenJson, final String key) {
+    try {
+      return accessTokenJson.getAsString(key);
+    } catch (final JsonParsingException e) {
+      // not a string, e.g. json null or a number
+      try {
+        final Long number = accessTokenJson.getAsLong(key);
+        return number != null ? String.valueOf(number) : null;
+      } catch (final JsonParsingException notANumber) {
+        return null;
+      }
+    }
   }
 
   private static String[] getHeadersAsStringArray(final Map<String, String> headers) {
@@ -14,22 +14,29 @@ import com.sap.cloud.security.client.SecurityHttpClient;
 import com.sap.cloud.security.client.SecurityHttpClientProvider;
 import com.sap.cloud.security.client.SecurityHttpRequest;
 import com.sap.cloud.security.client.SecurityHttpResponse;
+import com.sap.cloud.security.json.JsonObject;
+import com.sap.cloud.security.json.JsonObjectProvider;
+import com.sap.cloud.security.json.JsonParsingException;
 import com.sap.cloud.security.xsuaa.Assertions;
 import com.sap.cloud.security.xsuaa.util.HttpClientUtil;
 import com.sap.cloud.security.xsuaa.util.UriUtil;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.io.IOException;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * <a href=
  * "https://openid.net/specs/openid-connect-discovery-1_0.html#ProviderConfigurationRequest">https://openid.net/specs/openid-connect-discovery-1_0.html#ProviderConfigurationRequest</a>
+ *
+ * <p>The discovery document is requested conditionally with the {@code ETag} and {@code
+ * Last-Modified} headers of the last response; an unchanged document is answered with {@code 304
+ * Not Modified} and the endpoints parsed before are reused.
  */
 public class DefaultOidcConfigurationService implements OidcConfigurationService {
 
@@ -37,6 +44,8 @@ public class DefaultOidcConfigurationService implements OidcConfigurationService
   private static final Logger LOGGER =
       LoggerFactory.getLogger(DefaultOidcConfigurationService.class);
   private final DefaultTokenClientConfiguration config;
+  private final ConditionalRequestCache<OAuth2ServiceEndpointsProvider> responses =
+      new ConditionalRequestCache<>();
 
   public DefaultOidcConfigurationService() throws HttpClientException {
     this.httpClient = SecurityHttpClientProvider.createClient(null);
@@ -76,16 +85,22 @@ public class DefaultOidcConfigurationService implements OidcConfigurationService
   public OAuth2ServiceEndpointsProvider retrieveEndpoints(@Nonnull final URI discoveryEndpointUri)
       throws OAuth2ServiceException {
     Assertions.assertNotNull(discoveryEndpointUri, "discoveryEndpointUri must not be null!");
-    final String endpointsJson =
-        executeRequest(
-            discoveryEndpointUri, config.isRetryEnabled() ? config.getMaxRetryAttempts() : 0);
-    return new OidcEndpointsProvider(endpointsJson);
+    String key = ConditionalRequestCache.key(discoveryEndpointUri, null);
+    return executeRequest(
+        discoveryEndpointUri,
+        key,
+        responses.get(key),
+        config.isRetryEnabled() ? config.getMaxRetryAttempts() : 0);
   }
 
-  private String executeRequest(final URI discoveryEndpointUri, final int attemptsLeft)
+  private OAuth2ServiceEndpointsProvider executeRequest(
+      final URI discoveryEndpointUri,
+      final String key,
+      @Nullable final ConditionalRequestCache.Entry<OAuth2ServiceEndpointsProvider> cachedResponse,
+      final int attemptsLeft)
       throws OAuth2ServiceException {
 
-    SecurityHttpRequest request = createHttpRequest(discoveryEndpointUri);
+    SecurityHttpRequest request = createHttpRequest(discoveryEndpointUri, cachedResponse);
     LOGGER.debug(
         "Retrieving configured oidc endpoints: {} with headers {} and {} retries left",
         discoveryEndpointUri,
@@ -101,12 +116,20 @@ public class DefaultOidcConfigurationService implements OidcConfigurationService
 
       if (statusCode == 200) {
         LOGGER.debug("Successfully retrieved oidc endpoints from {}.", discoveryEndpointUri);
-        return body;
+        OAuth2ServiceEndpointsProvider endpoints = new OidcEndpointsProvider(body);
+        responses.put(key, response.getHeaders(), endpoints);
+        return endpoints;
+      } else if (statusCode == ConditionalRequestCache.NOT_MODIFIED
+          && cachedResponse != null
+          && cachedResponse.isRevalidatable()) {
+        LOGGER.debug("Oidc endpoints from {} are not modified.", discoveryEndpointUri);
+        responses.revalidated(key, cachedResponse, response.getHeaders());
+        return cachedResponse.value();
       } else if (attemptsLeft > 0 && config.getRetryStatusCodes().contains(statusCode)) {
         LOGGER.warn(
             "Request failed with status {} but is retryable. Retrying...", statusCode);
         pauseBeforeNextAttempt(config.getRetryDelayTime());
-        return executeRequest(discoveryEndpointUri, attemptsLeft - 1);
+        return executeRequest(discoveryEndpointUri, key, cachedResponse, attemptsLeft - 1);
       }
 
       throw OAuth2ServiceException.builder("Error retrieving configured oidc endpoints")
@@ -131,9 +154,12 @@ public class DefaultOidcConfigurationService implements OidcConfigurationService
     }
   }
 
-  private SecurityHttpRequest createHttpRequest(final URI discoveryEndpointUri) {
+  private SecurityHttpRequest createHttpRequest(
+      final URI discoveryEndpointUri,
+      @Nullable final ConditionalRequestCache.Entry<OAuth2ServiceEndpointsProvider> cachedResponse) {
     Map<String, String> headers = new HashMap<>();
     headers.put("User-Agent", HttpClientUtil.getUserAgent());
+    ConditionalRequestCache.addConditionalHeaders(cachedResponse, headers);
 
     return SecurityHttpRequest.newBuilder()
         .method("GET")
@@ -159,30 +185,72 @@ public class DefaultOidcConfigurationService implements OidcConfigurationService
     }
   }
 
+  /**
+   * Endpoints of an OpenID Connect discovery document. The endpoint URIs are parsed once when the
+   * document is received; an endpoint that is missing or invalid fails only when it is accessed.
+   */
   static class OidcEndpointsProvider implements OAuth2ServiceEndpointsProvider {
     static final String AUTHORIZATION_ENDPOINT = "authorization_endpoint";
     static final String TOKEN_ENDPOINT = "token_endpoint";
     static final String JWKS_ENDPOINT = "jwks_uri";
 
-    private final JSONObject jsonObject;
+    private final Endpoint tokenEndpoint;
+    private final Endpoint authorizeEndpoint;
+    private final Endpoint jwksUri;
 
     OidcEndpointsProvider(final String jsonString) {
-      jsonObject = new JSONObject(jsonString);
+      final JsonObject jsonObject = JsonObjectProvider.createJsonObject(jsonString);
+      tokenEndpoint = Endpoint.parse(jsonObject, TOKEN_ENDPOINT);
+      authorizeEndpoint = Endpoint.parse(jsonObject, AUTHORIZATION_ENDPOINT);
+      jwksUri = Endpoint.parse(jsonObject, JWKS_ENDPOINT);
     }
 
     @Override
     public URI getTokenEndpoint() {
-      return URI.create(jsonObject.getString(TOKEN_ENDPOINT));
+      return tokenEndpoint.get();
     }
 
     @Override
     public URI getAuthorizeEndpoint() {
-      return URI.create(jsonObject.getString(AUTHORIZATION_ENDPOINT));
+      return authorizeEndpoint.get();
     }
 
     @Override
     public URI getJwksUri() {
-      return URI.create(jsonObject.getString(JWKS_ENDPOINT));
+      return jwksUri.get();
+    }
+
+    /**
+     * An endpoint URI or the reason why it could not be parsed. A new exception is thrown on each
+     * access, so that callers don't share one exception instance and its stack trace.
+     */
+    private record Endpoint(URI uri, String failureMessage, boolean invalidUri) {
+
+      static Endpoint parse(final JsonObject jsonObject, final String name) {
+        final String uri;
+        try {
+          uri = jsonObject.getAsString(name);
+        } catch (final JsonParsingException e) {
+          return new Endpoint(null, e.getMessage(), false);
+        }
+        if (uri == null) {
+          return new Endpoint(null, "JSONObject[\"%s\"] not found.".formatted(name), false);
+        }
+        try {
+          return new Endpoint(URI.create(uri), null, false);
+        } catch (final IllegalArgumentException e) {
+          return new Endpoint(null, e.getMessage(), true);
+        }
+      }
+
+      URI get() {
+        if (failureMessage != null) {
+          throw invalidUri
+              ? new IllegalArgumentException(failureMessage)
+              : new JsonParsingException(failureMessage);
+        }
+        return uri;
+      }
     }
   }
 }
@@ -10,6 +10,7 @@ import com.sap.cloud.security.xsuaa.http.HttpHeaders;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.net.URI;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -74,4 +75,34 @@ public interface OAuth2TokenKeyService {
 	 */
 	String retrieveTokenKeys(@Nonnull URI tokenKeysEndpointUri, Map<String, String> params)
 			throws OAuth2ServiceException;
+
+	/**
+	 * Returns how long the token keys of the last response for the given request may be cached according to the
+	 * {@code Cache-Control: max-age} response header.
+	 *
+	 * @param tokenKeysEndpointUri
+	 * 		the JWKS endpoint URI.
+	 * @param params
+	 * 		the header parameters of the request.
+	 * @return the max-age or {@code null} in case the server did not specify it.
+	 */
+	@Nullable
+	default Duration getMaxAge(@Nonnull URI tokenKeysEndpointUri, Map<String, String> params) {
+		return null;
+	}
+
+	/**
+	 * Returns how old the token keys of the last response for the given request already were when they were returned,
+	 * e.g. because they were restored from a snapshot instead of being requested from the identity service.
+	 *
+	 * @param tokenKeysEndpointUri
+	 * 		the JWKS endpoint URI.
+	 * @param params
+	 * 		the header parameters of the request.
+	 * @return the age or {@code null} in case the token keys were just requested.
+	 */
+	@Nullable
+	default Duration getAge(@Nonnull URI tokenKeysEndpointUri, Map<String, String> params) {
+		return null;
+	}
 }
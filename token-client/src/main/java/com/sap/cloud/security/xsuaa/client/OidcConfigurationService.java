@@ -6,7 +6,9 @@
 package com.sap.cloud.security.xsuaa.client;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.net.URI;
+import java.time.Duration;
 
 @SuppressWarnings("squid:S1214")
 public interface OidcConfigurationService {
@@ -23,4 +25,17 @@ public interface OidcConfigurationService {
 	 */
 	OAuth2ServiceEndpointsProvider retrieveEndpoints(@Nonnull URI discoveryEndpointUri) throws OAuth2ServiceException;
 
+	/**
+	 * Returns how old the endpoints of the last response for the given discovery endpoint already were when they were
+	 * returned, e.g. because they were restored from a snapshot instead of being requested from the OAuth Server.
+	 *
+	 * @param discoveryEndpointUri
+	 * 		the discovery endpoint URI.
+	 * @return the age or {@code null} in case the endpoints were just requested.
+	 */
+	@Nullable
+	default Duration getAge(@Nonnull URI discoveryEndpointUri) {
+		return null;
+	}
+
 }
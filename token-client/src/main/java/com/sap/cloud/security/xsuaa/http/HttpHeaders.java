@@ -13,6 +13,11 @@ public class HttpHeaders {
 	public static final String AUTHORIZATION = "Authorization";
 	public static final String ACCEPT = "Accept";
 	public static final String CONTENT_TYPE = "Content-Type";
+	public static final String CACHE_CONTROL = "Cache-Control";
+	public static final String ETAG = "ETag";
+	public static final String LAST_MODIFIED = "Last-Modified";
+	public static final String IF_NONE_MATCH = "If-None-Match";
+	public static final String IF_MODIFIED_SINCE = "If-Modified-Since";
 	/**
 	 * Used for Xsuaa Token flows only
 	 */
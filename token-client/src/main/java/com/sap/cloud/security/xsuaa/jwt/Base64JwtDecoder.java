@@ -10,9 +10,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serial;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
-import java.util.regex.Pattern;
 
 import static java.lang.System.lineSeparator;
 
@@ -28,6 +28,9 @@ public final class Base64JwtDecoder {
 
 	/**
 	 * Decodes the Json Web token (jwt).
+	 * <p>
+	 * The sections are located by their offsets within the given jwt and are decoded from there, without splitting
+	 * the jwt into intermediate strings.
 	 *
 	 * @param jwt
 	 * 		the access token
@@ -36,20 +39,45 @@ public final class Base64JwtDecoder {
 	public DecodedJwt decode(String jwt) {
 		Assertions.assertNotNull(jwt, "JWT must not be null");
 
-		String[] parts = jwt.split(Pattern.quote("."));
-		if (parts.length != 3) {
+		int headerEnd = jwt.indexOf('.');
+		int payloadEnd = headerEnd < 0 ? -1 : jwt.indexOf('.', headerEnd + 1);
+		int signatureEnd = payloadEnd < 0 ? -1 : signatureEnd(jwt, payloadEnd + 1);
+		if (signatureEnd < 0) {
 			throw new IllegalArgumentException("JWT token does not consist of 'header'.'payload'.'signature'.");
 		}
-		String header = base64Decode(parts[0]);
-		String payload = base64Decode(parts[1]);
-		String signature = parts[2];
+		// same as Base64.Decoder#decode(String), but the latin1 bytes are copied only once for all sections
+		byte[] jwtBytes = jwt.getBytes(StandardCharsets.ISO_8859_1);
+		String header = base64Decode(jwtBytes, 0, headerEnd);
+		String payload = base64Decode(jwtBytes, headerEnd + 1, payloadEnd);
 
-		return new DecodedJwtImpl(jwt, header, payload, signature);
+		return new DecodedJwtImpl(jwt, header, payload, payloadEnd + 1, signatureEnd);
 	}
 
-	private String base64Decode(String encoded) {
-		byte[] decodedBytes = Base64.getUrlDecoder().decode(encoded);
-		return new String(decodedBytes, StandardCharsets.UTF_8);
+	/**
+	 * Returns the end index of the signature section that starts at the given index, or -1 if the signature section is
+	 * empty or followed by further sections. Trailing dots are ignored as it was the case with
+	 * {@code String.split(".")}.
+	 */
+	private static int signatureEnd(String jwt, int signatureStart) {
+		int signatureEnd = jwt.indexOf('.', signatureStart);
+		if (signatureEnd < 0) {
+			signatureEnd = jwt.length();
+		}
+		if (signatureEnd == signatureStart) {
+			return -1;
+		}
+		for (int i = signatureEnd; i < jwt.length(); i++) {
+			if (jwt.charAt(i) != '.') {
+				return -1;
+			}
+		}
+		return signatureEnd;
+	}
+
+	private static String base64Decode(byte[] jwtBytes, int start, int end) {
+		ByteBuffer decoded = Base64.getUrlDecoder().decode(ByteBuffer.wrap(jwtBytes, start, end - start));
+		return new String(decoded.array(), decoded.arrayOffset() + decoded.position(), decoded.remaining(),
+				StandardCharsets.UTF_8);
 	}
 
 	static class DecodedJwtImpl implements DecodedJwt {
@@ -59,15 +87,17 @@ public final class Base64JwtDecoder {
 
 		private final String header;
 		private final String payload;
-		private final String signature;
+		private final int signatureStart;
+		private final int signatureEnd;
 		private final String encodedJwt;
 		private static final String TAB = "\t";
 		private static final Logger LOGGER = LoggerFactory.getLogger(DecodedJwtImpl.class);
 
-		DecodedJwtImpl(String encodedJwt, String header, String payload, String signature) {
+		DecodedJwtImpl(String encodedJwt, String header, String payload, int signatureStart, int signatureEnd) {
 			this.header = header;
 			this.payload = payload;
-			this.signature = signature;
+			this.signatureStart = signatureStart;
+			this.signatureEnd = signatureEnd;
 			this.encodedJwt = encodedJwt;
 			if (LOGGER.isDebugEnabled()) {
 				LOGGER.debug(toString());
@@ -86,7 +116,7 @@ public final class Base64JwtDecoder {
 
 		@Override
 		public String getSignature() {
-			return signature;
+			return encodedJwt.substring(signatureStart, signatureEnd);
 		}
 
 		@Override
@@ -18,7 +18,7 @@ import java.util.Objects;
 public class TokenCacheConfiguration implements CacheConfiguration {
 
 	private static final TokenCacheConfiguration DEFAULT = new TokenCacheConfiguration(Duration.ofMinutes(10), 1000,
-			Duration.ofSeconds(30), false);
+			Duration.ofSeconds(30), false, Duration.ZERO, 0);
 
 	private static final TokenCacheConfiguration CACHE_DISABLED = new DisabledCache();
 
@@ -26,6 +26,8 @@ public class TokenCacheConfiguration implements CacheConfiguration {
 	private final int cacheSize;
 	private final Duration tokenExpirationDelta;
 	private final boolean cacheStatisticsEnabled;
+	private final Duration refreshAheadTime;
+	private final int refreshAheadAccessCount;
 
 	/**
 	 * Creates a new {@link TokenCacheConfiguration} instance with the given properties. See
@@ -43,7 +45,7 @@ public class TokenCacheConfiguration implements CacheConfiguration {
 	public static TokenCacheConfiguration getInstance(@Nonnull Duration cacheDuration, int cacheSize,
 			@Nonnull Duration tokenExpirationDelta) {
 		Assertions.assertNotNull(cacheDuration, "The cache duration write must not be null!");
-		return new TokenCacheConfiguration(cacheDuration, cacheSize, tokenExpirationDelta, false);
+		return new TokenCacheConfiguration(cacheDuration, cacheSize, tokenExpirationDelta, false, Duration.ZERO, 0);
 	}
 
 	/**
@@ -64,7 +66,45 @@ public class TokenCacheConfiguration implements CacheConfiguration {
 	 */
 	public static TokenCacheConfiguration getInstance(Duration cacheDuration, int cacheSize,
 			Duration tokenExpirationDelta, boolean cacheStatisticsEnabled) {
-		return new TokenCacheConfiguration(cacheDuration, cacheSize, tokenExpirationDelta, cacheStatisticsEnabled);
+		return new TokenCacheConfiguration(cacheDuration, cacheSize, tokenExpirationDelta, cacheStatisticsEnabled,
+				Duration.ZERO, 0);
+	}
+
+	/**
+	 * Creates a new {@link TokenCacheConfiguration} instance with the given properties, which refreshes actively used
+	 * tokens in the background. See {@link CacheConfiguration#getCacheDuration()},
+	 * {@link CacheConfiguration#getCacheSize()}, {@link TokenCacheConfiguration#getTokenExpirationDelta()},
+	 * {@link CacheConfiguration#isCacheStatisticsEnabled()}, {@link TokenCacheConfiguration#getRefreshAheadTime()} and
+	 * {@link TokenCacheConfiguration#getRefreshAheadAccessCount()} for an explanation of the respective properties.
+	 *
+	 * @param cacheDuration
+	 * 		the cache duration property.
+	 * @param cacheSize
+	 * 		the cache size property.
+	 * @param tokenExpirationDelta
+	 * 		the token expiration delta.
+	 * @param cacheStatisticsEnabled
+	 *        {@code true} if cache statistic recording has been enabled
+	 * @param refreshAheadTime
+	 * 		the refresh ahead time, {@link Duration#ZERO} disables the background refresh.
+	 * @param refreshAheadAccessCount
+	 * 		the number of accesses after which a cached token is refreshed in the background.
+	 * @return a new {@link TokenCacheConfiguration} instance.
+	 * @throws IllegalArgumentException
+	 * 		in case the refresh ahead time or access count is negative
+	 */
+	public static TokenCacheConfiguration getInstance(Duration cacheDuration, int cacheSize,
+			Duration tokenExpirationDelta, boolean cacheStatisticsEnabled, @Nonnull Duration refreshAheadTime,
+			int refreshAheadAccessCount) {
+		Assertions.assertNotNull(refreshAheadTime, "The refresh ahead time must not be null!");
+		if (refreshAheadTime.isNegative()) {
+			throw new IllegalArgumentException("The refresh ahead time must not be negative!");
+		}
+		if (refreshAheadAccessCount < 0) {
+			throw new IllegalArgumentException("The refresh ahead access count must not be negative!");
+		}
+		return new TokenCacheConfiguration(cacheDuration, cacheSize, tokenExpirationDelta, cacheStatisticsEnabled,
+				refreshAheadTime, refreshAheadAccessCount);
 	}
 
 	/**
@@ -82,11 +122,13 @@ public class TokenCacheConfiguration implements CacheConfiguration {
 	}
 
 	private TokenCacheConfiguration(Duration cacheDuration, int cacheSize, Duration tokenExpirationDelta,
-			boolean cacheStatisticsEnabled) {
+			boolean cacheStatisticsEnabled, Duration refreshAheadTime, int refreshAheadAccessCount) {
 		this.cacheDuration = cacheDuration;
 		this.cacheSize = cacheSize;
 		this.tokenExpirationDelta = tokenExpirationDelta;
 		this.cacheStatisticsEnabled = cacheStatisticsEnabled;
+		this.refreshAheadTime = refreshAheadTime;
+		this.refreshAheadAccessCount = refreshAheadAccessCount;
 	}
 
 	@Nonnull
@@ -119,6 +161,32 @@ public class TokenCacheConfiguration implements CacheConfiguration {
 		return cacheStatisticsEnabled;
 	}
 
+	/**
+	 * Cached tokens that are actively used are requested again in the background before they reach the token
+	 * expiration delta, while the cached token is still served. The refresh ahead time controls how long before: for
+	 * example if the expiration delta is 30 seconds and the refresh ahead time is 60 seconds, a token that expires in
+	 * less than 90 seconds is refreshed in the background. Tokens that are valid longer than the cache duration are
+	 * refreshed the refresh ahead time before they are evicted from the cache. {@link Duration#ZERO} disables the
+	 * background refresh, so that tokens are requested again once they are within the expiration delta only.
+	 *
+	 * @return the refresh ahead time.
+	 */
+	public Duration getRefreshAheadTime() {
+		return refreshAheadTime;
+	}
+
+	/**
+	 * The number of times a cached token must have been accessed before it is refreshed in the background, see
+	 * {@link #getRefreshAheadTime()}. Tokens that are used less often are requested again once they are within the
+	 * expiration delta only. In case the background refresh fails, it is retried after this number of further
+	 * accesses.
+	 *
+	 * @return the minimum number of accesses.
+	 */
+	public int getRefreshAheadAccessCount() {
+		return refreshAheadAccessCount;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o)
@@ -141,13 +209,15 @@ public class TokenCacheConfiguration implements CacheConfiguration {
 				"cacheDuration=" + cacheDuration +
 				", cacheSize=" + cacheSize +
 				", tokenExpirationDelta=" + tokenExpirationDelta +
+				", refreshAheadTime=" + refreshAheadTime +
+				", refreshAheadAccessCount=" + refreshAheadAccessCount +
 				'}';
 	}
 
 	private static class DisabledCache extends TokenCacheConfiguration {
 
 		private DisabledCache() {
-			super(Duration.ZERO, 0, Duration.ZERO, false);
+			super(Duration.ZERO, 0, Duration.ZERO, false, Duration.ZERO, 0);
 		}
 
 		@Override
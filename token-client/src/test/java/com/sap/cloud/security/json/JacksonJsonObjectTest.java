@@ -0,0 +1,124 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.json;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JacksonJsonObjectTest {
+
+	private static final String JSON = """
+			{"string": "text", "long": 1554076800, "longAsString": "42", "bool": true, "null": null,
+			"list": ["a", "b"], "object": {"key": "value", "nested": {"key": "nestedValue"}},
+			"objects": [{"key": "value1"}, {"key": "value2"}]}""";
+
+	private final JsonObject cut = JacksonJsonObject.parse(JSON);
+
+	@AfterEach
+	public void tearDown() {
+		System.clearProperty(JsonObjectProvider.FACTORY_PROPERTY_NAME);
+		JsonObjectProvider.reset();
+	}
+
+	@Test
+	public void contains() {
+		assertThat(cut.contains("string")).isTrue();
+		assertThat(cut.contains("null")).isTrue();
+		assertThat(cut.contains("doesNotExist")).isFalse();
+		assertThat(cut.isEmpty()).isFalse();
+		assertThat(JacksonJsonObject.parse("{}").isEmpty()).isTrue();
+	}
+
+	@Test
+	public void getAsString() {
+		assertThat(cut.getAsString("string")).isEqualTo("text");
+		assertThat(cut.getAsString("doesNotExist")).isNull();
+		assertThatThrownBy(() -> cut.getAsString("long")).isInstanceOf(JsonParsingException.class)
+				.hasMessage("JSONObject[\"long\"] is not a string (java.lang.Integer).");
+		assertThatThrownBy(() -> cut.getAsString("null")).isInstanceOf(JsonParsingException.class);
+	}
+
+	@Test
+	public void getAsLongAndInstant() {
+		assertThat(cut.getAsLong("long")).isEqualTo(1554076800L);
+		assertThat(cut.getAsLong("longAsString")).isEqualTo(42L);
+		assertThat(cut.getAsInstant("long")).isEqualTo(Instant.ofEpochSecond(1554076800L));
+		assertThat(cut.getAsInstant("doesNotExist")).isNull();
+		assertThatThrownBy(() -> cut.getAsLong("string")).isInstanceOf(JsonParsingException.class);
+	}
+
+	@Test
+	public void getAsStringList() {
+		assertThat(cut.getAsStringList("list")).containsExactly("a", "b");
+		assertThat(cut.getAsStringList("string")).containsExactly("text");
+		assertThat(cut.getAsStringList("doesNotExist")).isEmpty();
+		assertThatThrownBy(() -> cut.getAsList("list", Integer.class)).isInstanceOf(JsonParsingException.class);
+	}
+
+	@Test
+	public void getJsonObject() {
+		JsonObject object = cut.getJsonObject("object");
+
+		assertThat(object.getAsString("key")).isEqualTo("value");
+		assertThat(object.getJsonObject("nested").getAsString("key")).isEqualTo("nestedValue");
+		assertThat(cut.getJsonObject("doesNotExist")).isNull();
+		assertThatThrownBy(() -> cut.getJsonObject("list")).isInstanceOf(JsonParsingException.class);
+	}
+
+	@Test
+	public void getJsonObjects() {
+		assertThat(cut.getJsonObjects("objects")).extracting(o -> o.getAsString("key"))
+				.containsExactly("value1", "value2");
+		assertThat(cut.getJsonObjects("doesNotExist")).isEmpty();
+		assertThatThrownBy(() -> cut.getJsonObjects("list")).isInstanceOf(JsonParsingException.class);
+	}
+
+	@Test
+	public void getKeyValueMap() {
+		assertThat(cut.getKeyValueMap()).containsOnlyKeys("string", "longAsString");
+	}
+
+	@Test
+	public void asJsonString() {
+		JsonObject reparsed = JacksonJsonObject.parse(cut.asJsonString());
+
+		assertThat(reparsed.getAsLong("long")).isEqualTo(1554076800L);
+		assertThat(reparsed.contains("null")).isTrue();
+		assertThat(reparsed.getJsonObject("object").getJsonObject("nested").getAsString("key"))
+				.isEqualTo("nestedValue");
+		assertThat(reparsed.getJsonObjects("objects")).hasSize(2);
+	}
+
+	@Test
+	public void parse_invalidJson_throwsException() {
+		assertThatThrownBy(() -> JacksonJsonObject.parse("[]")).isInstanceOf(JsonParsingException.class);
+		assertThatThrownBy(() -> JacksonJsonObject.parse("{\"a\": 1")).isInstanceOf(JsonParsingException.class);
+		assertThatThrownBy(() -> JacksonJsonObject.parse("{\"a\": 1} {}"))
+				.isInstanceOf(JsonParsingException.class);
+		assertThatThrownBy(() -> JacksonJsonObject.parse("{\"a\": 1, \"a\": 2}"))
+				.isInstanceOf(JsonParsingException.class);
+	}
+
+	@Test
+	public void jsonObjectProvider_usesConfiguredFactory() {
+		System.setProperty(JsonObjectProvider.FACTORY_PROPERTY_NAME, JacksonJsonObjectFactory.class.getName());
+		JsonObjectProvider.reset();
+
+		assertThat(JsonObjectProvider.createJsonObject(JSON)).isInstanceOf(JacksonJsonObject.class);
+	}
+
+	@Test
+	public void jsonObjectProvider_prefersDefaultFactory() {
+		JsonObjectProvider.reset();
+
+		assertThat(JsonObjectProvider.createJsonObject(JSON)).isInstanceOf(DefaultJsonObject.class);
+	}
+}
@@ -0,0 +1,53 @@
+/**
+ * SPDX-FileCopyrightText: 2018-2023 SAP SE or an SAP affiliate company and Cloud Security Client Java contributors
+ * <p>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.sap.cloud.security.json;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OrgJsonObjectFactoryTest {
+
+	private final OrgJsonObjectFactory cut = new OrgJsonObjectFactory();
+
+	@AfterEach
+	public void tearDown() {
+		System.clearProperty(JsonObjectProvider.FACTORY_PROPERTY_NAME);
+		JsonObjectProvider.reset();
+	}
+
+	@Test
+	public void createJsonObject_lenientJson() {
+		JsonObject jsonObject = cut.createJsonObject(
+				"{expires_in: 10000, access_token: abc123, scope: null, object: {key: value}, list: [a, b]}");
+
+		assertThat(jsonObject.getAsLong("expires_in")).isEqualTo(10000L);
+		assertThat(jsonObject.getAsString("access_token")).isEqualTo("abc123");
+		assertThat(jsonObject.contains("scope")).isTrue();
+		assertThat(jsonObject.getJsonObject("object").getAsString("key")).isEqualTo("value");
+		assertThat(jsonObject.getAsStringList("list")).containsExactly("a", "b");
+	}
+
+	@Test
+	public void createJsonObject_invalidJson_throwsException() {
+		assertThatThrownBy(() -> cut.createJsonObject("[]")).isInstanceOf(JsonParsingException.class);
+		assertThatThrownBy(() -> cut.createJsonObject("{a: 1")).isInstanceOf(JsonParsingException.class);
+		assertThatThrownBy(() -> cut.createJsonObject(null)).isInstanceOf(JsonParsingException.class);
+	}
+
+	@Test
+	public void jsonObjectProvider_prefersOrgJsonOverJackson() {
+		assertThat(cut.getPriority()).isGreaterThan(new JacksonJsonObjectFactory().getPriority());
+
+		System.setProperty(JsonObjectProvider.FACTORY_PROPERTY_NAME, OrgJsonObjectFactory.class.getName());
+		JsonObjectProvider.reset();
+
+		assertThat(JsonObjectProvider.createJsonObject("{access_token: abc123}").getAsString("access_token"))
+				.isEqualTo("abc123");
+	}
+}
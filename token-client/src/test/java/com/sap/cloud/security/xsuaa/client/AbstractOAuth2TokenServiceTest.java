@@ -22,6 +22,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.slf4j.LoggerFactory;
 import java.net.URI;
 import org.junit.jupiter.api.Test;
 import java.time.Clock;
@@ -32,12 +37,21 @@ import java.time.Instant;
 import org.junit.jupiter.api.Test;
 import java.time.LocalDateTime;
 import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 
 import static java.time.ZoneOffset.UTC;
 import org.junit.jupiter.api.Test;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import org.junit.jupiter.api.Test;
 import static org.mockito.Mockito.mock;
 import org.junit.jupiter.api.Test;
@@ -203,6 +217,25 @@ public class AbstractOAuth2TokenServiceTest {
 		assertThat(firstResponse).isNotSameAs(secondResponse);
 	}
 
+	@Test
+	public void requestAccessToken_tokenReachedExpirationDelta_isEvictedFromCache() throws OAuth2ServiceException {
+		cut = new TestOAuth2TokenService(TokenCacheConfiguration.getInstance(
+				TEST_CACHE_CONFIGURATION.getCacheDuration(), TEST_CACHE_CONFIGURATION.getCacheSize(),
+				Duration.ofSeconds(10), true));
+		cut.setExpiredAt(NOW.plus(Duration.ofSeconds(30)));
+
+		retrieveAccessTokenViaClientCredentials();
+		cut.advanceTime(Duration.ofSeconds(19));
+		retrieveAccessTokenViaClientCredentials();
+		cut.advanceTime(Duration.ofSeconds(2));
+		retrieveAccessTokenViaClientCredentials();
+
+		CacheStats cacheStats = (CacheStats) cut.getCacheStatistics();
+		assertThat(cacheStats.hitCount()).isEqualTo(1);
+		assertThat(cacheStats.missCount()).isEqualTo(2);
+		assertThat(cut.tokenRequestCallCount).isEqualTo(2);
+	}
+
 	@Test
 	public void requestAccessToken_cacheIsFull_requestsFreshToken() throws OAuth2ServiceException {
 		cut = new TestOAuth2TokenService(cacheConfigurationWithSize(1));
@@ -258,6 +291,105 @@ public class AbstractOAuth2TokenServiceTest {
 		assertThat(cut.tokenRequestCallCount).isEqualTo(2);
 	}
 
+	@Test
+	public void requestAccessToken_concurrentRequests_shareSingleTokenRequest() throws Exception {
+		List<Future<OAuth2TokenResponse>> responses = retrieveAccessTokensConcurrently(4);
+
+		for (Future<OAuth2TokenResponse> response : responses) {
+			assertThat(response.get(5, TimeUnit.SECONDS).getAccessToken()).isEqualTo("token");
+		}
+		assertThat(cut.tokenRequestCallCount).isEqualTo(1);
+	}
+
+	@Test
+	public void requestAccessToken_concurrentRequestsFail_allCallersReceiveFailure() throws Exception {
+		cut.failure = new OAuth2ServiceException("Token endpoint unavailable");
+
+		List<Future<OAuth2TokenResponse>> responses = retrieveAccessTokensConcurrently(4);
+
+		for (Future<OAuth2TokenResponse> response : responses) {
+			assertThatThrownBy(() -> response.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+					.hasCauseInstanceOf(OAuth2ServiceException.class);
+		}
+		assertThat(cut.tokenRequestCallCount).isEqualTo(1);
+
+		cut.failure = null;
+		assertThat(retrieveAccessTokenViaClientCredentials()).isNotNull();
+	}
+
+	@Test
+	public void requestAccessToken_activelyUsedTokenWithinRefreshAheadTime_refreshedInBackground()
+			throws OAuth2ServiceException {
+		cut = new TestOAuth2TokenService(cacheConfigurationWithRefreshAhead(Duration.ofSeconds(60), 2));
+		cut.setExpiredAt(NOW.plus(Duration.ofSeconds(300)));
+		OAuth2TokenResponse cachedResponse = retrieveAccessTokenViaClientCredentials();
+
+		cut.advanceTime(Duration.ofSeconds(240));
+		assertThat(retrieveAccessTokenViaClientCredentials()).isSameAs(cachedResponse);
+		assertThat(cut.tokenRequestCallCount).isEqualTo(1);
+
+		assertThat(retrieveAccessTokenViaClientCredentials()).isSameAs(cachedResponse);
+		assertThat(cut.tokenRequestCallCount).isEqualTo(2);
+		assertThat(retrieveAccessTokenViaClientCredentials()).isNotSameAs(cachedResponse);
+		assertThat(cut.tokenRequestCallCount).isEqualTo(2);
+	}
+
+	@Test
+	public void requestAccessToken_activelyUsedLongLivedToken_refreshedInBackgroundBeforeEviction()
+			throws OAuth2ServiceException {
+		cut = new TestOAuth2TokenService(cacheConfigurationWithRefreshAhead(Duration.ofSeconds(60), 2));
+		cut.setExpiredAt(NOW.plus(Duration.ofHours(12)));
+		OAuth2TokenResponse cachedResponse = retrieveAccessTokenViaClientCredentials();
+
+		// the entry is evicted after the default cache duration of 10 minutes
+		cut.advanceTime(TEST_CACHE_CONFIGURATION.getCacheDuration().minusSeconds(55));
+		assertThat(retrieveAccessTokenViaClientCredentials()).isSameAs(cachedResponse);
+		assertThat(retrieveAccessTokenViaClientCredentials()).isSameAs(cachedResponse);
+		assertThat(cut.tokenRequestCallCount).isEqualTo(2);
+		OAuth2TokenResponse refreshedResponse = retrieveAccessTokenViaClientCredentials();
+		assertThat(refreshedResponse).isNotSameAs(cachedResponse);
+
+		cut.advanceTime(Duration.ofSeconds(60));
+		assertThat(retrieveAccessTokenViaClientCredentials()).isSameAs(refreshedResponse);
+		assertThat(cut.tokenRequestCallCount).isEqualTo(2);
+	}
+
+	@Test
+	public void cacheConfiguration_negativeRefreshAheadValues_areRejected() {
+		assertThatThrownBy(() -> cacheConfigurationWithRefreshAhead(Duration.ofSeconds(-1), 2))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> cacheConfigurationWithRefreshAhead(Duration.ofSeconds(60), -1))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void requestAccessToken_rarelyUsedTokenWithinRefreshAheadTime_notRefreshedInBackground()
+			throws OAuth2ServiceException {
+		cut = new TestOAuth2TokenService(cacheConfigurationWithRefreshAhead(Duration.ofSeconds(60), 5));
+		cut.setExpiredAt(NOW.plus(Duration.ofSeconds(300)));
+		retrieveAccessTokenViaClientCredentials();
+
+		cut.advanceTime(Duration.ofSeconds(240));
+		retrieveAccessTokenViaClientCredentials();
+		retrieveAccessTokenViaClientCredentials();
+
+		assertThat(cut.tokenRequestCallCount).isEqualTo(1);
+	}
+
+	@Test
+	public void requestAccessToken_refreshAheadFails_servesCachedToken() throws OAuth2ServiceException {
+		cut = new TestOAuth2TokenService(cacheConfigurationWithRefreshAhead(Duration.ofSeconds(60), 1));
+		cut.setExpiredAt(NOW.plus(Duration.ofSeconds(300)));
+		OAuth2TokenResponse cachedResponse = retrieveAccessTokenViaClientCredentials();
+		cut.failure = new OAuth2ServiceException("Token endpoint unavailable");
+
+		cut.advanceTime(Duration.ofSeconds(240));
+
+		assertThat(retrieveAccessTokenViaClientCredentials()).isSameAs(cachedResponse);
+		assertThat(retrieveAccessTokenViaClientCredentials()).isSameAs(cachedResponse);
+		assertThat(cut.tokenRequestCallCount).isEqualTo(3);
+	}
+
 	@Test
 	public void cacheStatistics_isDisabled_statisticsObjectIsNull() {
 		TokenCacheConfiguration tokenCacheConfiguration = cacheConfigurationWithCacheStatistics(false);
@@ -274,6 +406,58 @@ public class AbstractOAuth2TokenServiceTest {
 		assertThat(cut.getCacheStatistics()).isInstanceOf(CacheStats.class);
 	}
 
+	/**
+	 * Retrieves a token with the given number of threads. The first token request is blocked until all other callers
+	 * joined it.
+	 */
+	private List<Future<OAuth2TokenResponse>> retrieveAccessTokensConcurrently(int threads) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		Logger logger = (Logger) LoggerFactory.getLogger(AbstractOAuth2TokenService.class);
+		Level level = logger.getLevel();
+		WaitingCallersAppender waitingCallers = new WaitingCallersAppender(threads - 1);
+		waitingCallers.start();
+		logger.setLevel(Level.DEBUG);
+		logger.addAppender(waitingCallers);
+		try {
+			cut.waitingCallers = waitingCallers.count;
+			List<Future<OAuth2TokenResponse>> responses = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				responses.add(executor.submit(() -> retrieveAccessTokenViaClientCredentials()));
+			}
+			for (Future<OAuth2TokenResponse> response : responses) {
+				try {
+					response.get(5, TimeUnit.SECONDS);
+				} catch (ExecutionException e) {
+					// asserted by the caller
+				}
+			}
+			assertThat(waitingCallers.count.getCount()).isZero();
+			return responses;
+		} finally {
+			logger.detachAppender(waitingCallers);
+			logger.setLevel(level);
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Counts the callers that wait for the response of a pending token request.
+	 */
+	private static class WaitingCallersAppender extends AppenderBase<ILoggingEvent> {
+		private final CountDownLatch count;
+
+		WaitingCallersAppender(int waitingCallers) {
+			this.count = new CountDownLatch(waitingCallers);
+		}
+
+		@Override
+		protected void append(ILoggingEvent event) {
+			if (event.getFormattedMessage().startsWith("The token is already being requested")) {
+				count.countDown();
+			}
+		}
+	}
+
 	private OAuth2TokenResponse retrieveAccessTokenViaJwtBearerTokenGrant(String token) throws OAuth2ServiceException {
 		return retrieveAccessTokenViaJwtBearerTokenGrant(token, null);
 	}
@@ -326,6 +510,11 @@ public class AbstractOAuth2TokenServiceTest {
 				TEST_CACHE_CONFIGURATION.getCacheSize(), delta);
 	}
 
+	private TokenCacheConfiguration cacheConfigurationWithRefreshAhead(Duration refreshAheadTime, int accessCount) {
+		return TokenCacheConfiguration.getInstance(TEST_CACHE_CONFIGURATION.getCacheDuration(),
+				TEST_CACHE_CONFIGURATION.getCacheSize(), Duration.ofSeconds(10), false, refreshAheadTime, accessCount);
+	}
+
 	private TokenCacheConfiguration cacheConfigurationWithSize(int size) {
 		return TokenCacheConfiguration.getInstance(TEST_CACHE_CONFIGURATION.getCacheDuration(), size,
 				TEST_CACHE_CONFIGURATION.getTokenExpirationDelta());
@@ -341,6 +530,8 @@ public class AbstractOAuth2TokenServiceTest {
 
 		private final static TestCacheTicker testCacheTicker = new TestCacheTicker();
 		private int tokenRequestCallCount = 0;
+		private CountDownLatch waitingCallers = new CountDownLatch(0);
+		private OAuth2ServiceException failure;
 		private Instant expiredAt = NOW.plus(Duration.ofDays(1));
 		private Clock clock = Clock.fixed(NOW, UTC);
 
@@ -365,8 +556,18 @@ public class AbstractOAuth2TokenServiceTest {
 
 		@Override
 		protected OAuth2TokenResponse requestAccessToken(URI tokenEndpointUri, HttpHeaders headers,
-				Map<String, String> parameters) {
-			tokenRequestCallCount++;
+				Map<String, String> parameters) throws OAuth2ServiceException {
+			synchronized (this) {
+				tokenRequestCallCount++;
+			}
+			try {
+				waitingCallers.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (failure != null) {
+				throw failure;
+			}
 			OAuth2TokenResponse responseMock = mock(OAuth2TokenResponse.class);
 			when(responseMock.getAccessToken()).thenReturn("token");
 			when(responseMock.getExpiredAt()).thenReturn(expiredAt);
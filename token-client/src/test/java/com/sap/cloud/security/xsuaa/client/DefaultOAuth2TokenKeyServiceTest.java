@@ -23,6 +23,7 @@ import com.sap.cloud.security.xsuaa.util.HttpClientTestFactory;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +32,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -269,6 +271,74 @@ public class DefaultOAuth2TokenKeyServiceTest {
     }
   }
 
+  @Test
+  public void retrieveTokenKeys_notModified_returnsPreviousTokenKeys() throws IOException {
+    final SecurityHttpResponse okResponse =
+        HttpClientTestFactory.createHttpResponse(
+            jsonWebKeysAsString,
+            200,
+            Map.of("etag", "\"v1\"", "last-modified", "Mon, 01 Jan 2024 10:00:00 GMT"));
+    final SecurityHttpResponse notModifiedResponse =
+        HttpClientTestFactory.createHttpResponse("", 304, Map.of());
+    when(httpClient.execute(any(SecurityHttpRequest.class)))
+        .thenReturn(okResponse, notModifiedResponse);
+
+    cut.retrieveTokenKeys(TOKEN_KEYS_ENDPOINT_URI, PARAMS);
+    final String tokenKeys = cut.retrieveTokenKeys(TOKEN_KEYS_ENDPOINT_URI, PARAMS);
+
+    assertThat(tokenKeys).isSameAs(jsonWebKeysAsString);
+    final ArgumentCaptor<SecurityHttpRequest> requests =
+        ArgumentCaptor.forClass(SecurityHttpRequest.class);
+    Mockito.verify(httpClient, times(2)).execute(requests.capture());
+    assertThat(requests.getAllValues().get(0).getHeaders())
+        .doesNotContainKeys(HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE);
+    assertThat(requests.getAllValues().get(1).getHeaders())
+        .containsEntry(HttpHeaders.IF_NONE_MATCH, "\"v1\"")
+        .containsEntry(HttpHeaders.IF_MODIFIED_SINCE, "Mon, 01 Jan 2024 10:00:00 GMT");
+  }
+
+  @Test
+  public void retrieveTokenKeys_withoutValidators_sendsNoConditionalRequest() throws IOException {
+    mockResponse(jsonWebKeysAsString, 200, 304);
+
+    cut.retrieveTokenKeys(TOKEN_KEYS_ENDPOINT_URI, PARAMS);
+
+    assertThatThrownBy(() -> cut.retrieveTokenKeys(TOKEN_KEYS_ENDPOINT_URI, PARAMS))
+        .isInstanceOf(OAuth2ServiceException.class)
+        .extracting("httpStatusCode")
+        .isEqualTo(304);
+  }
+
+  @Test
+  public void retrieveTokenKeys_conditionalRequestIsSentForSameParamsOnly() throws IOException {
+    when(httpClient.execute(any(SecurityHttpRequest.class)))
+        .thenReturn(
+            HttpClientTestFactory.createHttpResponse(
+                jsonWebKeysAsString, 200, Map.of(HttpHeaders.ETAG, "\"v1\"")));
+
+    cut.retrieveTokenKeys(TOKEN_KEYS_ENDPOINT_URI, PARAMS);
+    cut.retrieveTokenKeys(TOKEN_KEYS_ENDPOINT_URI, Map.of(HttpHeaders.X_APP_TID, "other-app-tid"));
+
+    final ArgumentCaptor<SecurityHttpRequest> requests =
+        ArgumentCaptor.forClass(SecurityHttpRequest.class);
+    Mockito.verify(httpClient, times(2)).execute(requests.capture());
+    assertThat(requests.getAllValues().get(1).getHeaders())
+        .doesNotContainKey(HttpHeaders.IF_NONE_MATCH);
+  }
+
+  @Test
+  public void getMaxAge_returnsMaxAgeOfLastResponse() throws IOException {
+    when(httpClient.execute(any(SecurityHttpRequest.class)))
+        .thenReturn(
+            HttpClientTestFactory.createHttpResponse(
+                jsonWebKeysAsString, 200, Map.of("cache-control", "public, max-age=720")));
+
+    assertThat(cut.getMaxAge(TOKEN_KEYS_ENDPOINT_URI, PARAMS)).isNull();
+    cut.retrieveTokenKeys(TOKEN_KEYS_ENDPOINT_URI, PARAMS);
+
+    assertThat(cut.getMaxAge(TOKEN_KEYS_ENDPOINT_URI, PARAMS)).isEqualTo(Duration.ofSeconds(720));
+  }
+
   private void mockResponse(final String responseAsString, final Integer... statusCodes) {
     final List<SecurityHttpResponse> responses =
         Arrays.stream(statusCodes)
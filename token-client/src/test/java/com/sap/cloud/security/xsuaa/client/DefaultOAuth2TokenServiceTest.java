@@ -146,6 +146,20 @@ public class DefaultOAuth2TokenServiceTest {
     assertThat(re.getTokenType()).isEqualTo(TOKEN_TYPE);
   }
 
+  @Test
+  public void requestAccessToken_nullAndNumericParameters_areConverted() throws IOException {
+    mockResponse(
+        "{\"expires_in\": 10000, \"access_token\": \"%s\", \"refresh_token\": null, \"token_type\": 1}"
+            .formatted(ACCESS_TOKEN),
+        200);
+
+    final OAuth2TokenResponse re = requestAccessToken(TOKEN_URI, emptyMap());
+
+    assertThat(re.getAccessToken()).isEqualTo(ACCESS_TOKEN);
+    assertThat(re.getRefreshToken()).isNull();
+    assertThat(re.getTokenType()).isEqualTo("1");
+  }
+
   @Test
   public void requestAccessToken_correlationIdProvisioning() throws IOException {
     mockResponse(VALID_JSON_RESPONSE, 200, 200);
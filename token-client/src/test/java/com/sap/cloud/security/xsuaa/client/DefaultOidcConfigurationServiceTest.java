@@ -9,6 +9,7 @@ package com.sap.cloud.security.xsuaa.client;
 import static com.sap.cloud.security.xsuaa.client.OidcConfigurationService.DISCOVERY_ENDPOINT_DEFAULT;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.times;
@@ -22,12 +23,15 @@ import com.sap.cloud.security.client.DefaultTokenClientConfiguration;
 import com.sap.cloud.security.client.SecurityHttpClient;
 import com.sap.cloud.security.client.SecurityHttpRequest;
 import com.sap.cloud.security.client.SecurityHttpResponse;
+import com.sap.cloud.security.json.JsonParsingException;
+import com.sap.cloud.security.xsuaa.http.HttpHeaders;
 import com.sap.cloud.security.xsuaa.util.HttpClientTestFactory;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.io.IOUtils;
@@ -160,6 +164,48 @@ public class DefaultOidcConfigurationServiceTest {
     assertThat(result.getAuthorizeEndpoint()).hasToString("http://localhost/oauth/authorize");
   }
 
+  @Test
+  public void oidcEndpointsProvider_parsesEndpointsOnce() {
+    final OAuth2ServiceEndpointsProvider endpoints =
+        new DefaultOidcConfigurationService.OidcEndpointsProvider(
+            "{\"jwks_uri\": \"http://localhost/token_keys\", \"token_endpoint\": \"not a uri\"}");
+
+    assertThat(endpoints.getJwksUri()).isSameAs(endpoints.getJwksUri());
+    assertThatThrownBy(endpoints::getTokenEndpoint).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(endpoints::getAuthorizeEndpoint)
+        .isInstanceOf(JsonParsingException.class)
+        .hasMessageContaining("authorization_endpoint");
+  }
+
+  @Test
+  public void oidcEndpointsProvider_throwsNewExceptionOnEachAccess() {
+    final OAuth2ServiceEndpointsProvider endpoints =
+        new DefaultOidcConfigurationService.OidcEndpointsProvider("{}");
+
+    final Throwable failure = catchThrowable(endpoints::getJwksUri);
+
+    assertThat(failure).isInstanceOf(JsonParsingException.class);
+    assertThat(catchThrowable(endpoints::getJwksUri))
+        .isNotSameAs(failure)
+        .hasMessage(failure.getMessage());
+  }
+
+  @Test
+  public void retrieveEndpoints_notModified_returnsPreviousEndpoints() throws IOException {
+    when(httpClientMock.execute(any(SecurityHttpRequest.class)))
+        .thenReturn(
+            HttpClientTestFactory.createHttpResponse(
+                jsonOidcConfiguration, 200, Map.of("ETag", "W/\"v1\"")),
+            HttpClientTestFactory.createHttpResponse("", 304, Map.of()));
+
+    final OAuth2ServiceEndpointsProvider endpoints = cut.retrieveEndpoints(CONFIG_ENDPOINT_URI);
+
+    assertThat(cut.retrieveEndpoints(CONFIG_ENDPOINT_URI)).isSameAs(endpoints);
+    Mockito.verify(httpClientMock, times(1))
+        .execute(
+            argThat(request -> "W/\"v1\"".equals(request.getHeaders().get(HttpHeaders.IF_NONE_MATCH))));
+  }
+
   @Test
   public void retrieveTokenKeys_firstResponseNotOk_executesRetrySuccessfullyWithOKResponse()
       throws IOException {
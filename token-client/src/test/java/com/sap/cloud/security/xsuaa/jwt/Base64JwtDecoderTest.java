@@ -51,6 +51,23 @@ public class Base64JwtDecoderTest {
 				.hasMessage("JWT token does not consist of 'header'.'payload'.'signature'.");
 	}
 
+	@Test
+	public void itThrowsIfJwtConsistsOfMoreThanThreeSegments() {
+		assertThatThrownBy(() -> Base64JwtDecoder.getInstance().decode(TOKEN + ".more"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("JWT token does not consist of 'header'.'payload'.'signature'.");
+		assertThatThrownBy(() -> Base64JwtDecoder.getInstance().decode("header.payload."))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void itIgnoresTrailingDots() {
+		DecodedJwt decodedJwt = Base64JwtDecoder.getInstance().decode(TOKEN + "..");
+
+		assertThat(decodedJwt.getSignature()).isEqualTo(TOKEN.substring(TOKEN.lastIndexOf('.') + 1));
+		assertThat(decodedJwt.getPayload()).contains(CLIENT_ID);
+	}
+
 	@Test
 	public void itAllowsEmptyPayload() {
 		DecodedJwt decodedJwt = Base64JwtDecoder.getInstance().decode("header..signature");